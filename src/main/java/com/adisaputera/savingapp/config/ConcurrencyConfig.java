@@ -0,0 +1,56 @@
+package com.adisaputera.savingapp.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.adisaputera.savingapp.util.BulkheadDataSource;
+import com.adisaputera.savingapp.util.StripedLock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    public StripedLock accountWriteLock(@Value("${app.transaction.lock-stripes:256}") int stripes) {
+        return new StripedLock(stripes);
+    }
+
+    // Bungkus DataSource dengan semaphore supaya kerja DB yang jalan bersamaan dibatasi
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(
+            @Value("${app.datasource.bulkhead.max-concurrent:10}") int maxConcurrent,
+            @Value("${app.datasource.bulkhead.acquire-timeout-ms:30000}") long acquireTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+    public MeterBinder dataSourceBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BulkheadDataSource bulkhead) {
+                Gauge.builder("savingapp.datasource.bulkhead.waiting", bulkhead, BulkheadDataSource::waitingThreads)
+                        .description("Threads parked waiting for a DB bulkhead permit")
+                        .register(registry);
+                Gauge.builder("savingapp.datasource.bulkhead.available", bulkhead, BulkheadDataSource::availablePermits)
+                        .description("Free DB bulkhead permits")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -50,6 +50,13 @@ public class DataLoader {
                     "08123456789"
             );
 
+            // Skema sekarang persisten (Flyway), email nasabah hasil generate acak,
+            // jadi seed hanya sekali saat belum ada nasabah
+            if (userRepository.countByRole(RoleEnum.nasabah) > 0) {
+                System.out.println(">>> Nasabah sudah ada, skip seed data.");
+                return;
+            }
+
             // ==== 2) Seed nasabah dengan data realistis ====
             // Kamu bisa atur jumlahnya di sini
             int targetNasabah = 30;
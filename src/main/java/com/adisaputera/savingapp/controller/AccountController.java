@@ -1,8 +1,10 @@
 package com.adisaputera.savingapp.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,10 +19,17 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.adisaputera.savingapp.dto.message.ApiResponse;
 import com.adisaputera.savingapp.dto.request.ChangeAccountStatusRequestDTO;
+import com.adisaputera.savingapp.dto.request.ChangeHotSlotsRequestDTO;
 import com.adisaputera.savingapp.dto.request.CreateAccountRequestDTO;
+import com.adisaputera.savingapp.dto.response.AccountBalanceResponseDTO;
 import com.adisaputera.savingapp.dto.response.AccountDetailResponseDTO;
 import com.adisaputera.savingapp.dto.response.AccountListResponseDTO;
 import com.adisaputera.savingapp.dto.response.AccountMeResponseDTO;
+import com.adisaputera.savingapp.dto.response.AccountRankResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchResponseDTO;
+import com.adisaputera.savingapp.model.AccountRankByEnum;
+import com.adisaputera.savingapp.model.CountModeEnum;
+import com.adisaputera.savingapp.service.AccountRankingService;
 import com.adisaputera.savingapp.service.AccountService;
 
 import jakarta.validation.Valid;
@@ -33,6 +42,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AccountController {
     private final AccountService accountService;
+    private final AccountRankingService accountRankingService;
 
     @PostMapping(
         path = "/admin/account/create", 
@@ -43,6 +53,32 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(
+        path = "/admin/account/batch",
+        consumes = "application/json",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<BatchResponseDTO<AccountListResponseDTO>>> createAccountBatch(
+        @RequestBody List<CreateAccountRequestDTO> request
+    ) {
+        // Validasi per item dilakukan di service supaya satu item gagal tidak membatalkan batch
+        ApiResponse<BatchResponseDTO<AccountListResponseDTO>> response = accountService.createAccountBatch(request);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping(
+        path = "/admin/account/search",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<List<AccountListResponseDTO>>> searchAccounts(
+        @RequestParam String q, // typeahead over accountCode, from the in-memory search index
+        @RequestParam(defaultValue = "1") int page,
+        @RequestParam(defaultValue = "10") int perPage
+    ) {
+        ApiResponse<List<AccountListResponseDTO>> response = accountService.searchAccounts(q, page, perPage);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @GetMapping(
         path = "/admin/account/list", 
         produces = "application/json"
@@ -53,8 +89,11 @@ public class AccountController {
         @RequestParam(defaultValue = "asc") String sortDirection,
         @RequestParam(defaultValue = "createdAt") String sortBy, //createdAt, balance, totalDeposit, totalWithdraw, accountCode
         @RequestParam(required = false) UUID userId,
-        @RequestParam(required = false) String keyword) { // keyword searches by accountCode
-        ApiResponse<List<AccountListResponseDTO>> response = accountService.getAccountList(page, perPage, sortDirection, sortBy, userId, keyword);
+        @RequestParam(required = false) String keyword, // keyword searches by accountCode
+        @RequestParam(required = false) String cursor, // cursor mode: opaque next_cursor from the previous page
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(defaultValue = "exact") CountModeEnum countMode) { // exact, none, cached, estimated
+        ApiResponse<List<AccountListResponseDTO>> response = accountService.getAccountList(page, perPage, sortDirection, sortBy, userId, keyword, cursor, limit, countMode);
         return ResponseEntity.status(HttpStatus.OK).body(response);
         }
 
@@ -71,6 +110,42 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @PatchMapping(
+        path = "/admin/account/update/{accountCode}/hot-slots", 
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<String>> updateAccountHotSlots(
+        @PathVariable String accountCode,
+        @Valid @RequestBody ChangeHotSlotsRequestDTO request
+    ) {
+        ApiResponse<String> response = accountService.updateHotSlots(accountCode, request);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping(
+        path = "/admin/account/top",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<List<AccountRankResponseDTO>>> getTopAccounts(
+        @RequestParam(defaultValue = "balance") AccountRankByEnum by, // balance, totalDeposit
+        @RequestParam(defaultValue = "50") int n
+    ) {
+        ApiResponse<List<AccountRankResponseDTO>> response = accountRankingService.getTop(by, n);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping(
+        path = "/admin/account/{accountCode}/rank",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<AccountRankResponseDTO>> getAccountRank(
+        @PathVariable String accountCode,
+        @RequestParam(defaultValue = "balance") AccountRankByEnum by
+    ) {
+        ApiResponse<AccountRankResponseDTO> response = accountRankingService.getRank(by, accountCode);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @GetMapping(
         path = "/admin/account/{accountCode}", 
         produces = "application/json"
@@ -82,6 +157,18 @@ public class AccountController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @GetMapping(
+        path = "/admin/account/{accountCode}/balance",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<AccountBalanceResponseDTO>> getAccountBalanceAt(
+        @PathVariable String accountCode,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at // default: now
+    ) {
+        ApiResponse<AccountBalanceResponseDTO> response = accountService.getBalanceAt(accountCode, at);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @DeleteMapping(
         path = "/admin/account/delete/{accountCode}/delete", 
         produces = "application/json"
@@ -102,9 +189,24 @@ public class AccountController {
         @RequestParam(defaultValue = "10") int perPage,
         @RequestParam(defaultValue = "asc") String sortDirection,
         @RequestParam(defaultValue = "createdAt") String sortBy,
-        @RequestParam(required = false) String keyword
+        @RequestParam(required = false) String keyword,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(defaultValue = "exact") CountModeEnum countMode
+    ) {
+        ApiResponse<List<AccountMeResponseDTO>> response = accountService.getAccountMe(page, perPage, sortDirection, sortBy, keyword, cursor, limit, countMode);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping(
+        path = "/nasabah/account/{accountCode}/balance",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<AccountBalanceResponseDTO>> getAccountBalanceAtForNasabah(
+        @PathVariable String accountCode,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
     ) {
-        ApiResponse<List<AccountMeResponseDTO>> response = accountService.getAccountMe(page, perPage, sortDirection, sortBy, keyword);
+        ApiResponse<AccountBalanceResponseDTO> response = accountService.getBalanceAtForNasabah(accountCode, at);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 }
@@ -0,0 +1,41 @@
+package com.adisaputera.savingapp.controller;
+
+import com.adisaputera.savingapp.dto.message.ApiResponse;
+import com.adisaputera.savingapp.dto.response.FlowBucketResponseDTO;
+import com.adisaputera.savingapp.model.GranularityEnum;
+import com.adisaputera.savingapp.service.AnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping(
+        path = "/admin/analytics/flows",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<List<FlowBucketResponseDTO>>> getFlows(
+            @RequestParam(defaultValue = "day") GranularityEnum granularity, // day, week, month
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID userId) { // kosong = semua nasabah
+
+        ApiResponse<List<FlowBucketResponseDTO>> response = analyticsService.getFlows(granularity, from, to, userId);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+}
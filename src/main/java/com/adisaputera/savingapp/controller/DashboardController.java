@@ -4,17 +4,20 @@ import com.adisaputera.savingapp.dto.message.ApiResponse;
 import com.adisaputera.savingapp.dto.response.AdminDashboardResponseDTO;
 import com.adisaputera.savingapp.dto.response.NasabahDashboardResponseDTO;
 import com.adisaputera.savingapp.service.DashboardService;
+import com.adisaputera.savingapp.service.DashboardStreamService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 
@@ -24,6 +27,7 @@ import java.time.LocalDate;
 @Slf4j
 public class DashboardController {
     private final DashboardService dashboardService;
+    private final DashboardStreamService dashboardStreamService;
 
     @GetMapping(
         path = "/admin/dashboard",
@@ -34,6 +38,15 @@ public class DashboardController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    // Server-Sent Events: frame "dashboard" berisi total terbaru setiap kali ada perubahan
+    @GetMapping(
+        path = "/admin/dashboard/stream",
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public SseEmitter streamAdminDashboard() {
+        return dashboardStreamService.subscribe();
+    }
+
     @GetMapping(
         path = "/nasabah/dashboard",
         produces = "application/json"
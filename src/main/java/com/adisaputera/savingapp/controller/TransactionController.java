@@ -1,21 +1,32 @@
 package com.adisaputera.savingapp.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.adisaputera.savingapp.dto.message.ApiResponse;
 import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateTransferRequestDTO;
+import com.adisaputera.savingapp.dto.response.BatchResponseDTO;
 import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.dto.response.TransferResponseDTO;
+import com.adisaputera.savingapp.model.CountModeEnum;
+import com.adisaputera.savingapp.model.ExportFormatEnum;
+import com.adisaputera.savingapp.service.TransactionExportService;
 import com.adisaputera.savingapp.service.TransactionService;
 
 import jakarta.validation.Valid;
@@ -29,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
 
     @GetMapping(
         path = "/admin/transaction/{accountCode}/list", 
@@ -41,19 +53,74 @@ public class TransactionController {
             @RequestParam(defaultValue = "asc") String sortDirection, 
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(required = false) LocalDate from,
-            @RequestParam(required = false) LocalDate to) {
-        ApiResponse<List<TransactionResponseDTO>> response = transactionService.getTransactionByAccountCodeForAdmin(page, perPage, accountCode, sortDirection, sortBy, from, to);
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String keyword, // keyword searches by note
+            @RequestParam(required = false) String cursor, // cursor mode: opaque next_cursor from the previous page
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "exact") CountModeEnum countMode) { // exact, none, cached, estimated
+        ApiResponse<List<TransactionResponseDTO>> response = transactionService.getTransactionByAccountCodeForAdmin(page, perPage, accountCode, sortDirection, sortBy, from, to, keyword, cursor, limit, countMode);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @GetMapping(path = "/admin/transaction/{accountCode}/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactionByAccount(
+            @PathVariable String accountCode,
+            @RequestParam(defaultValue = "csv") ExportFormatEnum format, // csv, ndjson
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to) {
+        StreamingResponseBody body = transactionExportService.exportByAccountCode(accountCode, from, to, format);
+        MediaType contentType = format == ExportFormatEnum.csv
+            ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+            : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.status(HttpStatus.OK)
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions-" + accountCode + "." + format + "\"")
+            .body(body);
+    }
+
     @PostMapping(
         path = "/admin/transaction/create",
         consumes = "application/json",
         produces = "application/json"
     )
     public ResponseEntity<ApiResponse<TransactionResponseDTO>> createTransaction(
+    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
     @Valid @RequestBody CreateTransactionRequestDTO request) {
-        ApiResponse<TransactionResponseDTO> response = transactionService.createTransaction(request);
+        ApiResponse<TransactionResponseDTO> response = transactionService.createTransaction(request, idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(
+        path = "/admin/transaction/batch",
+        consumes = "application/json",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<BatchResponseDTO<TransactionResponseDTO>>> createTransactionBatch(
+    @RequestBody List<CreateTransactionRequestDTO> request) {
+        // Validasi per item dilakukan di service supaya satu item gagal tidak membatalkan batch
+        ApiResponse<BatchResponseDTO<TransactionResponseDTO>> response = transactionService.createTransactionBatch(request);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @PostMapping(
+        path = "/admin/transaction/transfer",
+        consumes = "application/json",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<TransferResponseDTO>> createTransfer(
+    @Valid @RequestBody CreateTransferRequestDTO request) {
+        ApiResponse<TransferResponseDTO> response = transactionService.createTransferForAdmin(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping(
+        path = "/nasabah/transaction/transfer",
+        consumes = "application/json",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<TransferResponseDTO>> createTransferForNasabah(
+    @Valid @RequestBody CreateTransferRequestDTO request) {
+        ApiResponse<TransferResponseDTO> response = transactionService.createTransferForNasabah(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -68,8 +135,12 @@ public class TransactionController {
             @RequestParam(defaultValue = "asc") String sortDirection, 
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(required = false) LocalDate from,
-            @RequestParam(required = false) LocalDate to) {
-        ApiResponse<List<TransactionResponseDTO>> response = transactionService.getTransactionByAccountCodeForNasabah(page, perPage, accountCode, sortDirection, sortBy, from, to);
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String keyword, // keyword searches by note
+            @RequestParam(required = false) String cursor, // cursor mode: opaque next_cursor from the previous page
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "exact") CountModeEnum countMode) {
+        ApiResponse<List<TransactionResponseDTO>> response = transactionService.getTransactionByAccountCodeForNasabah(page, perPage, accountCode, sortDirection, sortBy, from, to, keyword, cursor, limit, countMode);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 }
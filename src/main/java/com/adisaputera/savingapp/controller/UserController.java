@@ -11,6 +11,7 @@ import com.adisaputera.savingapp.dto.request.ChangePasswordRequestDTO;
 import com.adisaputera.savingapp.dto.request.CreateNasabahRequestDTO;
 import com.adisaputera.savingapp.dto.request.UpdateNasabahRequestDTO;
 import com.adisaputera.savingapp.dto.response.UserResponseDTO;
+import com.adisaputera.savingapp.model.CountModeEnum;
 import com.adisaputera.savingapp.service.UserService;
 
 import jakarta.validation.Valid;
@@ -53,8 +54,23 @@ public class UserController {
             @RequestParam(defaultValue = "10") int perPage,
             @RequestParam(defaultValue = "fullName") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDirection, 
-            @RequestParam(required = false) String keyword) {
-        ApiResponse<List<UserResponseDTO>> response = userService.getNasabahList(page, perPage, sortBy, sortDirection, keyword);
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor, // cursor mode: opaque next_cursor from the previous page
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "exact") CountModeEnum countMode) { // exact, none, cached, estimated
+        ApiResponse<List<UserResponseDTO>> response = userService.getNasabahList(page, perPage, sortBy, sortDirection, keyword, cursor, limit, countMode);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    @GetMapping(
+        path = "/admin/nasabah/search",
+        produces = "application/json"
+    )
+    public ResponseEntity<ApiResponse<List<UserResponseDTO>>> searchNasabah(
+            @RequestParam String q, // typeahead over fullName, from the in-memory search index
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int perPage) {
+        ApiResponse<List<UserResponseDTO>> response = userService.searchNasabah(q, page, perPage);
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
@@ -1,5 +1,6 @@
 package com.adisaputera.savingapp.dto.message;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.AllArgsConstructor;
@@ -11,13 +12,21 @@ import lombok.Data;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MetadataResponse {
     @JsonProperty("page")
-    private int page;
+    private Integer page;
 
     @JsonProperty("size")
-    private int size;
+    private Integer size;
 
     @JsonProperty("total")
-    private long total;
+    private Long total;
+
+    // Mode cursor: cursor untuk halaman berikutnya, null kalau sudah habis
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_next")
+    private Boolean hasNext;
 }
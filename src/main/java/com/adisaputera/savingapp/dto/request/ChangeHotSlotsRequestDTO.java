@@ -0,0 +1,22 @@
+package com.adisaputera.savingapp.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class ChangeHotSlotsRequestDTO {
+    // 0 berarti account kembali ke satu row saldo
+    @NotNull(message = "Slots is required")
+    @Min(value = 0, message = "Slots must be 0 or more")
+    @JsonProperty("slots")
+    private Integer slots;
+}
@@ -0,0 +1,41 @@
+package com.adisaputera.savingapp.dto.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountBalanceResponseDTO {
+    @JsonProperty("account_code")
+    private String accountCode;
+
+    @JsonProperty("at")
+    private LocalDateTime at;
+
+    @JsonProperty("balance")
+    private Long balance;
+
+    @JsonProperty("total_deposit")
+    private Long totalDeposit;
+
+    @JsonProperty("total_withdraw")
+    private Long totalWithdraw;
+
+    // Checkpoint yang dipakai (null kalau belum ada), dan jumlah transaksi yang dijumlahkan di atasnya
+    @JsonProperty("checkpoint_date")
+    private LocalDate checkpointDate;
+
+    @JsonProperty("transactions_after_checkpoint")
+    private Long transactionsAfterCheckpoint;
+}
@@ -0,0 +1,33 @@
+package com.adisaputera.savingapp.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AccountRankResponseDTO {
+    // 1 = tertinggi
+    @JsonProperty("rank")
+    private Integer rank;
+
+    @JsonProperty("account_code")
+    private String accountCode;
+
+    @JsonProperty("balance")
+    private Long balance;
+
+    @JsonProperty("total_deposit")
+    private Long totalDeposit;
+
+    // Hanya di lookup satu account: jumlah account yang diranking
+    @JsonProperty("total_accounts")
+    private Integer totalAccounts;
+}
@@ -0,0 +1,44 @@
+package com.adisaputera.savingapp.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResponseDTO<T> {
+    @JsonProperty("index")
+    private Integer index;
+
+    @JsonProperty("status")
+    private String status;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("data")
+    private T data;
+
+    public static <T> BatchItemResponseDTO<T> success(int index, T data) {
+        return BatchItemResponseDTO.<T>builder()
+                .index(index)
+                .status("success")
+                .data(data)
+                .build();
+    }
+
+    public static <T> BatchItemResponseDTO<T> error(int index, String message) {
+        return BatchItemResponseDTO.<T>builder()
+                .index(index)
+                .status("error")
+                .message(message)
+                .build();
+    }
+}
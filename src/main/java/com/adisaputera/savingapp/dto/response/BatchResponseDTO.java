@@ -0,0 +1,41 @@
+package com.adisaputera.savingapp.dto.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class BatchResponseDTO<T> {
+    @JsonProperty("total")
+    private Integer total;
+
+    @JsonProperty("succeeded")
+    private Integer succeeded;
+
+    @JsonProperty("failed")
+    private Integer failed;
+
+    @JsonProperty("items")
+    private List<BatchItemResponseDTO<T>> items;
+
+    public static <T> BatchResponseDTO<T> of(List<BatchItemResponseDTO<T>> items) {
+        int succeeded = (int) items.stream()
+                .filter(item -> "success".equals(item.getStatus()))
+                .count();
+
+        return BatchResponseDTO.<T>builder()
+                .total(items.size())
+                .succeeded(succeeded)
+                .failed(items.size() - succeeded)
+                .items(items)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.adisaputera.savingapp.dto.response;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class FlowBucketResponseDTO {
+    // Hari pertama bucket (Senin untuk week, tanggal 1 untuk month)
+    @JsonProperty("bucket_start")
+    private LocalDate bucketStart;
+
+    @JsonProperty("total_deposit")
+    private Long totalDeposit;
+
+    @JsonProperty("total_withdraw")
+    private Long totalWithdraw;
+
+    @JsonProperty("deposit_count")
+    private Long depositCount;
+
+    @JsonProperty("withdraw_count")
+    private Long withdrawCount;
+}
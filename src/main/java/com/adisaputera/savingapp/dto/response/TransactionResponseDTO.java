@@ -33,6 +33,9 @@ public class TransactionResponseDTO {
     @JsonProperty("balance")
     private Long balance;
 
+    @JsonProperty("reference_id")
+    private UUID referenceId;
+
     @JsonProperty("note")
     private String note;
 
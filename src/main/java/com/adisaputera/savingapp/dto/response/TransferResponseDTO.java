@@ -0,0 +1,25 @@
+package com.adisaputera.savingapp.dto.response;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class TransferResponseDTO {
+    @JsonProperty("reference_id")
+    private UUID referenceId;
+
+    @JsonProperty("debit")
+    private TransactionResponseDTO debit;
+
+    @JsonProperty("credit")
+    private TransactionResponseDTO credit;
+}
@@ -0,0 +1,9 @@
+package com.adisaputera.savingapp.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an account of the user was created, activated, deactivated or deleted.
+ */
+public record AccountChangedEvent(UUID userId, String accountCode) {
+}
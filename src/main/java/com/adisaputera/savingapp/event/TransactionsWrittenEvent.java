@@ -0,0 +1,9 @@
+package com.adisaputera.savingapp.event;
+
+import java.util.Collection;
+
+/**
+ * Published after transactions of these accounts were committed.
+ */
+public record TransactionsWrittenEvent(Collection<String> accountCodes) {
+}
@@ -11,7 +11,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,8 +26,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 public class Account {
+    // Id diambil per blok dari sequence (pooled), jadi insert account bisa di-batch
+    // dan account code sudah ada sebelum insert
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_id")
+    @SequenceGenerator(name = "accounts_id", sequenceName = "accounts_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "account_code", unique = true, nullable = true, length = 20)
@@ -48,12 +52,17 @@ public class Account {
     @Column(name = "balance", nullable = false)
     private Long balance;
 
+    // Jumlah slot saldo untuk hot account, null/0 berarti saldo hanya di row ini
+    @Column(name = "hot_slots", nullable = true)
+    private Integer hotSlots;
+
     @Column(name = "created_at", nullable = true, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
 
-    @PostPersist
-    public void postPersist() {
+    // Dipanggil Hibernate setelah id dibuat dan sebelum nilai insert diambil
+    @PrePersist
+    public void prePersist() {
         if(this.accountCode == null) {
             this.accountCode = String.format("ACC-%06d", this.id);
         }
@@ -0,0 +1,39 @@
+package com.adisaputera.savingapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Balance and totals of an account at the end of one day, i.e. over all transactions
+ * with occurred_at before the next midnight. Only days with transactions have a row.
+ */
+@Entity
+@Table(name = "account_balance_checkpoints")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountBalanceCheckpoint {
+    @EmbeddedId
+    private AccountBalanceCheckpointId id;
+
+    @Column(name = "balance", nullable = false)
+    private Long balance;
+
+    @Column(name = "total_deposit", nullable = false)
+    private Long totalDeposit;
+
+    @Column(name = "total_withdraw", nullable = false)
+    private Long totalWithdraw;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
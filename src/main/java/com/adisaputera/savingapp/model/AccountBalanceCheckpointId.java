@@ -0,0 +1,22 @@
+package com.adisaputera.savingapp.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBalanceCheckpointId implements Serializable {
+    @Column(name = "account_code", nullable = false, length = 20)
+    private String accountCode;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private LocalDate checkpointDate;
+}
@@ -0,0 +1,34 @@
+package com.adisaputera.savingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One counter shard of a hot account. The effective balance and totals of a hot
+ * account are the values on its accounts row plus the sum over all of its slots.
+ */
+@Entity
+@Table(name = "account_balance_slots")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountBalanceSlot {
+    @EmbeddedId
+    private AccountBalanceSlotId id;
+
+    @Column(name = "balance", nullable = false)
+    private Long balance;
+
+    @Column(name = "total_deposit", nullable = false)
+    private Long totalDeposit;
+
+    @Column(name = "total_withdraw", nullable = false)
+    private Long totalWithdraw;
+}
@@ -0,0 +1,21 @@
+package com.adisaputera.savingapp.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountBalanceSlotId implements Serializable {
+    @Column(name = "account_code", nullable = false, length = 20)
+    private String accountCode;
+
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+}
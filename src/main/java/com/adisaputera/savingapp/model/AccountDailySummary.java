@@ -0,0 +1,55 @@
+package com.adisaputera.savingapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Movements of an account on one day. A day can have several shards (hot accounts); the
+ * day's totals are the sum over its shards and its closing balance is the one of the
+ * shard with the latest transaction. Only days with transactions have a row.
+ */
+@Entity
+@Table(name = "account_daily_summary")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountDailySummary {
+    @EmbeddedId
+    private AccountDailySummaryId id;
+
+    @Column(name = "total_deposit", nullable = false)
+    private Long totalDeposit;
+
+    @Column(name = "total_withdraw", nullable = false)
+    private Long totalWithdraw;
+
+    @Column(name = "total_transfer_in", nullable = false)
+    private Long totalTransferIn;
+
+    @Column(name = "total_transfer_out", nullable = false)
+    private Long totalTransferOut;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Integer transactionCount;
+
+    @Column(name = "deposit_count", nullable = false)
+    private Integer depositCount;
+
+    @Column(name = "withdraw_count", nullable = false)
+    private Integer withdrawCount;
+
+    @Column(name = "closing_balance", nullable = false)
+    private Long closingBalance;
+
+    @Column(name = "last_occurred_at", nullable = false)
+    private LocalDateTime lastOccurredAt;
+}
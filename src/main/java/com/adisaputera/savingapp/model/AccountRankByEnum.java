@@ -0,0 +1,10 @@
+package com.adisaputera.savingapp.model;
+
+/**
+ * Value the account leaderboard is ordered by, highest first. Names match the sortBy keys
+ * of the account list.
+ */
+public enum AccountRankByEnum {
+    balance,
+    totalDeposit
+}
@@ -0,0 +1,13 @@
+package com.adisaputera.savingapp.model;
+
+/**
+ * How list endpoints fill the total in their metadata.
+ * exact = COUNT(*) per request, none = no total (only has_next),
+ * cached = COUNT(*) cached per filter, estimated = planner row estimate.
+ */
+public enum CountModeEnum {
+    exact,
+    none,
+    cached,
+    estimated
+}
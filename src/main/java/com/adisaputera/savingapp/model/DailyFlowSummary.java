@@ -0,0 +1,37 @@
+package com.adisaputera.savingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deposits and withdrawals of all accounts on one day, split over shards. The day's
+ * values are the sum over its shards.
+ */
+@Entity
+@Table(name = "daily_flow_summary")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailyFlowSummary {
+    @EmbeddedId
+    private DailyFlowSummaryId id;
+
+    @Column(name = "total_deposit", nullable = false)
+    private Long totalDeposit;
+
+    @Column(name = "total_withdraw", nullable = false)
+    private Long totalWithdraw;
+
+    @Column(name = "deposit_count", nullable = false)
+    private Integer depositCount;
+
+    @Column(name = "withdraw_count", nullable = false)
+    private Integer withdrawCount;
+}
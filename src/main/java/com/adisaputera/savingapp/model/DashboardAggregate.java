@@ -0,0 +1,50 @@
+package com.adisaputera.savingapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable copy of the admin dashboard totals. There is exactly one row (id 1); the live
+ * values are kept in memory by DashboardAggregateService and written here periodically.
+ */
+@Entity
+@Table(name = "dashboard_aggregates")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DashboardAggregate {
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(name = "total_nasabah", nullable = false)
+    private Long totalNasabah;
+
+    @Column(name = "total_account_active", nullable = false)
+    private Long totalAccountActive;
+
+    @Column(name = "total_account_inactive", nullable = false)
+    private Long totalAccountInactive;
+
+    @Column(name = "total_deposit", nullable = false)
+    private Long totalDeposit;
+
+    @Column(name = "total_withdraw", nullable = false)
+    private Long totalWithdraw;
+
+    @Column(name = "total_balance", nullable = false)
+    private Long totalBalance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,11 @@
+package com.adisaputera.savingapp.model;
+
+/**
+ * Output format of the streaming transaction export.
+ * csv = header line plus one RFC 4180 row per transaction,
+ * ndjson = one JSON object per line, same fields as the list endpoint.
+ */
+public enum ExportFormatEnum {
+    csv,
+    ndjson
+}
@@ -0,0 +1,10 @@
+package com.adisaputera.savingapp.model;
+
+/**
+ * Bucket size of analytics time series. Weeks start on Monday.
+ */
+public enum GranularityEnum {
+    day,
+    week,
+    month
+}
@@ -0,0 +1,36 @@
+package com.adisaputera.savingapp.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotencyKey {
+    @Id
+    @Column(name = "idempotency_key", updatable = false, nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_fingerprint", nullable = false, length = 300)
+    private String requestFingerprint;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "text")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -47,6 +47,10 @@ public class Transaction {
     @Column(name = "balance", nullable = false)
     private Long balance;
 
+    // Menghubungkan dua sisi transfer (transfer_out dan transfer_in)
+    @Column(name = "reference_id", nullable = true)
+    private UUID referenceId;
+
     @Column(name = "note", nullable = true)
     @Size(max = 200)
     private String note;
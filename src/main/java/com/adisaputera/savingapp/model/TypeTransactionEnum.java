@@ -2,5 +2,7 @@ package com.adisaputera.savingapp.model;
 
 public enum TypeTransactionEnum {
     deposit,
-    withdraw
+    withdraw,
+    transfer_in,
+    transfer_out
 }
@@ -0,0 +1,65 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.AccountBalanceCheckpoint;
+import com.adisaputera.savingapp.model.AccountBalanceCheckpointId;
+import com.adisaputera.savingapp.repository.projection.BalanceDelta;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, AccountBalanceCheckpointId> {
+    // Checkpoint terakhir yang seluruhnya sebelum hari :date (satu lookup di primary key)
+    @Query(value = "SELECT * FROM account_balance_checkpoints WHERE account_code = :accountCode AND checkpoint_date < :date " +
+            "ORDER BY checkpoint_date DESC LIMIT 1", nativeQuery = true)
+    Optional<AccountBalanceCheckpoint> findLatestBefore(@Param("accountCode") String accountCode, @Param("date") LocalDate date);
+
+    // Transaksi setelah checkpoint sampai waktu yang diminta, range scan di (account_code, occurred_at, id).
+    // Transfer mengubah saldo tapi tidak dihitung di total deposit/withdraw, sama dengan total di accounts
+    @Query(value = "SELECT COALESCE(SUM(CASE WHEN type IN ('deposit', 'transfer_in') THEN amount ELSE -amount END), 0) AS balanceChange, " +
+            "COALESCE(SUM(CASE WHEN type = 'deposit' THEN amount ELSE 0 END), 0) AS totalDeposit, " +
+            "COALESCE(SUM(CASE WHEN type = 'withdraw' THEN amount ELSE 0 END), 0) AS totalWithdraw, " +
+            "COUNT(*) AS transactionCount FROM transactions " +
+            "WHERE account_code = :accountCode AND occurred_at >= :from AND occurred_at <= :to", nativeQuery = true)
+    BalanceDelta sumBetween(@Param("accountCode") String accountCode, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Bentrok dengan lock di trigger invalidate_balance_checkpoints (V4) dan dengan job lain
+    @Modifying
+    @Query(value = "LOCK TABLE account_balance_checkpoints IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForBuild();
+
+    /**
+     * Adds end-of-day checkpoints for accounts with afterId < id <= upToId, for every day
+     * after the account's latest checkpoint and before closedBefore that has transactions.
+     * Each new checkpoint is the latest one plus a running sum of the daily movements;
+     * transfers move the balance but, like the account totals, not deposit/withdraw.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_checkpoints (account_code, checkpoint_date, balance, total_deposit, total_withdraw, created_at) " +
+            "SELECT d.account_code, d.day, l.balance + SUM(d.balance_change) OVER w, " +
+            "l.total_deposit + SUM(d.deposit) OVER w, l.total_withdraw + SUM(d.withdraw) OVER w, :now " +
+            "FROM (SELECT a.account_code, c.checkpoint_date, COALESCE(c.balance, 0) AS balance, " +
+            "COALESCE(c.total_deposit, 0) AS total_deposit, COALESCE(c.total_withdraw, 0) AS total_withdraw " +
+            "FROM accounts a LEFT JOIN LATERAL (SELECT checkpoint_date, balance, total_deposit, total_withdraw " +
+            "FROM account_balance_checkpoints c WHERE c.account_code = a.account_code " +
+            "ORDER BY checkpoint_date DESC LIMIT 1) c ON true " +
+            "WHERE a.id > :afterId AND a.id <= :upToId) l " +
+            "JOIN LATERAL (SELECT t.account_code, CAST(t.occurred_at AS date) AS day, " +
+            "SUM(CASE WHEN t.type IN ('deposit', 'transfer_in') THEN t.amount ELSE -t.amount END) AS balance_change, " +
+            "SUM(CASE WHEN t.type = 'deposit' THEN t.amount ELSE 0 END) AS deposit, " +
+            "SUM(CASE WHEN t.type = 'withdraw' THEN t.amount ELSE 0 END) AS withdraw " +
+            "FROM transactions t WHERE t.account_code = l.account_code " +
+            "AND t.occurred_at >= COALESCE(l.checkpoint_date + 1, DATE '1970-01-01') AND t.occurred_at < :closedBefore " +
+            "GROUP BY t.account_code, CAST(t.occurred_at AS date)) d ON true " +
+            "WINDOW w AS (PARTITION BY d.account_code ORDER BY d.day) " +
+            "ON CONFLICT (account_code, checkpoint_date) DO NOTHING", nativeQuery = true)
+    int insertDailyCheckpoints(@Param("afterId") long afterId,
+                               @Param("upToId") long upToId,
+                               @Param("closedBefore") LocalDateTime closedBefore,
+                               @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,48 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.AccountBalanceSlot;
+import com.adisaputera.savingapp.model.AccountBalanceSlotId;
+import com.adisaputera.savingapp.repository.projection.SlotTotals;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountBalanceSlotRepository extends JpaRepository<AccountBalanceSlot, AccountBalanceSlotId> {
+    // Ubah satu slot saja, hanya kalau saldo slot cukup
+    @Query(value = "UPDATE account_balance_slots SET balance = balance + :delta, " +
+            "total_deposit = total_deposit + :deposit, total_withdraw = total_withdraw + :withdraw " +
+            "WHERE account_code = :accountCode AND slot = :slot AND balance + :delta >= 0 " +
+            "RETURNING balance", nativeQuery = true)
+    Optional<Long> applySlotChange(@Param("accountCode") String accountCode,
+                                   @Param("slot") int slot,
+                                   @Param("delta") long delta,
+                                   @Param("deposit") long deposit,
+                                   @Param("withdraw") long withdraw);
+
+    // Lock semua slot satu account, urut slot
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceSlot s WHERE s.id.accountCode = :accountCode ORDER BY s.id.slot")
+    List<AccountBalanceSlot> findAllByAccountCodeForUpdate(@Param("accountCode") String accountCode);
+
+    @Query("SELECT s.id.accountCode AS accountCode, SUM(s.balance) AS balance, SUM(s.totalDeposit) AS totalDeposit, " +
+            "SUM(s.totalWithdraw) AS totalWithdraw FROM AccountBalanceSlot s " +
+            "WHERE s.id.accountCode IN :accountCodes GROUP BY s.id.accountCode")
+    List<SlotTotals> sumByAccountCodes(@Param("accountCodes") Collection<String> accountCodes);
+
+    @Query("SELECT 'all' AS accountCode, COALESCE(SUM(s.balance), 0L) AS balance, COALESCE(SUM(s.totalDeposit), 0L) AS totalDeposit, " +
+            "COALESCE(SUM(s.totalWithdraw), 0L) AS totalWithdraw FROM AccountBalanceSlot s")
+    SlotTotals sumAll();
+
+    // Saldo efektif = saldo di row account + jumlah saldo semua slot
+    @Query(value = "SELECT a.balance + COALESCE((SELECT SUM(s.balance) FROM account_balance_slots s " +
+            "WHERE s.account_code = a.account_code), 0) FROM accounts a WHERE a.account_code = :accountCode", nativeQuery = true)
+    Long findEffectiveBalance(@Param("accountCode") String accountCode);
+}
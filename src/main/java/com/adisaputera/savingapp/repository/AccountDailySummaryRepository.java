@@ -0,0 +1,91 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.AccountDailySummary;
+import com.adisaputera.savingapp.model.AccountDailySummaryId;
+import com.adisaputera.savingapp.repository.projection.FlowBucket;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, AccountDailySummaryId> {
+    /**
+     * Adds movements to the account's row for that day and shard. The closing balance is
+     * taken from the write with the latest occurred_at.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_summary (account_code, summary_date, shard, total_deposit, total_withdraw, " +
+            "total_transfer_in, total_transfer_out, transaction_count, deposit_count, withdraw_count, closing_balance, last_occurred_at) " +
+            "VALUES (:accountCode, :summaryDate, :shard, :deposit, :withdraw, :transferIn, :transferOut, :count, :depositCount, :withdrawCount, " +
+            ":closingBalance, :occurredAt) " +
+            "ON CONFLICT (account_code, summary_date, shard) DO UPDATE SET " +
+            "total_deposit = account_daily_summary.total_deposit + EXCLUDED.total_deposit, " +
+            "total_withdraw = account_daily_summary.total_withdraw + EXCLUDED.total_withdraw, " +
+            "total_transfer_in = account_daily_summary.total_transfer_in + EXCLUDED.total_transfer_in, " +
+            "total_transfer_out = account_daily_summary.total_transfer_out + EXCLUDED.total_transfer_out, " +
+            "transaction_count = account_daily_summary.transaction_count + EXCLUDED.transaction_count, " +
+            "deposit_count = account_daily_summary.deposit_count + EXCLUDED.deposit_count, " +
+            "withdraw_count = account_daily_summary.withdraw_count + EXCLUDED.withdraw_count, " +
+            "closing_balance = CASE WHEN EXCLUDED.last_occurred_at >= account_daily_summary.last_occurred_at " +
+            "THEN EXCLUDED.closing_balance ELSE account_daily_summary.closing_balance END, " +
+            "last_occurred_at = GREATEST(account_daily_summary.last_occurred_at, EXCLUDED.last_occurred_at)", nativeQuery = true)
+    void upsert(@Param("accountCode") String accountCode,
+                @Param("summaryDate") LocalDate summaryDate,
+                @Param("shard") short shard,
+                @Param("deposit") long deposit,
+                @Param("withdraw") long withdraw,
+                @Param("transferIn") long transferIn,
+                @Param("transferOut") long transferOut,
+                @Param("count") int count,
+                @Param("depositCount") int depositCount,
+                @Param("withdrawCount") int withdrawCount,
+                @Param("closingBalance") long closingBalance,
+                @Param("occurredAt") LocalDateTime occurredAt);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM account_daily_summary)", nativeQuery = true)
+    boolean existsAny();
+
+    // Backfill: buang ringkasan account afterId < id <= upToId, dibangun ulang dari transactions
+    @Modifying
+    @Query(value = "DELETE FROM account_daily_summary s USING accounts a " +
+            "WHERE s.account_code = a.account_code AND a.id > :afterId AND a.id <= :upToId", nativeQuery = true)
+    int deleteForAccounts(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    /**
+     * Backfill: one shard 0 row per account and day from the account's transactions. The
+     * closing balance is the snapshot of the day's last transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_daily_summary (account_code, summary_date, shard, total_deposit, total_withdraw, " +
+            "total_transfer_in, total_transfer_out, transaction_count, deposit_count, withdraw_count, closing_balance, last_occurred_at) " +
+            "SELECT d.* FROM accounts a JOIN LATERAL (SELECT t.account_code, CAST(t.occurred_at AS date), CAST(0 AS smallint), " +
+            "COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'deposit'), 0), " +
+            "COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'withdraw'), 0), " +
+            "COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'transfer_in'), 0), " +
+            "COALESCE(SUM(t.amount) FILTER (WHERE t.type = 'transfer_out'), 0), " +
+            "CAST(count(*) AS int), CAST(count(*) FILTER (WHERE t.type = 'deposit') AS int), " +
+            "CAST(count(*) FILTER (WHERE t.type = 'withdraw') AS int), (array_agg(t.balance ORDER BY t.occurred_at DESC, t.created_at DESC))[1], max(t.occurred_at) " +
+            "FROM transactions t WHERE t.account_code = a.account_code " +
+            "GROUP BY t.account_code, CAST(t.occurred_at AS date)) d ON true " +
+            "WHERE a.id > :afterId AND a.id <= :upToId", nativeQuery = true)
+    int insertFromTransactions(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    /**
+     * Deposit/withdraw buckets of one user's accounts. unit is a date_trunc unit
+     * (day, week, month); the first bucket only covers the days from :from on.
+     */
+    @Query(value = "SELECT CAST(date_trunc(:unit, CAST(s.summary_date AS timestamp)) AS date) AS bucket, " +
+            "SUM(s.total_deposit) AS totalDeposit, SUM(s.total_withdraw) AS totalWithdraw, " +
+            "SUM(s.deposit_count) AS depositCount, SUM(s.withdraw_count) AS withdrawCount " +
+            "FROM accounts a JOIN account_daily_summary s ON s.account_code = a.account_code " +
+            "WHERE a.user_id = :userId AND s.summary_date BETWEEN :from AND :to " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<FlowBucket> findFlowBucketsByUserId(@Param("userId") UUID userId, @Param("unit") String unit,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
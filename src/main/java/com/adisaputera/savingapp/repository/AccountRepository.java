@@ -2,34 +2,201 @@ package com.adisaputera.savingapp.repository;
 
 import com.adisaputera.savingapp.model.Account;
 import com.adisaputera.savingapp.model.User;
+import com.adisaputera.savingapp.repository.projection.AccountDirectoryRow;
+import com.adisaputera.savingapp.repository.projection.AccountRow;
+import com.adisaputera.savingapp.repository.projection.AccountTotals;
+import com.adisaputera.savingapp.repository.projection.HotAccount;
+import com.adisaputera.savingapp.repository.projection.NasabahDashboardTotals;
+
+import jakarta.persistence.LockModeType;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
+    // Read path list: kolom DTO plus id dan nama pemilik dalam satu join, tanpa hydrate entity
+    String ACCOUNT_ROW = "SELECT a.id AS id, a.accountCode AS accountCode, a.isActive AS isActive, a.totalDeposit AS totalDeposit, " +
+            "a.totalWithdraw AS totalWithdraw, a.balance AS balance, a.createdAt AS createdAt, u.id AS userId, u.fullName AS userFullName " +
+            "FROM Account a JOIN a.userId u ";
+
     Optional<Account> findByUserId(User userId);
     List<Account> findAllByUserId(User user);
-    Page<Account> findAllByUserId(User user, Pageable pageable);
     Optional<Account> findByAccountCode(String accountCode);
+    boolean existsByAccountCode(String accountCode);
     Page<Account> findAllByAccountCode(Account accountCode, Pageable pageable);
     Long countByIsActive(Boolean isActive);
+
+    // Row lock (SELECT ... FOR UPDATE) untuk write path transaksi
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountCode = :accountCode")
+    Optional<Account> findByAccountCodeForUpdate(@Param("accountCode") String accountCode);
+
+    // Ubah saldo langsung di DB: satu statement, tanpa read-modify-write di Java.
+    // Tidak ada row yang kembali kalau account tidak ada, tidak aktif, atau saldo kurang.
+    @Query(value = "UPDATE accounts SET balance = balance + :delta, " +
+            "total_deposit = total_deposit + :deposit, total_withdraw = total_withdraw + :withdraw " +
+            "WHERE account_code = :accountCode AND is_active AND balance + :delta >= 0 " +
+            "RETURNING balance", nativeQuery = true)
+    Optional<Long> applyBalanceChange(@Param("accountCode") String accountCode,
+                                      @Param("delta") long delta,
+                                      @Param("deposit") long deposit,
+                                      @Param("withdraw") long withdraw);
+
+    // Ubah status dan kembalikan status lama dalam satu statement, tanpa memuat Account dan User.
+    // Subquery FOR UPDATE menunggu writer lain, jadi status lama yang dibaca selalu versi terakhir.
+    @Query(value = "UPDATE accounts a SET is_active = :active FROM (SELECT id, is_active FROM accounts " +
+            "WHERE account_code = :accountCode FOR UPDATE) old WHERE a.id = old.id RETURNING old.is_active", nativeQuery = true)
+    Optional<Boolean> updateIsActiveReturningPrevious(@Param("accountCode") String accountCode,
+                                                      @Param("active") boolean active);
+
+    // Key-share lock (sama dengan yang diambil FK saat insert transaksi), cek account ada dan aktif.
+    // Tidak saling blok antar writer slot, tapi menunggu writer yang memegang FOR UPDATE.
+    @Query(value = "SELECT is_active FROM accounts WHERE account_code = :accountCode FOR KEY SHARE", nativeQuery = true)
+    Optional<Boolean> findIsActiveForKeyShare(@Param("accountCode") String accountCode);
+
+    /**
+     * Dashboard totals over the accounts of one user in a single statement: deposit and
+     * withdraw sums per account over the days of the period from account_daily_summary
+     * (at most a few rows per day), the effective balance including hot account slots,
+     * the active/inactive counts and the codes of the counted accounts. accountCode and
+     * isActive are optional filters.
+     */
+    @Query(value = "SELECT CAST(count(*) AS int) AS totalAccounts, " +
+            "CAST(count(*) FILTER (WHERE a.is_active) AS int) AS totalAccountsActive, " +
+            "CAST(count(*) FILTER (WHERE NOT a.is_active) AS int) AS totalAccountsInactive, " +
+            "COALESCE(SUM(a.balance + COALESCE(s.balance, 0)), 0) AS totalBalance, " +
+            "COALESCE(SUM(t.deposit), 0) AS totalDeposit, COALESCE(SUM(t.withdraw), 0) AS totalWithdraw, " +
+            "string_agg(a.account_code, ',') AS accountCodes " +
+            "FROM accounts a " +
+            "LEFT JOIN LATERAL (SELECT SUM(balance) AS balance FROM account_balance_slots WHERE account_code = a.account_code) s ON true " +
+            "LEFT JOIN LATERAL (SELECT SUM(total_deposit) AS deposit, SUM(total_withdraw) AS withdraw FROM account_daily_summary " +
+            "WHERE account_code = a.account_code AND summary_date BETWEEN :from AND :to) t ON true " +
+            "WHERE a.user_id = :userId AND (CAST(:accountCode AS varchar) IS NULL OR a.account_code = :accountCode) " +
+            "AND (CAST(:isActive AS boolean) IS NULL OR a.is_active = :isActive)", nativeQuery = true)
+    NasabahDashboardTotals findDashboardTotals(@Param("userId") UUID userId,
+                                               @Param("accountCode") String accountCode,
+                                               @Param("isActive") Boolean isActive,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+
+    // Batas atas id untuk batch account berikutnya, null kalau sudah habis
+    @Query(value = "SELECT MAX(id) FROM (SELECT id FROM accounts WHERE id > :afterId ORDER BY id LIMIT :batchSize) b", nativeQuery = true)
+    Long findBatchUpperId(@Param("afterId") long afterId, @Param("batchSize") int batchSize);
+
+    // Lock satu batch account urut id; bentrok juga dengan key-share lock jalur hot account
+    @Query(value = "SELECT id FROM accounts WHERE id > :afterId AND id <= :upToId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdRange(@Param("afterId") long afterId, @Param("upToId") long upToId);
+
+    @Query("SELECT a.accountCode AS accountCode, a.hotSlots AS hotSlots FROM Account a WHERE a.hotSlots > 0")
+    List<HotAccount> findAllHotAccounts();
+
+    @Query("SELECT a.accountCode AS accountCode, a.id AS id, a.userId.id AS ownerId, a.isActive AS active FROM Account a")
+    List<AccountDirectoryRow> findAllDirectoryRows();
+
+    @Query("SELECT a.accountCode AS accountCode, a.id AS id, a.userId.id AS ownerId, a.isActive AS active " +
+            "FROM Account a WHERE a.accountCode = :accountCode")
+    Optional<AccountDirectoryRow> findDirectoryRowByAccountCode(@Param("accountCode") String accountCode);
+
+    // Semua account dengan saldo dan total deposit efektif, untuk membangun ranking di memori
+    @Query(value = "SELECT a.account_code AS accountCode, a.balance + COALESCE(s.balance, 0) AS balance, " +
+            "a.total_deposit + COALESCE(s.total_deposit, 0) AS totalDeposit FROM accounts a " +
+            "LEFT JOIN (SELECT account_code, SUM(balance) AS balance, SUM(total_deposit) AS total_deposit " +
+            "FROM account_balance_slots GROUP BY account_code) s ON s.account_code = a.account_code", nativeQuery = true)
+    List<AccountTotals> findAllEffectiveTotals();
+
+    // Lock beberapa account sekaligus, selalu urut id supaya tidak deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountCode IN :accountCodes ORDER BY a.id")
+    List<Account> findAllByAccountCodeInForUpdate(@Param("accountCodes") Collection<String> accountCodes);
     
+    // Cek ownership tanpa memuat Account dan User
+    @Query("SELECT a.userId.id FROM Account a WHERE a.accountCode = :accountCode")
+    Optional<UUID> findOwnerIdByAccountCode(@Param("accountCode") String accountCode);
+
+    // Detail account: pemilik diambil dengan fetch join di statement yang sama
+    @Query("SELECT a FROM Account a JOIN FETCH a.userId WHERE a.accountCode = :accountCode")
+    Optional<Account> findDetailByAccountCode(@Param("accountCode") String accountCode);
+
+    @Query(value = ACCOUNT_ROW, countQuery = "SELECT COUNT(a) FROM Account a")
+    Page<AccountRow> findAllRows(Pageable pageable);
+
+    // Hasil search index di memori, diambil per primary key
+    @Query(ACCOUNT_ROW + "WHERE a.id IN :ids")
+    List<AccountRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
     // Method untuk filter by userId dengan UUID
-    @Query("SELECT a FROM Account a WHERE a.userId.id = :userId")
-    Page<Account> findByUserIdId(@Param("userId") UUID userId, Pageable pageable);
+    @Query(value = ACCOUNT_ROW + "WHERE a.userId.id = :userId",
+            countQuery = "SELECT COUNT(a) FROM Account a WHERE a.userId.id = :userId")
+    Page<AccountRow> findByUserIdId(@Param("userId") UUID userId, Pageable pageable);
     
     // Method untuk search by accountCode
-    @Query("SELECT a FROM Account a WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Account> findByAccountCodeContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = ACCOUNT_ROW + "WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+            countQuery = "SELECT COUNT(a) FROM Account a WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<AccountRow> findByAccountCodeContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
     
+    // Keyset paging, urut (createdAt, id); keyword kosong berarti tanpa filter
+    @Query(ACCOUNT_ROW + "WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<AccountRow> findKeysetFirst(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (a.createdAt, a.id) > (:createdAt, :id)")
+    List<AccountRow> findKeysetAfter(@Param("keyword") String keyword, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (a.createdAt, a.id) < (:createdAt, :id)")
+    List<AccountRow> findKeysetBefore(@Param("keyword") String keyword, @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<AccountRow> findKeysetFirstByUserId(@Param("userId") UUID userId, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (a.createdAt, a.id) > (:createdAt, :id)")
+    List<AccountRow> findKeysetAfterByUserId(@Param("userId") UUID userId, @Param("keyword") String keyword,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (a.createdAt, a.id) < (:createdAt, :id)")
+    List<AccountRow> findKeysetBeforeByUserId(@Param("userId") UUID userId, @Param("keyword") String keyword,
+                                              @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
     // Method untuk filter by userId dan search accountCode
-    @Query("SELECT a FROM Account a WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Account> findByUserIdIdAndAccountCodeContainingIgnoreCase(@Param("userId") UUID userId, @Param("keyword") String keyword, Pageable pageable);
+    @Query(value = ACCOUNT_ROW + "WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+            countQuery = "SELECT COUNT(a) FROM Account a WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<AccountRow> findByUserIdIdAndAccountCodeContainingIgnoreCase(@Param("userId") UUID userId, @Param("keyword") String keyword, Pageable pageable);
+
+    // Varian Slice dari query list di atas: tanpa COUNT(*)
+    @Query(ACCOUNT_ROW)
+    Slice<AccountRow> findAllSlice(Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE a.userId.id = :userId")
+    Slice<AccountRow> findSliceByUserIdId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Slice<AccountRow> findSliceByAccountCodeContainingIgnoreCase(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(ACCOUNT_ROW + "WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Slice<AccountRow> findSliceByUserIdIdAndAccountCodeContainingIgnoreCase(@Param("userId") UUID userId, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT COUNT(a) FROM Account a WHERE a.userId.id = :userId")
+    long countByUserIdId(@Param("userId") UUID userId);
+
+    @Query("SELECT COUNT(a) FROM Account a WHERE LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    long countByAccountCodeContainingIgnoreCase(@Param("keyword") String keyword);
+
+    @Query("SELECT COUNT(a) FROM Account a WHERE a.userId.id = :userId AND LOWER(a.accountCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    long countByUserIdIdAndAccountCodeContainingIgnoreCase(@Param("userId") UUID userId, @Param("keyword") String keyword);
 }
@@ -0,0 +1,70 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.DailyFlowSummary;
+import com.adisaputera.savingapp.model.DailyFlowSummaryId;
+import com.adisaputera.savingapp.repository.projection.FlowBucket;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyFlowSummaryRepository extends JpaRepository<DailyFlowSummary, DailyFlowSummaryId> {
+    @Modifying
+    @Query(value = "INSERT INTO daily_flow_summary (summary_date, shard, total_deposit, total_withdraw, deposit_count, withdraw_count) " +
+            "VALUES (:summaryDate, :shard, :deposit, :withdraw, :depositCount, :withdrawCount) " +
+            "ON CONFLICT (summary_date, shard) DO UPDATE SET " +
+            "total_deposit = daily_flow_summary.total_deposit + EXCLUDED.total_deposit, " +
+            "total_withdraw = daily_flow_summary.total_withdraw + EXCLUDED.total_withdraw, " +
+            "deposit_count = daily_flow_summary.deposit_count + EXCLUDED.deposit_count, " +
+            "withdraw_count = daily_flow_summary.withdraw_count + EXCLUDED.withdraw_count", nativeQuery = true)
+    void upsert(@Param("summaryDate") LocalDate summaryDate,
+                @Param("shard") short shard,
+                @Param("deposit") long deposit,
+                @Param("withdraw") long withdraw,
+                @Param("depositCount") int depositCount,
+                @Param("withdrawCount") int withdrawCount);
+
+    // Account dihapus: summary-nya ikut terhapus (cascade), jadi flow-nya dikurangkan dulu
+    @Modifying
+    @Query(value = "INSERT INTO daily_flow_summary (summary_date, shard, total_deposit, total_withdraw, deposit_count, withdraw_count) " +
+            "SELECT summary_date, :shard, -SUM(total_deposit), -SUM(total_withdraw), -SUM(deposit_count), -SUM(withdraw_count) " +
+            "FROM account_daily_summary WHERE account_code = :accountCode GROUP BY summary_date " +
+            "HAVING SUM(deposit_count) + SUM(withdraw_count) > 0 ORDER BY summary_date " +
+            "ON CONFLICT (summary_date, shard) DO UPDATE SET " +
+            "total_deposit = daily_flow_summary.total_deposit + EXCLUDED.total_deposit, " +
+            "total_withdraw = daily_flow_summary.total_withdraw + EXCLUDED.total_withdraw, " +
+            "deposit_count = daily_flow_summary.deposit_count + EXCLUDED.deposit_count, " +
+            "withdraw_count = daily_flow_summary.withdraw_count + EXCLUDED.withdraw_count", nativeQuery = true)
+    int subtractAccount(@Param("accountCode") String accountCode, @Param("shard") short shard);
+
+    /**
+     * Deposit/withdraw buckets of all accounts. unit is a date_trunc unit (day, week,
+     * month); the first bucket only covers the days from :from on.
+     */
+    @Query(value = "SELECT CAST(date_trunc(:unit, CAST(summary_date AS timestamp)) AS date) AS bucket, " +
+            "SUM(total_deposit) AS totalDeposit, SUM(total_withdraw) AS totalWithdraw, " +
+            "SUM(deposit_count) AS depositCount, SUM(withdraw_count) AS withdrawCount " +
+            "FROM daily_flow_summary WHERE summary_date BETWEEN :from AND :to " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<FlowBucket> findFlowBuckets(@Param("unit") String unit, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Rebuild: writer menunggu sampai commit, upsert mereka yang belum commit masuk sesudahnya
+    @Modifying
+    @Query(value = "LOCK TABLE daily_flow_summary IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_flow_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_flow_summary (summary_date, shard, total_deposit, total_withdraw, deposit_count, withdraw_count) " +
+            "SELECT summary_date, 0, SUM(total_deposit), SUM(total_withdraw), SUM(deposit_count), SUM(withdraw_count) " +
+            "FROM account_daily_summary GROUP BY summary_date " +
+            "HAVING SUM(deposit_count) + SUM(withdraw_count) > 0", nativeQuery = true)
+    int insertFromAccountSummaries();
+}
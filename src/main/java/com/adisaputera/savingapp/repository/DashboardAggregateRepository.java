@@ -0,0 +1,35 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.DashboardAggregate;
+import com.adisaputera.savingapp.repository.projection.DashboardTotals;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface DashboardAggregateRepository extends JpaRepository<DashboardAggregate, Short> {
+    // Hitung ulang dari tabel sumber (rekonsiliasi), sama dengan nilai awal di V5
+    @Query(value = "SELECT (SELECT count(*) FROM users WHERE role = 'nasabah') AS totalNasabah, " +
+            "count(*) FILTER (WHERE a.is_active) AS totalAccountActive, " +
+            "count(*) FILTER (WHERE NOT a.is_active) AS totalAccountInactive, " +
+            "COALESCE(sum(a.total_deposit), 0) + (SELECT COALESCE(sum(total_deposit), 0) FROM account_balance_slots) AS totalDeposit, " +
+            "COALESCE(sum(a.total_withdraw), 0) + (SELECT COALESCE(sum(total_withdraw), 0) FROM account_balance_slots) AS totalWithdraw, " +
+            "COALESCE(sum(a.balance), 0) + (SELECT COALESCE(sum(balance), 0) FROM account_balance_slots) AS totalBalance " +
+            "FROM accounts a", nativeQuery = true)
+    DashboardTotals computeTotals();
+
+    @Modifying
+    @Query(value = "UPDATE dashboard_aggregates SET total_nasabah = :totalNasabah, total_account_active = :totalAccountActive, " +
+            "total_account_inactive = :totalAccountInactive, total_deposit = :totalDeposit, total_withdraw = :totalWithdraw, " +
+            "total_balance = :totalBalance, updated_at = :updatedAt WHERE id = 1", nativeQuery = true)
+    int store(@Param("totalNasabah") long totalNasabah,
+              @Param("totalAccountActive") long totalAccountActive,
+              @Param("totalAccountInactive") long totalAccountInactive,
+              @Param("totalDeposit") long totalDeposit,
+              @Param("totalWithdraw") long totalWithdraw,
+              @Param("totalBalance") long totalBalance,
+              @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,30 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.IdempotencyKey;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    // Key yang sudah kedaluwarsa tapi belum di-purge ditimpa; key yang masih berlaku tidak
+    // disentuh dan hasilnya 0 row
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, response_body, created_at, expires_at) " +
+            "VALUES (:key, :fingerprint, :responseBody, :createdAt, :expiresAt) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET request_fingerprint = EXCLUDED.request_fingerprint, " +
+            "response_body = EXCLUDED.response_body, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE idempotency_keys.expires_at < EXCLUDED.created_at", nativeQuery = true)
+    int insert(@Param("key") String key,
+               @Param("fingerprint") String fingerprint,
+               @Param("responseBody") String responseBody,
+               @Param("createdAt") LocalDateTime createdAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,36 +2,155 @@ package com.adisaputera.savingapp.repository;
 
 import com.adisaputera.savingapp.model.Account;
 import com.adisaputera.savingapp.model.Transaction;
+import com.adisaputera.savingapp.repository.projection.TransactionRow;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
-    Page<Transaction> findByAccountCode_AccountCode(String accountCode, Pageable pageable);
+    // Read path list: kolom DTO saja, account_code langsung dari FK tanpa memuat Account/User
+    String TRANSACTION_ROW = "SELECT t.id AS id, t.accountCode.accountCode AS accountCode, t.type AS type, t.amount AS amount, " +
+            "t.balance AS balance, t.referenceId AS referenceId, t.note AS note, t.occurredAt AS occurredAt, t.createdAt AS createdAt " +
+            "FROM Transaction t ";
+
+    @Query(value = TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.accountCode.accountCode = :accountCode")
+    Page<TransactionRow> findByAccountCode_AccountCode(@Param("accountCode") String accountCode, Pageable pageable);
     
-    Page<Transaction> findByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(
-        String accountCode, 
-        LocalDateTime from, 
-        LocalDateTime to, 
-        String keyword, 
+    // Cari di note: ILIKE supaya bisa pakai trigram index (account_code, note), lihat V3__transaction_note_search.sql
+    @Query(value = TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%')",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%')")
+    Page<TransactionRow> findByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(
+        @Param("accountCode") String accountCode, 
+        @Param("from") LocalDateTime from, 
+        @Param("to") LocalDateTime to, 
+        @Param("keyword") String keyword, 
         Pageable pageable
     );
     
-    Page<Transaction> findByAccountCode_AccountCodeAndOccurredAtBetween(
-        String accountCode,
-        LocalDateTime from,
-        LocalDateTime to,
+    @Query(value = TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to",
+            countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to")
+    Page<TransactionRow> findByAccountCode_AccountCodeAndOccurredAtBetween(
+        @Param("accountCode") String accountCode,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
         Pageable pageable
     );
     
+    // Slice: hanya isi halaman (+1 baris untuk hasNext), tanpa query COUNT(*)
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode")
+    Slice<TransactionRow> findSliceByAccountCode_AccountCode(@Param("accountCode") String accountCode, Pageable pageable);
+
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to")
+    Slice<TransactionRow> findSliceByAccountCode_AccountCodeAndOccurredAtBetween(
+        @Param("accountCode") String accountCode,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        Pageable pageable
+    );
+
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%')")
+    Slice<TransactionRow> findSliceByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(
+        @Param("accountCode") String accountCode,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
+
+    long countByAccountCode_AccountCode(String accountCode);
+
+    long countByAccountCode_AccountCodeAndOccurredAtBetween(String accountCode, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%')")
+    long countByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(@Param("accountCode") String accountCode,
+                                                                                        @Param("from") LocalDateTime from,
+                                                                                        @Param("to") LocalDateTime to,
+                                                                                        @Param("keyword") String keyword);
+
     List<Transaction> findByAccountCodeAndOccurredAtBetween(
         Account account, 
         LocalDateTime from, 
         LocalDateTime to
     );
+
+    // Keyset paging: urutan (occurredAt, id) dari Pageable, limit dari Pageable, tanpa OFFSET dan COUNT
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to")
+    List<TransactionRow> findKeysetFirst(@Param("accountCode") String accountCode,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      Pageable pageable);
+
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND (t.occurredAt, t.id) > (:occurredAt, :id)")
+    List<TransactionRow> findKeysetAfter(@Param("accountCode") String accountCode,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("occurredAt") LocalDateTime occurredAt,
+                                      @Param("id") UUID id,
+                                      Pageable pageable);
+
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND (t.occurredAt, t.id) < (:occurredAt, :id)")
+    List<TransactionRow> findKeysetBefore(@Param("accountCode") String accountCode,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("occurredAt") LocalDateTime occurredAt,
+                                       @Param("id") UUID id,
+                                       Pageable pageable);
+
+    // Keyset dengan pencarian note
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%')")
+    List<TransactionRow> findKeysetFirstByNote(@Param("accountCode") String accountCode,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("keyword") String keyword,
+                                               Pageable pageable);
+
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%') AND (t.occurredAt, t.id) > (:occurredAt, :id)")
+    List<TransactionRow> findKeysetAfterByNote(@Param("accountCode") String accountCode,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("keyword") String keyword,
+                                               @Param("occurredAt") LocalDateTime occurredAt,
+                                               @Param("id") UUID id,
+                                               Pageable pageable);
+
+    @Query(TRANSACTION_ROW + "WHERE t.accountCode.accountCode = :accountCode AND t.occurredAt BETWEEN :from AND :to " +
+            "AND t.note ILIKE CONCAT('%', :keyword, '%') AND (t.occurredAt, t.id) < (:occurredAt, :id)")
+    List<TransactionRow> findKeysetBeforeByNote(@Param("accountCode") String accountCode,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("keyword") String keyword,
+                                                @Param("occurredAt") LocalDateTime occurredAt,
+                                                @Param("id") UUID id,
+                                                Pageable pageable);
+
+    // Insert langsung tanpa memuat entity Account (dipakai write path atomic)
+    @Modifying
+    @Query(value = "INSERT INTO transactions (id, account_code, type, amount, balance, note, occurred_at, created_at) " +
+            "VALUES (:id, :accountCode, :type, :amount, :balance, :note, :occurredAt, :createdAt)", nativeQuery = true)
+    int insert(@Param("id") UUID id,
+               @Param("accountCode") String accountCode,
+               @Param("type") String type,
+               @Param("amount") Long amount,
+               @Param("balance") Long balance,
+               @Param("note") String note,
+               @Param("occurredAt") LocalDateTime occurredAt,
+               @Param("createdAt") LocalDateTime createdAt);
 }
@@ -2,20 +2,61 @@ package com.adisaputera.savingapp.repository;
 
 import com.adisaputera.savingapp.model.RoleEnum;
 import com.adisaputera.savingapp.model.User;
+import com.adisaputera.savingapp.repository.projection.UserName;
+import com.adisaputera.savingapp.repository.projection.UserRow;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    String USER_ROW = "SELECT u.id AS id, u.fullName AS fullName, u.email AS email, u.address AS address, " +
+            "u.phone AS phone, u.createdAt AS createdAt FROM User u ";
+
     Optional<User> findByEmail(String email);
     Page<User> findByFullNameContainingIgnoreCase(String keyword, Pageable pageable);
-    Page<User> findByRole(RoleEnum role, Pageable pageable);
-    Page<User> findByRoleAndFullNameContainingIgnoreCase(RoleEnum role, String keyword, Pageable pageable);
+    // List nasabah: projection UserRow, Spring Data hanya select kolom yang ada di interface (tanpa password)
+    Page<UserRow> findByRole(RoleEnum role, Pageable pageable);
+    Page<UserRow> findByRoleAndFullNameContainingIgnoreCase(RoleEnum role, String keyword, Pageable pageable);
     Long countByRole(RoleEnum role);
+    Long countByRoleAndFullNameContainingIgnoreCase(RoleEnum role, String keyword);
+
+    // Nama semua user per role, untuk membangun search index di memori
+    @Query("SELECT u.id AS id, u.fullName AS fullName FROM User u WHERE u.role = :role")
+    List<UserName> findAllNamesByRole(@Param("role") RoleEnum role);
+
+    // Hasil search index di memori, diambil per primary key
+    @Query(USER_ROW + "WHERE u.id IN :ids")
+    List<UserRow> findRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Slice: tanpa COUNT(*)
+    Slice<UserRow> findSliceByRole(RoleEnum role, Pageable pageable);
+    Slice<UserRow> findSliceByRoleAndFullNameContainingIgnoreCase(RoleEnum role, String keyword, Pageable pageable);
+
+    // Keyset paging per role, urut (fullName, id); keyword kosong berarti tanpa filter
+    @Query(USER_ROW + "WHERE u.role = :role " +
+            "AND LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    List<UserRow> findKeysetFirst(@Param("role") RoleEnum role, @Param("keyword") String keyword, Pageable pageable);
+
+    @Query(USER_ROW + "WHERE u.role = :role " +
+            "AND LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (u.fullName, u.id) > (:fullName, :id)")
+    List<UserRow> findKeysetAfter(@Param("role") RoleEnum role, @Param("keyword") String keyword,
+                               @Param("fullName") String fullName, @Param("id") UUID id, Pageable pageable);
+
+    @Query(USER_ROW + "WHERE u.role = :role " +
+            "AND LOWER(u.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "AND (u.fullName, u.id) < (:fullName, :id)")
+    List<UserRow> findKeysetBefore(@Param("role") RoleEnum role, @Param("keyword") String keyword,
+                                @Param("fullName") String fullName, @Param("id") UUID id, Pageable pageable);
 }
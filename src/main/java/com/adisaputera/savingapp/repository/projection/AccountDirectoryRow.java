@@ -0,0 +1,11 @@
+package com.adisaputera.savingapp.repository.projection;
+
+import java.util.UUID;
+
+// Data account yang disimpan di directory di memori
+public interface AccountDirectoryRow {
+    String getAccountCode();
+    Long getId();
+    UUID getOwnerId();
+    Boolean getActive();
+}
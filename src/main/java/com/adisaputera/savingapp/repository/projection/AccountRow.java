@@ -0,0 +1,16 @@
+package com.adisaputera.savingapp.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface AccountRow {
+    Long getId();
+    String getAccountCode();
+    Boolean getIsActive();
+    Long getTotalDeposit();
+    Long getTotalWithdraw();
+    Long getBalance();
+    LocalDateTime getCreatedAt();
+    UUID getUserId();
+    String getUserFullName();
+}
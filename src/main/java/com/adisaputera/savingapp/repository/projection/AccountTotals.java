@@ -0,0 +1,8 @@
+package com.adisaputera.savingapp.repository.projection;
+
+// Nilai efektif account: row account + jumlah slot saldo
+public interface AccountTotals {
+    String getAccountCode();
+    Long getBalance();
+    Long getTotalDeposit();
+}
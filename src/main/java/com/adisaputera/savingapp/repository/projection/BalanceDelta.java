@@ -0,0 +1,8 @@
+package com.adisaputera.savingapp.repository.projection;
+
+public interface BalanceDelta {
+    Long getBalanceChange();
+    Long getTotalDeposit();
+    Long getTotalWithdraw();
+    Long getTransactionCount();
+}
@@ -0,0 +1,10 @@
+package com.adisaputera.savingapp.repository.projection;
+
+public interface DashboardTotals {
+    Long getTotalNasabah();
+    Long getTotalAccountActive();
+    Long getTotalAccountInactive();
+    Long getTotalDeposit();
+    Long getTotalWithdraw();
+    Long getTotalBalance();
+}
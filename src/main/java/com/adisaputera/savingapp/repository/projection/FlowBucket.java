@@ -0,0 +1,11 @@
+package com.adisaputera.savingapp.repository.projection;
+
+import java.time.LocalDate;
+
+public interface FlowBucket {
+    LocalDate getBucket();
+    Long getTotalDeposit();
+    Long getTotalWithdraw();
+    Long getDepositCount();
+    Long getWithdrawCount();
+}
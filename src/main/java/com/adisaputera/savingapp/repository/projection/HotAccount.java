@@ -0,0 +1,6 @@
+package com.adisaputera.savingapp.repository.projection;
+
+public interface HotAccount {
+    String getAccountCode();
+    Integer getHotSlots();
+}
@@ -0,0 +1,12 @@
+package com.adisaputera.savingapp.repository.projection;
+
+public interface NasabahDashboardTotals {
+    Integer getTotalAccounts();
+    Integer getTotalAccountsActive();
+    Integer getTotalAccountsInactive();
+    Long getTotalBalance();
+    Long getTotalDeposit();
+    Long getTotalWithdraw();
+    // Account yang ikut dihitung, dipisah koma
+    String getAccountCodes();
+}
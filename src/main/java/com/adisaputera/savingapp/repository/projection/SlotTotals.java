@@ -0,0 +1,8 @@
+package com.adisaputera.savingapp.repository.projection;
+
+public interface SlotTotals {
+    String getAccountCode();
+    Long getBalance();
+    Long getTotalDeposit();
+    Long getTotalWithdraw();
+}
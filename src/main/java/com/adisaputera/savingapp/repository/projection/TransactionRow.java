@@ -0,0 +1,18 @@
+package com.adisaputera.savingapp.repository.projection;
+
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TransactionRow {
+    UUID getId();
+    String getAccountCode();
+    TypeTransactionEnum getType();
+    Long getAmount();
+    Long getBalance();
+    UUID getReferenceId();
+    String getNote();
+    LocalDateTime getOccurredAt();
+    LocalDateTime getCreatedAt();
+}
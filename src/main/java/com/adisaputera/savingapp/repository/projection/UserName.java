@@ -0,0 +1,9 @@
+package com.adisaputera.savingapp.repository.projection;
+
+import java.util.UUID;
+
+// Id dan nama user untuk search index di memori
+public interface UserName {
+    UUID getId();
+    String getFullName();
+}
@@ -0,0 +1,13 @@
+package com.adisaputera.savingapp.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface UserRow {
+    UUID getId();
+    String getFullName();
+    String getEmail();
+    String getAddress();
+    String getPhone();
+    LocalDateTime getCreatedAt();
+}
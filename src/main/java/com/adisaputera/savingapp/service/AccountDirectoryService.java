@@ -0,0 +1,200 @@
+package com.adisaputera.savingapp.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.projection.AccountDirectoryRow;
+import com.adisaputera.savingapp.util.CommitOrderedChanges;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory directory of accounts by account code (id, owner and active flag), so the
+ * existence and ownership checks of the read paths need no DB round trip.
+ *
+ * Create, status change and delete record their change inside their DB transaction; it is
+ * applied after that transaction commits. A code that is not in the directory is looked up
+ * in the DB and added, unless a change was applied while that lookup ran. The directory is
+ * loaded on startup and reloaded periodically to pick up rows written outside the services.
+ * Like the account ranking, the reload snapshot is taken while no change is between its
+ * commit and its application, and codes changed after the snapshot keep their applied value.
+ *
+ * The active flag is for reads only: write paths still check it on the locked row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountDirectoryService {
+    private final AccountRepository accountRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private CommitOrderedChanges<Map<String, Entry>> tracker;
+
+    // Dijaga oleh this: jumlah perubahan yang sudah diterapkan, dan code yang berubah selama reload
+    private long applied;
+    private Set<String> journal;
+    private volatile boolean loaded;
+
+    public record Entry(long id, UUID ownerId, boolean active) {
+
+        public Entry withActive(boolean active) {
+            return new Entry(id, ownerId, active);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        tracker = new CommitOrderedChanges<>("Account directory", HashMap::new, this::apply, transactionManager, jdbcTemplate);
+        Gauge.builder("savingapp.account.directory.size", entries, Map::size)
+                .description("Accounts in the in-memory account directory")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        reload();
+        loaded = true;
+        log.info("Loaded account directory of {} accounts in {} ms", entries.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.account.directory.reload-interval-ms:600000}",
+            initialDelayString = "${app.account.directory.reload-interval-ms:600000}")
+    public void scheduledReload() {
+        if (!loaded) {
+            return;
+        }
+        int corrected = reload();
+        if (corrected > 0) {
+            log.warn("Corrected account directory drift on {} accounts", corrected);
+        }
+    }
+
+    public Optional<Entry> find(String accountCode) {
+        Entry entry = entries.get(accountCode);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+
+        // Belum ada di directory (belum dimuat atau ditulis di luar service): baca dari DB
+        long seen;
+        synchronized (this) {
+            seen = applied;
+        }
+        Optional<Entry> found = accountRepository.findDirectoryRowByAccountCode(accountCode).map(AccountDirectoryService::toEntry);
+        found.ifPresent(row -> {
+            synchronized (this) {
+                // Perubahan yang masuk selama query bisa lebih baru dari row yang dibaca
+                if (applied == seen) {
+                    entries.putIfAbsent(accountCode, row);
+                }
+            }
+        });
+        return found;
+    }
+
+    public boolean exists(String accountCode) {
+        return find(accountCode).isPresent();
+    }
+
+    public Optional<UUID> findOwnerId(String accountCode) {
+        return find(accountCode).map(Entry::ownerId);
+    }
+
+    public void recordAccount(String accountCode, Entry entry) {
+        pending().put(accountCode, entry);
+    }
+
+    public void recordAccountDeleted(String accountCode) {
+        pending().put(accountCode, null);
+    }
+
+    /**
+     * Replaces the directory content with the accounts table, keeping the codes whose change
+     * was applied after the snapshot. Returns the number of accounts that had drifted.
+     */
+    public int reload() {
+        List<AccountDirectoryRow> rows = tracker.snapshot(this::startJournal, started -> accountRepository.findAllDirectoryRows());
+
+        synchronized (this) {
+            int corrected = 0;
+            Set<String> seen = new HashSet<>();
+            for (AccountDirectoryRow row : rows) {
+                seen.add(row.getAccountCode());
+                if (journal.contains(row.getAccountCode())) {
+                    continue;
+                }
+                Entry entry = toEntry(row);
+                Entry previous = entries.put(row.getAccountCode(), entry);
+                if (loaded && !entry.equals(previous)) {
+                    corrected++;
+                }
+            }
+
+            // Tidak ada di snapshot: sudah dihapus, kecuali dibuat setelah snapshot
+            for (String accountCode : entries.keySet()) {
+                if (!seen.contains(accountCode) && !journal.contains(accountCode)) {
+                    entries.remove(accountCode);
+                    corrected += loaded ? 1 : 0;
+                }
+            }
+            applied++;
+            journal = null;
+            return corrected;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private synchronized Set<String> startJournal() {
+        journal = new HashSet<>();
+        return journal;
+    }
+
+    private synchronized void apply(Map<String, Entry> changes) {
+        changes.forEach((accountCode, entry) -> {
+            if (entry == null) {
+                entries.remove(accountCode);
+            } else {
+                entries.put(accountCode, entry);
+            }
+            if (journal != null) {
+                journal.add(accountCode);
+            }
+        });
+        applied++;
+    }
+
+    // Perubahan directory di transaksi DB yang sedang berjalan
+    private Map<String, Entry> pending() {
+        return tracker.record();
+    }
+
+    private static Entry toEntry(AccountDirectoryRow row) {
+        return new Entry(row.getId(), row.getOwnerId(), Boolean.TRUE.equals(row.getActive()));
+    }
+}
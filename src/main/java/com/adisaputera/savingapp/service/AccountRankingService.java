@@ -0,0 +1,223 @@
+package com.adisaputera.savingapp.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.adisaputera.savingapp.dto.message.ApiResponse;
+import com.adisaputera.savingapp.dto.response.AccountRankResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.ResourceNotFoundException;
+import com.adisaputera.savingapp.model.AccountRankByEnum;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.projection.AccountTotals;
+import com.adisaputera.savingapp.util.CommitOrderedChanges;
+import com.adisaputera.savingapp.util.RankedIndex;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory leaderboards of accounts by effective balance and by total deposit, for top-N
+ * and rank lookups in O(log n) without sorting the accounts table.
+ *
+ * Write paths record their per-account change inside their DB transaction; it is applied
+ * to the index after that transaction commits, like the admin dashboard counters. The
+ * index is built from the accounts on startup and rebuilt periodically to pick up rows
+ * written outside the services. The rebuild snapshot is taken while no write is between
+ * its commit and its index update, and changes applied while the rebuild reads are
+ * replayed on top of the snapshot, so concurrent writes are never lost or counted twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountRankingService {
+    private final AccountRepository accountRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.account.ranking.max-n:1000}")
+    private int maxN;
+
+    private final RankedIndex<String> byBalance = new RankedIndex<>();
+    private final RankedIndex<String> byTotalDeposit = new RankedIndex<>();
+
+    private CommitOrderedChanges<Map<String, Change>> tracker;
+
+    // Perubahan yang masuk setelah snapshot rebuild dibuat; null di luar rebuild. Dijaga oleh this
+    private Map<String, Change> journal;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void init() {
+        tracker = new CommitOrderedChanges<>("Account ranking", HashMap::new, this::apply, transactionManager, jdbcTemplate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        rebuild();
+        loaded = true;
+        log.info("Loaded account ranking of {} accounts in {} ms", byBalance.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.account.ranking.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.account.ranking.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (!loaded) {
+            return;
+        }
+        int corrected = rebuild();
+        if (corrected > 0) {
+            log.warn("Corrected account ranking drift on {} accounts", corrected);
+        }
+    }
+
+    public void recordTransaction(String accountCode, TypeTransactionEnum type, long amount) {
+        Change change = pending(accountCode);
+        if (type == TypeTransactionEnum.deposit) {
+            change.balance += amount;
+            change.totalDeposit += amount;
+        } else if (type == TypeTransactionEnum.withdraw) {
+            change.balance -= amount;
+        }
+    }
+
+    public void recordTransfer(String fromAccountCode, String toAccountCode, long amount) {
+        pending(fromAccountCode).balance -= amount;
+        pending(toAccountCode).balance += amount;
+    }
+
+    public void recordAccountCreated(String accountCode) {
+        pending(accountCode);
+    }
+
+    public void recordAccountDeleted(String accountCode) {
+        pending(accountCode).deleted = true;
+    }
+
+    public ApiResponse<List<AccountRankResponseDTO>> getTop(AccountRankByEnum by, int n) {
+        if (n < 1 || n > maxN) {
+            throw new BadRequestException("n must be between 1 and " + maxN);
+        }
+
+        List<AccountRankResponseDTO> accounts = index(by).top(n).stream()
+            .map(entry -> toResponseDTO(entry.key(), entry.rank()))
+            .toList();
+        return ApiResponse.success("Account ranking retrieved successfully", accounts);
+    }
+
+    public ApiResponse<AccountRankResponseDTO> getRank(AccountRankByEnum by, String accountCode) {
+        int rank = index(by).rank(accountCode);
+        if (rank == 0) {
+            throw new ResourceNotFoundException("Account", "accountCode", accountCode);
+        }
+
+        AccountRankResponseDTO responseDTO = toResponseDTO(accountCode, rank);
+        responseDTO.setTotalAccounts(index(by).size());
+        return ApiResponse.success("Account rank retrieved successfully", responseDTO);
+    }
+
+    /**
+     * Replaces the index content with the accounts table plus the changes committed since
+     * the snapshot. Returns the number of accounts whose values had drifted.
+     */
+    int rebuild() {
+        List<AccountTotals> accounts = tracker.snapshot(this::startJournal, started -> accountRepository.findAllEffectiveTotals());
+
+        synchronized (this) {
+            int corrected = 0;
+            Set<String> seen = new HashSet<>();
+            for (AccountTotals account : accounts) {
+                String accountCode = account.getAccountCode();
+                Change change = journal.getOrDefault(accountCode, new Change());
+                seen.add(accountCode);
+                if (change.deleted) {
+                    continue;
+                }
+                long balance = account.getBalance() + change.balance;
+                long totalDeposit = account.getTotalDeposit() + change.totalDeposit;
+                if (loaded && (!Long.valueOf(balance).equals(byBalance.score(accountCode))
+                        || !Long.valueOf(totalDeposit).equals(byTotalDeposit.score(accountCode)))) {
+                    corrected++;
+                }
+                byBalance.put(accountCode, balance);
+                byTotalDeposit.put(accountCode, totalDeposit);
+            }
+
+            // Tidak ada di snapshot: sudah dihapus, kecuali dibuat setelah snapshot
+            for (String accountCode : byBalance.keys()) {
+                Change change = journal.get(accountCode);
+                if (!seen.contains(accountCode) && (change == null || change.deleted)) {
+                    byBalance.remove(accountCode);
+                    byTotalDeposit.remove(accountCode);
+                    corrected += loaded ? 1 : 0;
+                }
+            }
+            journal = null;
+            return corrected;
+        }
+    }
+
+    private RankedIndex<String> index(AccountRankByEnum by) {
+        return by == AccountRankByEnum.balance ? byBalance : byTotalDeposit;
+    }
+
+    private AccountRankResponseDTO toResponseDTO(String accountCode, int rank) {
+        return AccountRankResponseDTO.builder()
+            .rank(rank)
+            .accountCode(accountCode)
+            .balance(byBalance.score(accountCode))
+            .totalDeposit(byTotalDeposit.score(accountCode))
+            .build();
+    }
+
+    private synchronized Map<String, Change> startJournal() {
+        journal = new HashMap<>();
+        return journal;
+    }
+
+    private synchronized void apply(Map<String, Change> changes) {
+        changes.forEach((accountCode, change) -> {
+            if (change.deleted) {
+                byBalance.remove(accountCode);
+                byTotalDeposit.remove(accountCode);
+            } else {
+                byBalance.add(accountCode, change.balance);
+                byTotalDeposit.add(accountCode, change.totalDeposit);
+            }
+            if (journal != null) {
+                journal.computeIfAbsent(accountCode, code -> new Change()).add(change);
+            }
+        });
+    }
+
+    // Perubahan account ini di transaksi DB yang sedang berjalan
+    private Change pending(String accountCode) {
+        return tracker.record().computeIfAbsent(accountCode, code -> new Change());
+    }
+
+    private static final class Change {
+        private long balance;
+        private long totalDeposit;
+        private boolean deleted;
+
+        private void add(Change other) {
+            balance += other.balance;
+            totalDeposit += other.totalDeposit;
+            deleted |= other.deleted;
+        }
+    }
+}
@@ -3,38 +3,74 @@ package com.adisaputera.savingapp.service;
 import com.adisaputera.savingapp.dto.message.ApiResponse;
 import com.adisaputera.savingapp.dto.message.MetadataResponse;
 import com.adisaputera.savingapp.dto.request.ChangeAccountStatusRequestDTO;
+import com.adisaputera.savingapp.dto.request.ChangeHotSlotsRequestDTO;
 import com.adisaputera.savingapp.dto.request.CreateAccountRequestDTO;
+import com.adisaputera.savingapp.event.AccountChangedEvent;
 import com.adisaputera.savingapp.model.Account;
+import com.adisaputera.savingapp.model.CountModeEnum;
 import com.adisaputera.savingapp.model.User;
 import com.adisaputera.savingapp.repository.AccountRepository;
 import com.adisaputera.savingapp.repository.UserRepository;
+import com.adisaputera.savingapp.repository.projection.AccountRow;
+import com.adisaputera.savingapp.repository.projection.SlotTotals;
+import com.adisaputera.savingapp.util.KeysetCursor;
+import com.adisaputera.savingapp.util.KeysetSlice;
 import com.adisaputera.savingapp.util.UserUtil;
+import com.adisaputera.savingapp.dto.response.AccountBalanceResponseDTO;
 import com.adisaputera.savingapp.dto.response.AccountDetailResponseDTO;
 import com.adisaputera.savingapp.dto.response.AccountListResponseDTO;
 import com.adisaputera.savingapp.dto.response.AccountMeResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchItemResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchResponseDTO;
 import com.adisaputera.savingapp.dto.response.UserResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.ForbiddenException;
 import com.adisaputera.savingapp.exception.ResourceNotFoundException;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    private static final String ACCOUNT_CURSOR_SCOPE = "account";
+
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
-
+    private final HotAccountService hotAccountService;
+    private final ListCountService listCountService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final DailySummaryService dailySummaryService;
+    private final AccountRankingService accountRankingService;
+    private final AccountDirectoryService accountDirectoryService;
+    private final SearchIndexService searchIndexService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.account.batch.max-size:5000}")
+    private int batchMaxSize;
+
+    @Transactional
     public ApiResponse<AccountListResponseDTO> createAccount(CreateAccountRequestDTO request) {
         Optional<User> userOpt = userRepository.findById(UUID.fromString(request.getUserId()));
         if (userOpt.isEmpty()) {
@@ -50,30 +86,133 @@ public class AccountService {
                 .totalWithdraw(0L)
                 .balance(0L)
                 .build();
-        Account savedAccount = accountRepository.save(account);
-
-        AccountListResponseDTO accountDto = AccountListResponseDTO.builder()
-                .accountCode(savedAccount.getAccountCode())
-                .isActive(savedAccount.getIsActive())
-                .totalDeposit(savedAccount.getTotalDeposit())
-                .totalWithdraw(savedAccount.getTotalWithdraw())
-                .balance(savedAccount.getBalance())
+        // Flush mengisi createdAt; account code sudah ikut di INSERT
+        Account savedAccount = accountRepository.saveAndFlush(account);
+        recordAccountCreated(savedAccount);
+        listCountService.evictAccounts();
+
+        return ApiResponse.success("Account created successfully", toCreatedAccountDto(savedAccount));
+    }
+
+    /**
+     * Creates one account per item in one DB transaction. Account ids come from the pooled
+     * sequence and codes are set before insert, so the rows go out as batched inserts.
+     * Items with an invalid or unknown user are reported and skipped.
+     */
+    @Transactional
+    public ApiResponse<BatchResponseDTO<AccountListResponseDTO>> createAccountBatch(List<CreateAccountRequestDTO> request) {
+        if (request == null || request.isEmpty()) {
+            throw new BadRequestException("Account batch must contain at least one item");
+        }
+        if (request.size() > batchMaxSize) {
+            throw new BadRequestException("Account batch cannot exceed " + batchMaxSize + " items");
+        }
+
+        List<UUID> userIds = new ArrayList<>(request.size());
+        for (CreateAccountRequestDTO item : request) {
+            userIds.add(parseUserId(item));
+        }
+        // Satu query untuk semua user di batch
+        Map<UUID, User> users = userRepository.findAllById(userIds.stream().filter(Objects::nonNull).distinct().toList()).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<BatchItemResponseDTO<AccountListResponseDTO>> results = new ArrayList<>(request.size());
+        List<Account> accounts = new ArrayList<>(request.size());
+        List<Integer> accountIndexes = new ArrayList<>(request.size());
+        for (int i = 0; i < request.size(); i++) {
+            UUID userId = userIds.get(i);
+            if (userId == null) {
+                results.add(BatchItemResponseDTO.error(i, "User ID must be a valid UUID"));
+                continue;
+            }
+            User user = users.get(userId);
+            if (user == null) {
+                results.add(BatchItemResponseDTO.error(i, "User not found with id: " + userId));
+                continue;
+            }
+
+            accounts.add(Account.builder()
+                    .userId(user)
+                    .isActive(true)
+                    .totalDeposit(0L)
+                    .totalWithdraw(0L)
+                    .balance(0L)
+                    .build());
+            accountIndexes.add(i);
+            results.add(null);
+        }
+
+        // Insert lewat JDBC batch saat flush, tanpa UPDATE account code setelahnya
+        accountRepository.saveAll(accounts);
+        accountRepository.flush();
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            int index = accountIndexes.get(i);
+            recordAccountCreated(account);
+            results.set(index, BatchItemResponseDTO.success(index, toCreatedAccountDto(account)));
+        }
+        if (!accounts.isEmpty()) {
+            listCountService.evictAccounts();
+        }
+
+        return ApiResponse.success("Account batch processed", BatchResponseDTO.of(results));
+    }
+
+    private void recordAccountCreated(Account account) {
+        dashboardAggregateService.recordAccountCreated(account.getIsActive());
+        accountRankingService.recordAccountCreated(account.getAccountCode());
+        accountDirectoryService.recordAccount(account.getAccountCode(),
+                new AccountDirectoryService.Entry(account.getId(), account.getUserId().getId(), account.getIsActive()));
+        searchIndexService.recordAccount(account.getId(), account.getAccountCode());
+        eventPublisher.publishEvent(new AccountChangedEvent(account.getUserId().getId(), account.getAccountCode()));
+    }
+
+    private AccountListResponseDTO toCreatedAccountDto(Account account) {
+        User user = account.getUserId();
+        return AccountListResponseDTO.builder()
+                .accountCode(account.getAccountCode())
+                .isActive(account.getIsActive())
+                .totalDeposit(account.getTotalDeposit())
+                .totalWithdraw(account.getTotalWithdraw())
+                .balance(account.getBalance())
                 .user(UserResponseDTO.builder()
                     .id(user.getId().toString())
                     .fullName(user.getFullName())
                     .build())
-                .createdAt(savedAccount.getCreatedAt().toString())
+                .createdAt(account.getCreatedAt().toString())
                 .build();
+    }
 
-        return ApiResponse.success("Account created successfully", accountDto);
+    private static UUID parseUserId(CreateAccountRequestDTO item) {
+        if (item == null || !StringUtils.hasText(item.getUserId())) {
+            return null;
+        }
+        try {
+            return UUID.fromString(item.getUserId());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
     }
 
-    public ApiResponse<List<AccountListResponseDTO>> getAccountList(int page, int perPage, String sortDirection, String sortBy, UUID userId, String keyword) {
+    public ApiResponse<List<AccountListResponseDTO>> getAccountList(int page, int perPage, String sortDirection, String sortBy, UUID userId, String keyword, String cursor, Integer limit, CountModeEnum countMode) {
+        // Mode cursor dipakai kalau client mengirim cursor atau limit
+        if (cursor != null || limit != null) {
+            KeysetSlice<AccountRow> slice = findAccountKeyset(userId, keyword, sortDirection, cursor, limit);
+            return ApiResponse.success("Account retrieved successfully", toAccountListDtos(slice.getContent()), keysetMetadata(slice, limit));
+        }
+
         int pageIndex = page > 0 ? page -1 : 0;
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(pageIndex, perPage, sort);
 
-        Page<Account> accountPage;
+        // Selain exact: ambil Slice tanpa COUNT(*), total dari cache/estimasi atau tidak ada
+        if (countMode != CountModeEnum.exact) {
+            Slice<AccountRow> accountSlice = findAccountSlice(userId, keyword, pageable);
+            Long totalElements = countAccounts(userId, keyword, countMode);
+            return ApiResponse.success("Account retrieved successfully", toAccountListDtos(accountSlice.getContent()), listCountService.metadata(accountSlice, totalElements));
+        }
+
+        Page<AccountRow> accountPage;
         
         // Filter by userId and keyword
         if (userId != null && StringUtils.hasText(keyword)) {
@@ -87,73 +226,97 @@ public class AccountService {
             accountPage = accountRepository.findByAccountCodeContainingIgnoreCase(keyword, pageable);
         } else {
             // No filter, get all accounts
-            accountPage = accountRepository.findAll(pageable);
+            accountPage = accountRepository.findAllRows(pageable);
         }
 
-        // Konversi entitas User ke DTO
-        List<AccountListResponseDTO> accountDtos = accountPage.getContent().stream()
-            .map(account -> {
-                User user = account.getUserId();
-
-                return AccountListResponseDTO.builder()
-                    .accountCode(account.getAccountCode())
-                    .isActive(account.getIsActive())
-                    .totalDeposit(account.getTotalDeposit())
-                    .totalWithdraw(account.getTotalWithdraw())
-                    .balance(account.getBalance())
-                    .user(UserResponseDTO.builder()
-                        .id(user.getId().toString())
-                        .fullName(user.getFullName())
-                        .build())
-                    .createdAt(account.getCreatedAt().toString())
-                    .build();
-            })
-            .collect(Collectors.toList());
+        List<AccountListResponseDTO> accountDtos = toAccountListDtos(accountPage.getContent());
 
         // Buat objek pagination
         MetadataResponse pagination = MetadataResponse.builder()
             .page(accountPage.getNumber() + 1)
             .size(accountPage.getSize())
-            .total(accountPage.getTotalPages())
+            .total((long) accountPage.getTotalPages())
             .build();
 
         return ApiResponse.success("Account retrieved successfully", accountDtos, pagination);
     }
 
+    // Typeahead: id dari search index di memori, lalu row diambil per primary key
+    public ApiResponse<List<AccountListResponseDTO>> searchAccounts(String query, int page, int perPage) {
+        List<Long> ids = searchIndexService.searchAccounts(query, page, perPage);
+        boolean hasNext = ids.size() > perPage;
+        List<Long> pageIds = hasNext ? ids.subList(0, perPage) : ids;
+
+        Map<Long, AccountRow> rowsById = pageIds.isEmpty() ? Map.of()
+            : accountRepository.findRowsByIdIn(pageIds).stream().collect(Collectors.toMap(AccountRow::getId, Function.identity()));
+        // Urutan ranking index dipertahankan; id yang barusan dihapus dilewati
+        List<AccountRow> accounts = pageIds.stream().map(rowsById::get).filter(Objects::nonNull).toList();
+
+        MetadataResponse metadata = MetadataResponse.builder()
+                .page(page > 0 ? page : 1)
+                .size(perPage)
+                .hasNext(hasNext)
+                .build();
+
+        return ApiResponse.success("Account retrieved successfully", toAccountListDtos(accounts), metadata);
+    }
+
+    @Transactional
     public ApiResponse<String> updateAccountStatus(ChangeAccountStatusRequestDTO request) {        
-        Optional<Account> accountOpt = accountRepository.findAll().stream()
-            .filter(acc -> acc.getAccountCode().equals(request.getAccountCode()))
-            .findFirst();
+        // Owner dari directory, status lama dari UPDATE itu sendiri: Account dan User tidak dimuat
+        Optional<AccountDirectoryService.Entry> entry = accountDirectoryService.find(request.getAccountCode());
+        Optional<Boolean> previousActive = entry.isPresent()
+                ? accountRepository.updateIsActiveReturningPrevious(request.getAccountCode(), request.getIsActive())
+                : Optional.empty();
 
-        if (accountOpt.isEmpty()) {
+        if (previousActive.isEmpty()) {
             throw new ResourceNotFoundException("Account not found");
         }
 
-        Account account = accountOpt.get();
-        account.setIsActive(request.getIsActive());
-        accountRepository.save(account);
+        dashboardAggregateService.recordAccountStatusChanged(previousActive.get(), request.getIsActive());
+        accountDirectoryService.recordAccount(request.getAccountCode(), entry.get().withActive(request.getIsActive()));
+        eventPublisher.publishEvent(new AccountChangedEvent(entry.get().ownerId(), request.getAccountCode()));
 
         String message = Boolean.TRUE.equals(request.getIsActive()) ? "Account activated successfully" : "Account deactivated successfully";
         return ApiResponse.success(message, null);
     }
 
+    public ApiResponse<String> updateHotSlots(String accountCode, ChangeHotSlotsRequestDTO request) {
+        hotAccountService.configureSlots(accountCode, request.getSlots());
+
+        String message = request.getSlots() > 0 ? "Account hot slots updated successfully" : "Account hot slots disabled successfully";
+        return ApiResponse.success(message, null);
+    }
+
+    @Transactional
     public ApiResponse<String> deleteAccount(String accountCode) {
-        Optional<Account> accountOpt = accountRepository.findAll().stream()
-            .filter(account -> account.getAccountCode().equals(accountCode))
-            .findFirst();
+        // Row lock: write yang masih jalan commit dulu, sebelum summary-nya dikurangkan dari flow harian
+        Optional<Account> accountOpt = accountRepository.findByAccountCodeForUpdate(accountCode);
 
         if (accountOpt.isEmpty()) {
             throw new ResourceNotFoundException("Account not found");
         }
 
         Account account = accountOpt.get();
+        // Slot dilipat ke row account lalu dihapus di transaksi yang sama, nilainya ikut
+        // dikurangkan dari total dashboard
+        hotAccountService.discardSlots(account);
+        dailySummaryService.recordAccountDeleted(accountCode);
+        accountRankingService.recordAccountDeleted(accountCode);
+        accountDirectoryService.recordAccountDeleted(accountCode);
+        searchIndexService.recordAccountDeleted(account.getId());
         accountRepository.delete(account);
+        dashboardAggregateService.recordAccountDeleted(account.getIsActive(),
+                account.getTotalDeposit(), account.getTotalWithdraw(), account.getBalance());
+        listCountService.evictAccounts();
+        listCountService.evictTransactions(accountCode);
+        eventPublisher.publishEvent(new AccountChangedEvent(account.getUserId().getId(), accountCode));
 
         return ApiResponse.success("Account deleted successfully", null);
     }
 
     public ApiResponse<AccountDetailResponseDTO> getAccountDetail(String accountCode) {
-        Optional<Account> accountOpt = accountRepository.findByAccountCode(accountCode);
+        Optional<Account> accountOpt = accountRepository.findDetailByAccountCode(accountCode);
 
         if (accountOpt.isEmpty()) {
             throw new ResourceNotFoundException("Account not found with code: " + accountCode);
@@ -161,13 +324,14 @@ public class AccountService {
 
         Account account = accountOpt.get();
         User user = account.getUserId();
+        SlotTotals slots = hotAccountService.slotTotalsByCode(List.of(accountCode)).get(accountCode);
 
         AccountDetailResponseDTO accountDetail = AccountDetailResponseDTO.builder()
                 .accountCode(account.getAccountCode())
                 .isActive(account.getIsActive())
-                .balance(account.getBalance().doubleValue())
-                .totalDeposit(account.getTotalDeposit().doubleValue())
-                .totalWithdraw(account.getTotalWithdraw().doubleValue())
+                .balance((double) (account.getBalance() + (slots != null ? slots.getBalance() : 0L)))
+                .totalDeposit((double) (account.getTotalDeposit() + (slots != null ? slots.getTotalDeposit() : 0L)))
+                .totalWithdraw((double) (account.getTotalWithdraw() + (slots != null ? slots.getTotalWithdraw() : 0L)))
                 .createdAt(account.getCreatedAt() != null ? account.getCreatedAt().toString() : "")
                 .user(UserResponseDTO.builder()
                         .id(user.getId().toString())
@@ -182,21 +346,62 @@ public class AccountService {
         return ApiResponse.success("Account detail retrieved successfully", accountDetail);
     }
 
-    public ApiResponse<List<AccountMeResponseDTO>> getAccountMe(int page, int perPage, String sortDirection, String sortBy, String keyword) {
-        User user = UserUtil.getCurrentLoggedInUser(userRepository);
+    public ApiResponse<AccountBalanceResponseDTO> getBalanceAt(String accountCode, LocalDateTime at) {
+        if (!accountDirectoryService.exists(accountCode)) {
+            throw new ResourceNotFoundException("Account not found with code: " + accountCode);
+        }
+
+        AccountBalanceResponseDTO balance = balanceCheckpointService.balanceAt(accountCode, at != null ? at : LocalDateTime.now());
+        return ApiResponse.success("Account balance retrieved successfully", balance);
+    }
+
+    public ApiResponse<AccountBalanceResponseDTO> getBalanceAtForNasabah(String accountCode, LocalDateTime at) {
+        UUID currentUserId = UserUtil.getCurrentLoggedInUserId();
+
+        Optional<UUID> ownerId = accountDirectoryService.findOwnerId(accountCode);
+        if (ownerId.isEmpty()) {
+            throw new ResourceNotFoundException("Account not found with code: " + accountCode);
+        }
+        if (!ownerId.get().equals(currentUserId)) {
+            throw new ForbiddenException("You can only access your own account balance");
+        }
+
+        AccountBalanceResponseDTO balance = balanceCheckpointService.balanceAt(accountCode, at != null ? at : LocalDateTime.now());
+        return ApiResponse.success("Account balance retrieved successfully", balance);
+    }
+
+    public ApiResponse<List<AccountMeResponseDTO>> getAccountMe(int page, int perPage, String sortDirection, String sortBy, String keyword, String cursor, Integer limit, CountModeEnum countMode) {
+        // Id dari JWT cukup untuk filter, entity User tidak perlu dimuat
+        UUID userId = UserUtil.getCurrentLoggedInUserId();
+
+        // Mode cursor dipakai kalau client mengirim cursor atau limit
+        if (cursor != null || limit != null) {
+            KeysetSlice<AccountRow> slice = findAccountKeyset(userId, keyword, sortDirection, cursor, limit);
+            return ApiResponse.success("Account retrieved successfully", toAccountMeDtos(slice.getContent()), keysetMetadata(slice, limit));
+        }
         
         int pageIndex = page > 0 ? page - 1 : 0;
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(pageIndex, perPage, sort);
 
-        Page<Account> accountPage;
+        // Selain exact: ambil Slice tanpa COUNT(*), total dari cache/estimasi atau tidak ada
+        if (countMode != CountModeEnum.exact) {
+            Slice<AccountRow> accountSlice = findAccountSlice(userId, keyword, pageable);
+            if (accountSlice.isEmpty() && pageable.getPageNumber() == 0) {
+                throw new ResourceNotFoundException("Account not found");
+            }
+            Long totalElements = countAccounts(userId, keyword, countMode);
+            return ApiResponse.success("Account retrieved successfully", toAccountMeDtos(accountSlice.getContent()), listCountService.metadata(accountSlice, totalElements));
+        }
+
+        Page<AccountRow> accountPage;
 
         if (StringUtils.hasText(keyword)) {
             // Search user's accounts by accountCode
-            accountPage = accountRepository.findByUserIdIdAndAccountCodeContainingIgnoreCase(user.getId(), keyword, pageable);
+            accountPage = accountRepository.findByUserIdIdAndAccountCodeContainingIgnoreCase(userId, keyword, pageable);
         } else {
             // Get all user's accounts
-            accountPage = accountRepository.findAllByUserId(user, pageable);
+            accountPage = accountRepository.findByUserIdId(userId, pageable);
         }
 
         if (accountPage.isEmpty()) {
@@ -204,25 +409,138 @@ public class AccountService {
         }
 
 
-        // Konversi entitas Account ke DTO
-        List<AccountMeResponseDTO> accountDtos = accountPage.getContent().stream()
-            .map(account -> AccountMeResponseDTO.builder()
-                .accountCode(account.getAccountCode())
-                .isActive(account.getIsActive())
-                .totalDeposit(account.getTotalDeposit())
-                .totalWithdraw(account.getTotalWithdraw())
-                .balance(account.getBalance())
-                .createdAt(account.getCreatedAt().toString())
-                .build())
-            .collect(Collectors.toList());
+        List<AccountMeResponseDTO> accountDtos = toAccountMeDtos(accountPage.getContent());
 
         // Buat objek pagination
         MetadataResponse pagination = MetadataResponse.builder()
             .page(accountPage.getNumber() + 1)
             .size(accountPage.getSize())
-            .total(accountPage.getTotalPages())
+            .total((long) accountPage.getTotalPages())
             .build();
 
         return ApiResponse.success("Account retrieved successfully", accountDtos, pagination);
     }
+
+    private Slice<AccountRow> findAccountSlice(UUID userId, String keyword, Pageable pageable) {
+        if (userId != null && StringUtils.hasText(keyword)) {
+            return accountRepository.findSliceByUserIdIdAndAccountCodeContainingIgnoreCase(userId, keyword, pageable);
+        } else if (userId != null) {
+            return accountRepository.findSliceByUserIdId(userId, pageable);
+        } else if (StringUtils.hasText(keyword)) {
+            return accountRepository.findSliceByAccountCodeContainingIgnoreCase(keyword, pageable);
+        }
+        return accountRepository.findAllSlice(pageable);
+    }
+
+    private Long countAccounts(UUID userId, String keyword, CountModeEnum countMode) {
+        boolean hasKeyword = StringUtils.hasText(keyword);
+        if (countMode == CountModeEnum.cached) {
+            return listCountService.cachedAccountCount(userId, hasKeyword ? keyword.toLowerCase() : null, () -> {
+                if (userId != null && hasKeyword) {
+                    return accountRepository.countByUserIdIdAndAccountCodeContainingIgnoreCase(userId, keyword);
+                } else if (userId != null) {
+                    return accountRepository.countByUserIdId(userId);
+                } else if (hasKeyword) {
+                    return accountRepository.countByAccountCodeContainingIgnoreCase(keyword);
+                }
+                return accountRepository.count();
+            });
+        }
+
+        if (countMode == CountModeEnum.estimated) {
+            if (userId != null && hasKeyword) {
+                return listCountService.estimate("SELECT 1 FROM accounts WHERE user_id = ? AND LOWER(account_code) LIKE LOWER(CONCAT('%', ?, '%'))", userId, keyword);
+            } else if (userId != null) {
+                return listCountService.estimate("SELECT 1 FROM accounts WHERE user_id = ?", userId);
+            } else if (hasKeyword) {
+                return listCountService.estimate("SELECT 1 FROM accounts WHERE LOWER(account_code) LIKE LOWER(CONCAT('%', ?, '%'))", keyword);
+            }
+            return listCountService.estimate("SELECT 1 FROM accounts");
+        }
+        return null;
+    }
+
+    // Keyset paging akun: urut (createdAt, id), filter userId/keyword opsional
+    private KeysetSlice<AccountRow> findAccountKeyset(UUID userId, String keyword, String sortDirection, String cursor, Integer limit) {
+        int size = KeysetCursor.resolveLimit(limit);
+        String keywordFilter = StringUtils.hasText(keyword) ? keyword : "";
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(ACCOUNT_CURSOR_SCOPE, cursor) : null;
+        boolean descending = position != null ? position.isDescending() : sortDirection.equalsIgnoreCase("desc");
+        Pageable pageable = KeysetCursor.pageable(size, descending, "createdAt");
+
+        List<AccountRow> accounts;
+        if (position == null) {
+            accounts = userId != null
+                ? accountRepository.findKeysetFirstByUserId(userId, keywordFilter, pageable)
+                : accountRepository.findKeysetFirst(keywordFilter, pageable);
+        } else if (descending) {
+            accounts = userId != null
+                ? accountRepository.findKeysetBeforeByUserId(userId, keywordFilter, position.getKeyAsDateTime(), position.getIdAsLong(), pageable)
+                : accountRepository.findKeysetBefore(keywordFilter, position.getKeyAsDateTime(), position.getIdAsLong(), pageable);
+        } else {
+            accounts = userId != null
+                ? accountRepository.findKeysetAfterByUserId(userId, keywordFilter, position.getKeyAsDateTime(), position.getIdAsLong(), pageable)
+                : accountRepository.findKeysetAfter(keywordFilter, position.getKeyAsDateTime(), position.getIdAsLong(), pageable);
+        }
+
+        return KeysetSlice.of(accounts, size,
+            last -> KeysetCursor.encode(ACCOUNT_CURSOR_SCOPE, descending, last.getCreatedAt(), last.getId()));
+    }
+
+    private static MetadataResponse keysetMetadata(KeysetSlice<?> slice, Integer limit) {
+        return MetadataResponse.builder()
+            .size(KeysetCursor.resolveLimit(limit))
+            .nextCursor(slice.getNextCursor())
+            .hasNext(slice.hasNext())
+            .build();
+    }
+
+    private List<AccountListResponseDTO> toAccountListDtos(List<AccountRow> accounts) {
+        // Saldo slot hanya diambil untuk hot account di halaman ini
+        Map<String, SlotTotals> slotTotals = hotAccountService.slotTotalsByCode(accountCodes(accounts));
+
+        // Konversi row projection ke DTO, data user sudah ikut di row
+        return accounts.stream()
+            .map(account -> {
+                SlotTotals slots = slotTotals.get(account.getAccountCode());
+
+                return AccountListResponseDTO.builder()
+                    .accountCode(account.getAccountCode())
+                    .isActive(account.getIsActive())
+                    .totalDeposit(account.getTotalDeposit() + (slots != null ? slots.getTotalDeposit() : 0L))
+                    .totalWithdraw(account.getTotalWithdraw() + (slots != null ? slots.getTotalWithdraw() : 0L))
+                    .balance(account.getBalance() + (slots != null ? slots.getBalance() : 0L))
+                    .user(UserResponseDTO.builder()
+                        .id(account.getUserId().toString())
+                        .fullName(account.getUserFullName())
+                        .build())
+                    .createdAt(account.getCreatedAt().toString())
+                    .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    private List<AccountMeResponseDTO> toAccountMeDtos(List<AccountRow> accounts) {
+        Map<String, SlotTotals> slotTotals = hotAccountService.slotTotalsByCode(accountCodes(accounts));
+
+        // Konversi row projection ke DTO
+        return accounts.stream()
+            .map(account -> {
+                SlotTotals slots = slotTotals.get(account.getAccountCode());
+
+                return AccountMeResponseDTO.builder()
+                    .accountCode(account.getAccountCode())
+                    .isActive(account.getIsActive())
+                    .totalDeposit(account.getTotalDeposit() + (slots != null ? slots.getTotalDeposit() : 0L))
+                    .totalWithdraw(account.getTotalWithdraw() + (slots != null ? slots.getTotalWithdraw() : 0L))
+                    .balance(account.getBalance() + (slots != null ? slots.getBalance() : 0L))
+                    .createdAt(account.getCreatedAt().toString())
+                    .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> accountCodes(List<AccountRow> accounts) {
+        return accounts.stream().map(AccountRow::getAccountCode).toList();
+    }
 }
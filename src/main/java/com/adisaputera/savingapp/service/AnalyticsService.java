@@ -0,0 +1,130 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.adisaputera.savingapp.dto.message.ApiResponse;
+import com.adisaputera.savingapp.dto.response.FlowBucketResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.GranularityEnum;
+import com.adisaputera.savingapp.repository.AccountDailySummaryRepository;
+import com.adisaputera.savingapp.repository.DailyFlowSummaryRepository;
+import com.adisaputera.savingapp.repository.projection.FlowBucket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Deposit and withdraw time series from the daily rollups, never from transactions: all
+ * accounts from daily_flow_summary (days x flow shards rows), one nasabah from the
+ * account_daily_summary rows of their accounts.
+ *
+ * Ranges longer than chunk-days are split into chunks aligned to bucket boundaries and
+ * queried in parallel, so a multi-year range costs about as much as one chunk.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+
+    private final DailyFlowSummaryRepository flowSummaryRepository;
+    private final AccountDailySummaryRepository summaryRepository;
+
+    @Value("${app.analytics.chunk-days:366}")
+    private int chunkDays;
+
+    @Value("${app.analytics.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ApiResponse<List<FlowBucketResponseDTO>> getFlows(GranularityEnum granularity, LocalDate from, LocalDate to, UUID userId) {
+        // Default: satu tahun terakhir sampai hari ini
+        LocalDate toDate = (to != null) ? to : LocalDate.now();
+        LocalDate fromDate = (from != null) ? from : toDate.minusYears(1).plusDays(1);
+        if (fromDate.isAfter(toDate)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (fromDate.isBefore(MIN_DATE)) {
+            throw new BadRequestException("from must not be before " + MIN_DATE);
+        }
+
+        List<CompletableFuture<List<FlowBucket>>> chunks = new ArrayList<>();
+        for (LocalDate chunkFrom = fromDate; !chunkFrom.isAfter(toDate); ) {
+            LocalDate chunkTo = chunkEnd(granularity, chunkFrom, toDate);
+            LocalDate start = chunkFrom;
+            chunks.add(CompletableFuture.supplyAsync(() -> query(granularity, start, chunkTo, userId), executor));
+            chunkFrom = chunkTo.plusDays(1);
+        }
+
+        List<FlowBucketResponseDTO> buckets = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<FlowBucket>> chunk : chunks) {
+                for (FlowBucket bucket : chunk.join()) {
+                    buckets.add(FlowBucketResponseDTO.builder()
+                        .bucketStart(bucket.getBucket())
+                        .totalDeposit(bucket.getTotalDeposit())
+                        .totalWithdraw(bucket.getTotalWithdraw())
+                        .depositCount(bucket.getDepositCount())
+                        .withdrawCount(bucket.getWithdrawCount())
+                        .build());
+                }
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        return ApiResponse.success("Flow analytics retrieved successfully", buckets);
+    }
+
+    private List<FlowBucket> query(GranularityEnum granularity, LocalDate from, LocalDate to, UUID userId) {
+        if (userId != null) {
+            return summaryRepository.findFlowBucketsByUserId(userId, granularity.name(), from, to);
+        }
+        return flowSummaryRepository.findFlowBuckets(granularity.name(), from, to);
+    }
+
+    // Akhir chunk dibulatkan ke akhir bucket, supaya satu bucket tidak terbelah di dua chunk
+    private LocalDate chunkEnd(GranularityEnum granularity, LocalDate chunkFrom, LocalDate to) {
+        if (ChronoUnit.DAYS.between(chunkFrom, to) < chunkDays) {
+            return to;
+        }
+        LocalDate end = chunkFrom.plusDays(chunkDays - 1L);
+        LocalDate bucketEnd = switch (granularity) {
+            case day -> end;
+            case week -> end.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case month -> end.with(TemporalAdjusters.lastDayOfMonth());
+        };
+        return bucketEnd.isAfter(to) ? to : bucketEnd;
+    }
+}
@@ -0,0 +1,92 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adisaputera.savingapp.dto.response.AccountBalanceResponseDTO;
+import com.adisaputera.savingapp.model.AccountBalanceCheckpoint;
+import com.adisaputera.savingapp.repository.AccountBalanceCheckpointRepository;
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.projection.BalanceDelta;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Point-in-time balances from end-of-day checkpoints. A query reads the latest checkpoint
+ * before the requested day and adds the transactions between that checkpoint and the
+ * requested time: two index lookups, at most about one day of rows, for any history length.
+ *
+ * Checkpoints are built by a background job, incrementally from each account's latest
+ * checkpoint. Back-dated transactions delete the checkpoints they invalidate (trigger in V4).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCheckpointService {
+    // Hari baru dianggap selesai 1 jam setelah tengah malam, sama dengan batas di trigger V4
+    static final Duration SETTLE_TIME = Duration.ofHours(1);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.balance.checkpoint.batch-size:500}")
+    private int batchSize;
+
+    public AccountBalanceResponseDTO balanceAt(String accountCode, LocalDateTime at) {
+        Optional<AccountBalanceCheckpoint> checkpoint = checkpointRepository.findLatestBefore(accountCode, at.toLocalDate());
+        LocalDateTime from = checkpoint.map(c -> c.getId().getCheckpointDate().plusDays(1).atStartOfDay()).orElse(EPOCH);
+        BalanceDelta delta = checkpointRepository.sumBetween(accountCode, from, at);
+
+        long totalDeposit = checkpoint.map(AccountBalanceCheckpoint::getTotalDeposit).orElse(0L) + delta.getTotalDeposit();
+        long totalWithdraw = checkpoint.map(AccountBalanceCheckpoint::getTotalWithdraw).orElse(0L) + delta.getTotalWithdraw();
+        long balance = checkpoint.map(AccountBalanceCheckpoint::getBalance).orElse(0L) + delta.getBalanceChange();
+
+        return AccountBalanceResponseDTO.builder()
+                .accountCode(accountCode)
+                .at(at)
+                .balance(balance)
+                .totalDeposit(totalDeposit)
+                .totalWithdraw(totalWithdraw)
+                .checkpointDate(checkpoint.map(c -> c.getId().getCheckpointDate()).orElse(null))
+                .transactionsAfterCheckpoint(delta.getTransactionCount())
+                .build();
+    }
+
+    /**
+     * Adds the missing checkpoints of every account, a batch of accounts per DB transaction.
+     * Steady state only reads the transactions of the days since the last run.
+     */
+    @Scheduled(fixedDelayString = "${app.balance.checkpoint.interval-ms:600000}",
+            initialDelayString = "${app.balance.checkpoint.initial-delay-ms:60000}")
+    public void buildCheckpoints() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime closedBefore = now.minus(SETTLE_TIME).toLocalDate().atStartOfDay();
+
+        long afterId = 0;
+        long inserted = 0;
+        Long upToId;
+        while ((upToId = accountRepository.findBatchUpperId(afterId, batchSize)) != null) {
+            long from = afterId;
+            long to = upToId;
+            Integer rows = transactionTemplate.execute(status -> {
+                checkpointRepository.lockForBuild();
+                return checkpointRepository.insertDailyCheckpoints(from, to, closedBefore, now);
+            });
+            inserted += rows != null ? rows : 0;
+            afterId = upToId;
+        }
+
+        if (inserted > 0) {
+            log.info("Added {} balance checkpoints for days before {}", inserted, closedBefore.toLocalDate());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adisaputera.savingapp.model.Transaction;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.repository.AccountDailySummaryRepository;
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.DailyFlowSummaryRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains account_daily_summary: every write path adds its transactions to the row of
+ * their account and day inside its own DB transaction, so the summary commits or rolls
+ * back together with the transactions.
+ *
+ * Writes that hold the accounts row lock use shard 0; the hot account fast path only
+ * holds a slot lock and writes a random shard, otherwise all writers of a hot account
+ * would queue on the same summary row until they commit.
+ *
+ * Deposits and withdrawals are also added to daily_flow_summary, the totals of all
+ * accounts per day. Every writer of the day touches it, so each write picks a random one
+ * of flow-shards rows. It is upserted after the account rows, as the last lock a write takes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailySummaryService {
+    private final AccountDailySummaryRepository summaryRepository;
+    private final DailyFlowSummaryRepository flowSummaryRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transaction.daily-summary.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    @Value("${app.transaction.daily-summary.flow-shards:16}")
+    private int flowShards;
+
+    @Value("${app.transaction.daily-summary.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private boolean backfillPending;
+
+    // Dicek sebelum web server menerima request, jadi tabel kosong berarti belum pernah diisi
+    @PostConstruct
+    void checkBackfill() {
+        backfillPending = backfillOnStartup && !summaryRepository.existsAny();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillPending) {
+            return;
+        }
+        backfillPending = false;
+        Thread thread = new Thread(this::backfill, "daily-summary-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Adds one transaction to its day's summary. Must run inside the writer's DB transaction.
+     */
+    public void record(String accountCode, short shard, TypeTransactionEnum type, long amount, long balanceAfter, LocalDateTime occurredAt) {
+        Movement movement = new Movement();
+        movement.add(type, amount, balanceAfter, occurredAt);
+        upsert(accountCode, occurredAt.toLocalDate(), shard, movement);
+        upsertFlows(Map.of(occurredAt.toLocalDate(), movement));
+    }
+
+    /**
+     * Adds transactions written under their accounts row locks (batch, transfer, locked
+     * mode) with one upsert per account and day. Must run inside the writer's DB transaction.
+     */
+    public void recordAll(List<Transaction> transactions) {
+        Map<DayKey, Movement> movements = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            DayKey key = new DayKey(transaction.getAccountCode().getAccountCode(), transaction.getOccurredAt().toLocalDate());
+            movements.computeIfAbsent(key, k -> new Movement())
+                .add(transaction.getType(), transaction.getAmount(), transaction.getBalance(), transaction.getOccurredAt());
+        }
+        movements.forEach((key, movement) -> upsert(key.accountCode(), key.date(), (short) 0, movement));
+
+        Map<LocalDate, Movement> flows = new TreeMap<>();
+        movements.forEach((key, movement) -> flows.computeIfAbsent(key.date(), date -> new Movement()).add(movement));
+        upsertFlows(flows);
+    }
+
+    /**
+     * Removes the account's days from daily_flow_summary before the account (and with it its
+     * summary rows) is deleted. Must run inside the deleting DB transaction, with the
+     * accounts row locked so no write of the account can commit in between.
+     */
+    public void recordAccountDeleted(String accountCode) {
+        flowSummaryRepository.subtractAccount(accountCode, (short) ThreadLocalRandom.current().nextInt(flowShards));
+    }
+
+    /**
+     * Rebuilds the summary of every account from its transactions, a batch of accounts per
+     * DB transaction. The batch's accounts rows are locked first, which waits for and then
+     * blocks every writer of those accounts (hot account writers included), so no write can
+     * commit between the rebuild's read of transactions and its insert. daily_flow_summary
+     * is then rebuilt from the account rows under a table lock, which holds back the flow
+     * upserts (and so the commits) of all writers for that one statement. Safe to run again.
+     */
+    public void backfill() {
+        long startedAt = System.currentTimeMillis();
+        long afterId = 0;
+        long inserted = 0;
+        Long upToId;
+        while ((upToId = accountRepository.findBatchUpperId(afterId, backfillBatchSize)) != null) {
+            long from = afterId;
+            long to = upToId;
+            Integer rows = transactionTemplate.execute(status -> {
+                accountRepository.lockIdRange(from, to);
+                summaryRepository.deleteForAccounts(from, to);
+                return summaryRepository.insertFromTransactions(from, to);
+            });
+            inserted += rows != null ? rows : 0;
+            afterId = upToId;
+        }
+
+        Integer flowDays = transactionTemplate.execute(status -> {
+            flowSummaryRepository.lockForRebuild();
+            flowSummaryRepository.deleteAllRows();
+            return flowSummaryRepository.insertFromAccountSummaries();
+        });
+        log.info("Rebuilt {} daily summary rows and {} daily flow rows in {} ms", inserted, flowDays, System.currentTimeMillis() - startedAt);
+    }
+
+    private void upsert(String accountCode, LocalDate date, short shard, Movement movement) {
+        summaryRepository.upsert(accountCode, date, shard, movement.deposit, movement.withdraw, movement.transferIn,
+            movement.transferOut, movement.count, movement.depositCount, movement.withdrawCount,
+            movement.closingBalance, movement.lastOccurredAt);
+    }
+
+    // Urut tanggal dan satu shard untuk semua hari, jadi dua writer tidak saling menunggu
+    private void upsertFlows(Map<LocalDate, Movement> flows) {
+        short shard = (short) ThreadLocalRandom.current().nextInt(flowShards);
+        flows.forEach((date, movement) -> {
+            if (movement.depositCount + movement.withdrawCount > 0) {
+                flowSummaryRepository.upsert(date, shard, movement.deposit, movement.withdraw,
+                    movement.depositCount, movement.withdrawCount);
+            }
+        });
+    }
+
+    private record DayKey(String accountCode, LocalDate date) {
+    }
+
+    private static final class Movement {
+        private long deposit;
+        private long withdraw;
+        private long transferIn;
+        private long transferOut;
+        private int count;
+        private int depositCount;
+        private int withdrawCount;
+        private long closingBalance;
+        private LocalDateTime lastOccurredAt;
+
+        private void add(TypeTransactionEnum type, long amount, long balanceAfter, LocalDateTime occurredAt) {
+            switch (type) {
+                case deposit -> {
+                    deposit += amount;
+                    depositCount++;
+                }
+                case withdraw -> {
+                    withdraw += amount;
+                    withdrawCount++;
+                }
+                case transfer_in -> transferIn += amount;
+                case transfer_out -> transferOut += amount;
+            }
+            count++;
+            if (lastOccurredAt == null || !occurredAt.isBefore(lastOccurredAt)) {
+                closingBalance = balanceAfter;
+                lastOccurredAt = occurredAt;
+            }
+        }
+
+        // Untuk flow harian, saldo penutup tidak dipakai
+        private void add(Movement other) {
+            deposit += other.deposit;
+            withdraw += other.withdraw;
+            depositCount += other.depositCount;
+            withdrawCount += other.withdrawCount;
+        }
+    }
+}
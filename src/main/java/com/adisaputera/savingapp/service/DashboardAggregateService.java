@@ -0,0 +1,255 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adisaputera.savingapp.dto.response.AdminDashboardResponseDTO;
+import com.adisaputera.savingapp.model.DashboardAggregate;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.repository.DashboardAggregateRepository;
+import com.adisaputera.savingapp.repository.projection.DashboardTotals;
+import com.adisaputera.savingapp.util.CommitOrderedChanges;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Global totals of the admin dashboard, kept in memory and read in O(1).
+ *
+ * Write paths record their change inside their DB transaction; the change is added to the
+ * counters after that transaction commits, so rolled back writes never count. The single
+ * dashboard_aggregates row is a periodic copy used to start from after a restart, and a
+ * reconciliation job recomputes the totals from the source tables to correct any drift
+ * (writes that bypass this service, a crash before the last copy).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardAggregateService {
+    private final DashboardAggregateRepository dashboardAggregateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongAdder totalNasabah = new LongAdder();
+    private final LongAdder totalAccountActive = new LongAdder();
+    private final LongAdder totalAccountInactive = new LongAdder();
+    private final LongAdder totalDeposit = new LongAdder();
+    private final LongAdder totalWithdraw = new LongAdder();
+    private final LongAdder totalBalance = new LongAdder();
+
+    private CommitOrderedChanges<Delta> tracker;
+
+    // Naik setiap ada delta, untuk tahu apakah row perlu ditulis ulang
+    private final AtomicLong changes = new AtomicLong();
+    private long storedChanges;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void init() {
+        tracker = new CommitOrderedChanges<>("Dashboard aggregate", Delta::new, delta -> {
+            if (!delta.isEmpty()) {
+                apply(delta);
+            }
+        }, transactionManager, jdbcTemplate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        DashboardAggregate row = dashboardAggregateRepository.findById(DashboardAggregate.ID)
+            .orElseThrow(() -> new IllegalStateException("dashboard_aggregates row is missing"));
+
+        // Delta yang sudah masuk sebelum load tetap dihitung, nilai row ditambahkan di atasnya
+        apply(new Delta(row.getTotalNasabah(), row.getTotalAccountActive(), row.getTotalAccountInactive(),
+            row.getTotalDeposit(), row.getTotalWithdraw(), row.getTotalBalance()));
+        loaded = true;
+        log.info("Loaded dashboard aggregates stored at {}", row.getUpdatedAt());
+    }
+
+    public AdminDashboardResponseDTO current() {
+        return AdminDashboardResponseDTO.builder()
+            .totalNasabah(totalNasabah.sum())
+            .totalAccountActive(totalAccountActive.sum())
+            .totalAccountInactive(totalAccountInactive.sum())
+            .totalDeposit(totalDeposit.sum())
+            .totalWithdraw(totalWithdraw.sum())
+            .totalBalance(totalBalance.sum())
+            .build();
+    }
+
+    /**
+     * Number of changes applied to the counters so far; moves on every committed delta and
+     * every reconciliation correction.
+     */
+    public long version() {
+        return changes.get();
+    }
+
+    /**
+     * Deposit or withdraw. Transfers move balance between accounts and do not change any
+     * total, so they are ignored.
+     */
+    public void recordTransaction(TypeTransactionEnum type, long amount) {
+        Delta delta = pending();
+        if (type == TypeTransactionEnum.deposit) {
+            delta.deposit += amount;
+            delta.balance += amount;
+        } else if (type == TypeTransactionEnum.withdraw) {
+            delta.withdraw += amount;
+            delta.balance -= amount;
+        }
+    }
+
+    public void recordAccountCreated(boolean active) {
+        Delta delta = pending();
+        if (active) {
+            delta.accountActive++;
+        } else {
+            delta.accountInactive++;
+        }
+    }
+
+    public void recordAccountStatusChanged(boolean wasActive, boolean active) {
+        if (wasActive == active) {
+            return;
+        }
+        Delta delta = pending();
+        delta.accountActive += active ? 1 : -1;
+        delta.accountInactive += active ? -1 : 1;
+    }
+
+    // Nilai efektif account (row + slot) yang hilang bersama account
+    public void recordAccountDeleted(boolean active, long deposit, long withdraw, long balance) {
+        Delta delta = pending();
+        if (active) {
+            delta.accountActive--;
+        } else {
+            delta.accountInactive--;
+        }
+        delta.deposit -= deposit;
+        delta.withdraw -= withdraw;
+        delta.balance -= balance;
+    }
+
+    public void recordNasabahCreated() {
+        pending().nasabah++;
+    }
+
+    public void recordNasabahDeleted() {
+        pending().nasabah--;
+    }
+
+    /**
+     * Copies the counters into dashboard_aggregates when they changed since the last copy.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.aggregate.store-interval-ms:5000}")
+    public synchronized void store() {
+        long version = changes.get();
+        if (!loaded || version == storedChanges) {
+            return;
+        }
+
+        AdminDashboardResponseDTO totals = current();
+        transactionTemplate.executeWithoutResult(status -> dashboardAggregateRepository.store(
+            totals.getTotalNasabah(),
+            totals.getTotalAccountActive(),
+            totals.getTotalAccountInactive(),
+            totals.getTotalDeposit(),
+            totals.getTotalWithdraw(),
+            totals.getTotalBalance(),
+            LocalDateTime.now()));
+        storedChanges = version;
+    }
+
+    @PreDestroy
+    public void storeOnShutdown() {
+        store();
+    }
+
+    /**
+     * Recomputes the totals from users, accounts and account_balance_slots and adds the
+     * difference to the counters. The DB snapshot is taken while no write is between its
+     * commit and its counter update, so the counters and the snapshot cover the same commits
+     * and concurrent writes are not mistaken for drift.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.aggregate.reconcile-interval-ms:600000}",
+            initialDelayString = "${app.dashboard.aggregate.reconcile-initial-delay-ms:30000}")
+    public void reconcile() {
+        if (!loaded) {
+            return;
+        }
+
+        Delta drift = tracker.snapshot(this::current, counted -> {
+            DashboardTotals actual = dashboardAggregateRepository.computeTotals();
+            return new Delta(
+                actual.getTotalNasabah() - counted.getTotalNasabah(),
+                actual.getTotalAccountActive() - counted.getTotalAccountActive(),
+                actual.getTotalAccountInactive() - counted.getTotalAccountInactive(),
+                actual.getTotalDeposit() - counted.getTotalDeposit(),
+                actual.getTotalWithdraw() - counted.getTotalWithdraw(),
+                actual.getTotalBalance() - counted.getTotalBalance());
+        });
+
+        if (drift != null && !drift.isEmpty()) {
+            apply(drift);
+            log.warn("Corrected dashboard aggregate drift: {}", drift);
+        }
+    }
+
+    // Delta milik transaksi DB yang sedang berjalan, dibuat saat pertama dipakai
+    private Delta pending() {
+        return tracker.record();
+    }
+
+    private void apply(Delta delta) {
+        totalNasabah.add(delta.nasabah);
+        totalAccountActive.add(delta.accountActive);
+        totalAccountInactive.add(delta.accountInactive);
+        totalDeposit.add(delta.deposit);
+        totalWithdraw.add(delta.withdraw);
+        totalBalance.add(delta.balance);
+        changes.incrementAndGet();
+    }
+
+    private static final class Delta {
+        private long nasabah;
+        private long accountActive;
+        private long accountInactive;
+        private long deposit;
+        private long withdraw;
+        private long balance;
+
+        private Delta() {
+        }
+
+        private Delta(long nasabah, long accountActive, long accountInactive, long deposit, long withdraw, long balance) {
+            this.nasabah = nasabah;
+            this.accountActive = accountActive;
+            this.accountInactive = accountInactive;
+            this.deposit = deposit;
+            this.withdraw = withdraw;
+            this.balance = balance;
+        }
+
+        private boolean isEmpty() {
+            return nasabah == 0 && accountActive == 0 && accountInactive == 0 && deposit == 0 && withdraw == 0 && balance == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "nasabah=" + nasabah + ", accountActive=" + accountActive + ", accountInactive=" + accountInactive
+                + ", deposit=" + deposit + ", withdraw=" + withdraw + ", balance=" + balance;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.adisaputera.savingapp.dto.response.NasabahDashboardResponseDTO;
+import com.adisaputera.savingapp.event.AccountChangedEvent;
+import com.adisaputera.savingapp.event.TransactionsWrittenEvent;
+import com.adisaputera.savingapp.util.BoundedTtlCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Result cache for the nasabah dashboard, keyed by user and filters. Entries are evicted
+ * after commit by the events of writes that change them: transactions on one of the
+ * entry's accounts, or account changes of its user. Entries are tagged with their user and
+ * accounts, so an eviction only touches the entries it hits. The TTL only bounds memory use.
+ *
+ * A load that overlaps such a write may have read the state before it. Every write bumps
+ * a generation stripe of its account and user; a load is only stored when the stripes of
+ * its user and its accounts did not move while it ran.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardCacheService {
+    private static final int STRIPES = 1024;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.dashboard.cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${app.dashboard.cache.ttl-sec:300}")
+    private long ttlSec;
+
+    private BoundedTtlCache<Key, NasabahDashboardResponseDTO> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private Counter hits;
+    private Counter misses;
+    private Timer loadTimer;
+
+    public record Key(UUID userId, String accountCode, LocalDate from, LocalDate to, Boolean status) {
+    }
+
+    public record Loaded(NasabahDashboardResponseDTO dashboard, Set<String> accountCodes) {
+    }
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedTtlCache<>(cacheSize, ttlSec * 1000);
+
+        hits = Counter.builder("savingapp.dashboard.cache.requests").tag("result", "hit")
+                .description("Nasabah dashboard requests by cache result")
+                .register(meterRegistry);
+        misses = Counter.builder("savingapp.dashboard.cache.requests").tag("result", "miss")
+                .description("Nasabah dashboard requests by cache result")
+                .register(meterRegistry);
+        loadTimer = Timer.builder("savingapp.dashboard.cache.load")
+                .description("Time to compute a nasabah dashboard on a cache miss")
+                .register(meterRegistry);
+        Gauge.builder("savingapp.dashboard.cache.hit_ratio", this, DashboardCacheService::hitRatio)
+                .description("Share of nasabah dashboard requests answered from the cache")
+                .register(meterRegistry);
+        Gauge.builder("savingapp.dashboard.cache.size", this, service -> service.cache.size())
+                .description("Cached nasabah dashboards")
+                .register(meterRegistry);
+    }
+
+    public NasabahDashboardResponseDTO get(Key key, Supplier<Loaded> loader) {
+        NasabahDashboardResponseDTO cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        long[] before = snapshot();
+        long startedAt = System.nanoTime();
+        Loaded loaded = loader.get();
+        loadTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (unchanged(before, key.userId(), loaded.accountCodes())) {
+            // Tag user dan account: write yang datang setelah ini menemukan entry lewat index
+            List<Object> tags = new ArrayList<>(loaded.accountCodes());
+            tags.add(key.userId());
+            cache.put(key, loaded.dashboard(), tags);
+            // Write yang bump di antara cek dan put belum menemukan entry ini
+            if (!unchanged(before, key.userId(), loaded.accountCodes())) {
+                cache.remove(key);
+            }
+        }
+        return loaded.dashboard();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsWritten(TransactionsWrittenEvent event) {
+        for (String accountCode : event.accountCodes()) {
+            bump(accountCode);
+            cache.removeTagged(accountCode);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        bump(event.userId());
+        bump(event.accountCode());
+        cache.removeTagged(event.userId());
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private void bump(Object scope) {
+        generations.incrementAndGet(stripe(scope));
+    }
+
+    private long[] snapshot() {
+        long[] snapshot = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            snapshot[i] = generations.get(i);
+        }
+        return snapshot;
+    }
+
+    private boolean unchanged(long[] before, UUID userId, Set<String> accountCodes) {
+        if (generations.get(stripe(userId)) != before[stripe(userId)]) {
+            return false;
+        }
+        for (String accountCode : accountCodes) {
+            if (generations.get(stripe(accountCode)) != before[stripe(accountCode)]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int stripe(Object scope) {
+        int hash = scope.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,283 @@
+package com.adisaputera.savingapp.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.adisaputera.savingapp.dto.response.AdminDashboardResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-Sent Events feed of the admin dashboard totals.
+ *
+ * One thread checks the version of the in-memory counters every interval. When it moved,
+ * the totals are read and serialized once and the same frame is handed to every
+ * subscriber, so writes are coalesced to at most one frame per interval and the number of
+ * open dashboards costs no DB work at all. Idle streams get a comment line every
+ * heartbeat, which also detects clients that went away.
+ *
+ * Frames are written by a fixed pool of sender threads, at most one write per subscriber
+ * at a time. A frame that arrives while the previous one is still being written replaces
+ * any frame still waiting, since each frame carries the full totals. A subscriber whose
+ * write takes longer than the send timeout is dropped, so a slow client never holds back
+ * the others or the tick.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardStreamService {
+    private static final String EVENT_NAME = "dashboard";
+
+    private final DashboardAggregateService dashboardAggregateService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.dashboard.stream.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${app.dashboard.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${app.dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.dashboard.stream.senders:4}")
+    private int senderCount;
+
+    @Value("${app.dashboard.stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+    private Counter frames;
+    private Counter dropped;
+
+    // Hanya diakses thread scheduler
+    private long sentVersion = -1;
+    private String sentFrame;
+    private long lastWriteAt;
+
+    @PostConstruct
+    public void init() {
+        frames = Counter.builder("savingapp.dashboard.stream.frames")
+                .description("Admin dashboard frames fanned out to the stream subscribers")
+                .register(meterRegistry);
+        dropped = Counter.builder("savingapp.dashboard.stream.dropped")
+                .description("Admin dashboard streams dropped because a write took longer than the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("savingapp.dashboard.stream.subscribers", subscribers, List::size)
+                .description("Open admin dashboard streams")
+                .register(meterRegistry);
+
+        senders = Executors.newFixedThreadPool(senderCount, daemonThreads("dashboard-stream-sender"));
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("dashboard-stream"));
+        scheduler.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Opens a stream that starts with the current totals.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        // Frame pertama langsung dari counter, subscriber baru tidak menunggu perubahan berikutnya
+        long version = dashboardAggregateService.version();
+        try {
+            emitter.send(frame(version, serialize(dashboardAggregateService.current())));
+        } catch (IOException ex) {
+            emitter.completeWithError(ex);
+            return emitter;
+        }
+
+        Subscriber subscriber = new Subscriber(emitter, version);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void tick() {
+        try {
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            dropStalled();
+
+            long version = dashboardAggregateService.version();
+            if (version != sentVersion) {
+                String data = serialize(dashboardAggregateService.current());
+                sentVersion = version;
+                // Delta yang saling meniadakan tidak perlu dikirim
+                if (!data.equals(sentFrame)) {
+                    sentFrame = data;
+                    broadcast(frame(version, data), version);
+                    frames.increment();
+                    return;
+                }
+            }
+
+            if (System.currentTimeMillis() - lastWriteAt >= heartbeatMs) {
+                broadcast(SseEmitter.event().comment("heartbeat"), Long.MAX_VALUE);
+            }
+        } catch (RuntimeException ex) {
+            // Exception di sini akan menghentikan jadwal berikutnya
+            log.warn("Dashboard stream tick failed", ex);
+        }
+    }
+
+    // Subscriber yang frame pertamanya sudah berisi versi ini dilewati
+    private void broadcast(SseEmitter.SseEventBuilder event, long version) {
+        lastWriteAt = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.joinedAt < version) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                subscriber.drop(new TimeoutException("Dashboard stream write took longer than " + sendTimeoutMs + " ms"));
+                dropped.increment();
+            }
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final long joinedAt;
+        // Frame terbaru yang belum dikirim; frame yang masih menunggu diganti, tidak diantre
+        private final AtomicReference<SseEmitter.SseEventBuilder> next = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long sendingSince;
+        private volatile Future<?> sending;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long joinedAt) {
+            this.emitter = emitter;
+            this.joinedAt = joinedAt;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            next.set(event);
+            schedule();
+        }
+
+        // Paling banyak satu send per subscriber yang antre atau berjalan
+        private void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sending = senders.submit(this::drain);
+            } catch (RejectedExecutionException ex) {
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = next.getAndSet(null)) != null) {
+                    sendingSince = System.nanoTime();
+                    emitter.send(event);
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client sudah putus, atau send dihentikan karena terlalu lama
+                drop(ex);
+            } finally {
+                sendingSince = 0;
+                scheduled.set(false);
+            }
+            if (closed) {
+                emitter.complete();
+            } else if (next.get() != null) {
+                // Frame yang masuk setelah loop selesai, sebelum flag dilepas
+                schedule();
+            }
+        }
+
+        // Tidak menunggu send yang macet: thread sender-nya diinterupsi dan menutup emitter sendiri
+        private void drop(Exception cause) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            Future<?> current = sending;
+            if (current != null && sendingSince != 0) {
+                current.cancel(true);
+            } else {
+                emitter.completeWithError(cause);
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder frame(long version, String data) {
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .id(Long.toString(version))
+                .data(data, MediaType.APPLICATION_JSON);
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private String serialize(AdminDashboardResponseDTO dashboard) {
+        try {
+            return objectMapper.writeValueAsString(dashboard);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize admin dashboard", ex);
+        }
+    }
+}
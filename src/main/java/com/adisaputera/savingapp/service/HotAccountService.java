@@ -0,0 +1,287 @@
+package com.adisaputera.savingapp.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.ResourceNotFoundException;
+import com.adisaputera.savingapp.model.Account;
+import com.adisaputera.savingapp.model.AccountBalanceSlot;
+import com.adisaputera.savingapp.model.AccountBalanceSlotId;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.repository.AccountBalanceSlotRepository;
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.projection.HotAccount;
+import com.adisaputera.savingapp.repository.projection.SlotTotals;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in sharded balance for hot accounts. The balance and deposit/withdraw totals of a
+ * hot account are split across N rows in account_balance_slots; its effective value is
+ * the accounts row plus the sum of all slots. Deposits touch one random slot, so
+ * concurrent deposits on the same account only contend when they pick the same slot.
+ *
+ * Lock order is always accounts row first, then slots in slot order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotAccountService {
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSlotRepository accountBalanceSlotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.account.hot-slots.max:64}")
+    private int maxSlots;
+
+    // accountCode -> jumlah slot, hanya berisi account yang sedang hot
+    private final Map<String, Integer> hotAccounts = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHotAccounts() {
+        for (HotAccount hotAccount : accountRepository.findAllHotAccounts()) {
+            hotAccounts.put(hotAccount.getAccountCode(), hotAccount.getHotSlots());
+        }
+        if (!hotAccounts.isEmpty()) {
+            log.info("Loaded {} hot accounts", hotAccounts.size());
+        }
+    }
+
+    public boolean isHot(String accountCode) {
+        return accountCode != null && hotAccounts.containsKey(accountCode);
+    }
+
+    /**
+     * Shard of account_daily_summary for a write that does not hold the accounts row lock:
+     * a random one of 1..slots for hot accounts, 0 otherwise.
+     */
+    public short summaryShard(String accountCode) {
+        Integer slots = accountCode != null ? hotAccounts.get(accountCode) : null;
+        return slots != null ? (short) (ThreadLocalRandom.current().nextInt(slots) + 1) : 0;
+    }
+
+    /**
+     * Split the account over the given number of slots, or go back to a single row when
+     * slots is 0. Existing slot values are folded into the accounts row first, so the
+     * effective balance never changes.
+     */
+    public void configureSlots(String accountCode, int slots) {
+        if (slots < 0 || slots > maxSlots) {
+            throw new BadRequestException("Hot slots must be between 0 and " + maxSlots);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Account account = accountRepository.findByAccountCodeForUpdate(accountCode)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "accountCode", accountCode));
+
+            List<AccountBalanceSlot> existing = accountBalanceSlotRepository.findAllByAccountCodeForUpdate(accountCode);
+            fold(account, existing);
+            accountBalanceSlotRepository.deleteAll(existing);
+            accountBalanceSlotRepository.flush();
+
+            List<AccountBalanceSlot> created = new ArrayList<>(slots);
+            for (int slot = 0; slot < slots; slot++) {
+                created.add(AccountBalanceSlot.builder()
+                    .id(new AccountBalanceSlotId(accountCode, slot))
+                    .balance(0L)
+                    .totalDeposit(0L)
+                    .totalWithdraw(0L)
+                    .build());
+            }
+            accountBalanceSlotRepository.saveAll(created);
+            account.setHotSlots(slots > 0 ? slots : null);
+            accountRepository.save(account);
+
+            // Set in-memory baru diubah setelah commit
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (slots > 0) {
+                        hotAccounts.put(accountCode, slots);
+                    } else {
+                        hotAccounts.remove(accountCode);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Fold the slots of a locked account that is about to be deleted into its accounts
+     * row and remove them. Must run inside the caller's DB transaction; the account stops
+     * being hot in memory only after that transaction commits.
+     */
+    public void discardSlots(Account lockedAccount) {
+        String accountCode = lockedAccount.getAccountCode();
+        // Baris slot selalu dihapus, juga kalau set in-memory tidak tahu account ini hot
+        List<AccountBalanceSlot> slots = accountBalanceSlotRepository.findAllByAccountCodeForUpdate(accountCode);
+        fold(lockedAccount, slots);
+        accountBalanceSlotRepository.deleteAll(slots);
+
+        // Set in-memory baru diubah setelah commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotAccounts.remove(accountCode);
+            }
+        });
+    }
+
+    /**
+     * Apply a deposit or withdraw on a hot account to one random slot and return the new
+     * effective balance. Must run inside the caller's DB transaction. When the write does
+     * not fit in that slot, {@link BorrowRequiredException} is thrown and the caller must
+     * roll back and retry with {@link #applyLocked} in a new transaction: this transaction
+     * holds a key-share lock on the accounts row, and upgrading it to the row lock the
+     * borrow needs deadlocks with a concurrent borrow doing the same.
+     */
+    public long apply(CreateTransactionRequestDTO request) {
+        String accountCode = request.getAccountCode();
+        long amount = request.getAmount();
+        boolean deposit = request.getType() == TypeTransactionEnum.deposit;
+
+        // Key-share lock menahan delete account; urutan lock tetap account dulu, lalu slot
+        Optional<Boolean> activeOpt = accountRepository.findIsActiveForKeyShare(accountCode);
+        if (activeOpt.isEmpty()) {
+            throw new ResourceNotFoundException("Account", "accountCode", accountCode);
+        }
+        if (!activeOpt.get()) {
+            throw new BadRequestException("Account " + accountCode + " is not active");
+        }
+
+        Integer slots = hotAccounts.get(accountCode);
+        if (slots != null) {
+            int slot = ThreadLocalRandom.current().nextInt(slots);
+            Optional<Long> slotBalance = accountBalanceSlotRepository.applySlotChange(
+                accountCode,
+                slot,
+                deposit ? amount : -amount,
+                deposit ? amount : 0L,
+                deposit ? 0L : amount);
+            if (slotBalance.isPresent()) {
+                // Snapshot dari nilai slot yang sudah commit, deposit paralel di slot lain bisa belum terlihat
+                return accountBalanceSlotRepository.findEffectiveBalance(accountCode);
+            }
+        }
+
+        throw new BorrowRequiredException(accountCode);
+    }
+
+    /**
+     * Move all slot values of a locked account back into its accounts row, so callers
+     * that work on the account entity (batch, transfer, locked mode) see the full balance.
+     */
+    public void foldIntoBase(Account lockedAccount) {
+        if (!isHot(lockedAccount.getAccountCode())) {
+            return;
+        }
+        fold(lockedAccount, accountBalanceSlotRepository.findAllByAccountCodeForUpdate(lockedAccount.getAccountCode()));
+    }
+
+    /**
+     * Slot sums for the hot accounts among the given accounts, keyed by account code.
+     * Accounts that are not hot cost no query.
+     */
+    public Map<String, SlotTotals> slotTotals(Collection<Account> accounts) {
+        return slotTotalsByCode(accounts.stream().map(Account::getAccountCode).toList());
+    }
+
+    // Untuk read path projection: cukup account code, query slot hanya kalau ada hot account
+    public Map<String, SlotTotals> slotTotalsByCode(Collection<String> accountCodes) {
+        List<String> hotCodes = accountCodes.stream()
+            .filter(this::isHot)
+            .toList();
+        if (hotCodes.isEmpty()) {
+            return Map.of();
+        }
+        return accountBalanceSlotRepository.sumByAccountCodes(hotCodes).stream()
+            .collect(Collectors.toMap(SlotTotals::getAccountCode, Function.identity()));
+    }
+
+    public SlotTotals slotTotalsAll() {
+        return accountBalanceSlotRepository.sumAll();
+    }
+
+    /**
+     * Apply a deposit or withdraw on a hot account under the row locks of the accounts row
+     * and all its slots, borrowing across them for a withdraw that no single slot covers.
+     * Must run inside the caller's DB transaction, before any other lock on the account.
+     */
+    public long applyLocked(CreateTransactionRequestDTO request) {
+        String accountCode = request.getAccountCode();
+        long amount = request.getAmount();
+        boolean deposit = request.getType() == TypeTransactionEnum.deposit;
+
+        Account account = accountRepository.findByAccountCodeForUpdate(accountCode)
+            .orElseThrow(() -> new ResourceNotFoundException("Account", "accountCode", accountCode));
+        if (!account.getIsActive()) {
+            throw new BadRequestException("Account " + accountCode + " is not active");
+        }
+
+        List<AccountBalanceSlot> slots = accountBalanceSlotRepository.findAllByAccountCodeForUpdate(accountCode);
+        long available = account.getBalance();
+        for (AccountBalanceSlot slot : slots) {
+            available += slot.getBalance();
+        }
+
+        if (deposit) {
+            account.setBalance(account.getBalance() + amount);
+            account.setTotalDeposit(account.getTotalDeposit() + amount);
+            return available + amount;
+        }
+
+        if (available < amount) {
+            throw new BadRequestException("Withdrawal rejected: Insufficient balance. Current balance: " + available + ", Requested amount: " + amount);
+        }
+
+        // Pinjam dari slot berurutan, sisanya dari row account
+        long remaining = amount;
+        for (AccountBalanceSlot slot : slots) {
+            long take = Math.min(slot.getBalance(), remaining);
+            slot.setBalance(slot.getBalance() - take);
+            remaining -= take;
+        }
+        account.setBalance(account.getBalance() - remaining);
+        account.setTotalWithdraw(account.getTotalWithdraw() + amount);
+        return available - amount;
+    }
+
+    /**
+     * The write did not fit in a slot and has to go through {@link #applyLocked} in a new
+     * transaction.
+     */
+    public static class BorrowRequiredException extends RuntimeException {
+        public BorrowRequiredException(String accountCode) {
+            super("Write on hot account " + accountCode + " needs the locked path");
+        }
+    }
+
+    private static void fold(Account account, List<AccountBalanceSlot> slots) {
+        for (AccountBalanceSlot slot : slots) {
+            account.setBalance(account.getBalance() + slot.getBalance());
+            account.setTotalDeposit(account.getTotalDeposit() + slot.getTotalDeposit());
+            account.setTotalWithdraw(account.getTotalWithdraw() + slot.getTotalWithdraw());
+            slot.setBalance(0L);
+            slot.setTotalDeposit(0L);
+            slot.setTotalWithdraw(0L);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.DuplicateResourceException;
+import com.adisaputera.savingapp.exception.InternalServerErrorException;
+import com.adisaputera.savingapp.model.IdempotencyKey;
+import com.adisaputera.savingapp.repository.IdempotencyKeyRepository;
+import com.adisaputera.savingapp.util.BoundedTtlCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl-sec:86400}")
+    private long ttlSec;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    private BoundedTtlCache<String, StoredResponse> cache;
+
+    // Request yang sedang diproses per key, duplikat menunggu hasil yang sama
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedTtlCache<>(cacheSize, ttlSec * 1000);
+    }
+
+    /**
+     * Run action at most once per idempotency key. A replay returns the stored response,
+     * a concurrent duplicate waits for the first caller instead of writing again.
+     * The action is expected to call {@link #save} inside its own DB transaction.
+     */
+    public TransactionResponseDTO execute(String key, CreateTransactionRequestDTO request, Supplier<TransactionResponseDTO> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String fingerprint = fingerprint(request);
+        StoredResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached.responseFor(fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> leader = inFlight.putIfAbsent(key, pending);
+        if (leader != null) {
+            return await(leader).responseFor(fingerprint);
+        }
+
+        try {
+            StoredResponse stored = load(key).orElse(null);
+            if (stored == null) {
+                try {
+                    stored = new StoredResponse(fingerprint, action.get());
+                } catch (DataIntegrityViolationException ex) {
+                    // Key sudah disimpan instance lain, pakai response yang tersimpan
+                    stored = load(key).orElseThrow(() -> ex);
+                }
+            }
+
+            cache.put(key, stored);
+            pending.complete(stored);
+            return stored.responseFor(fingerprint);
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Persist the key with its response, replacing an expired row that was not purged yet.
+     * Must run in the same DB transaction as the write it protects so both commit or roll
+     * back together; an unexpired key fails with DataIntegrityViolationException.
+     */
+    public void save(String key, CreateTransactionRequestDTO request, TransactionResponseDTO response) {
+        LocalDateTime now = LocalDateTime.now();
+        int stored;
+        try {
+            stored = idempotencyKeyRepository.insert(
+                key,
+                fingerprint(request),
+                objectMapper.writeValueAsString(response),
+                now,
+                now.plusSeconds(ttlSec));
+        } catch (JsonProcessingException ex) {
+            throw new InternalServerErrorException("Failed to store idempotent response", ex);
+        }
+        // Key masih berlaku di DB (disimpan instance lain), write ini harus di-rollback
+        if (stored == 0) {
+            throw new DataIntegrityViolationException("Idempotency-Key " + key + " is already stored");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Optional<StoredResponse> load(String key) {
+        Optional<IdempotencyKey> keyOpt = idempotencyKeyRepository.findById(key);
+        if (keyOpt.isEmpty() || keyOpt.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+
+        IdempotencyKey stored = keyOpt.get();
+        try {
+            TransactionResponseDTO response = objectMapper.readValue(stored.getResponseBody(), TransactionResponseDTO.class);
+            return Optional.of(new StoredResponse(stored.getRequestFingerprint(), response));
+        } catch (JsonProcessingException ex) {
+            throw new InternalServerErrorException("Failed to read idempotent response", ex);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static String fingerprint(CreateTransactionRequestDTO request) {
+        return request.getAccountCode() + "|" + request.getType() + "|" + request.getAmount() + "|" + Objects.toString(request.getNote(), "");
+    }
+
+    private static final class StoredResponse {
+        private final String fingerprint;
+        private final TransactionResponseDTO response;
+
+        private StoredResponse(String fingerprint, TransactionResponseDTO response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+
+        private TransactionResponseDTO responseFor(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw new DuplicateResourceException("Idempotency-Key has already been used for a different request");
+            }
+            return response;
+        }
+    }
+}
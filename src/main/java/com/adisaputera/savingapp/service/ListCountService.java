@@ -0,0 +1,105 @@
+package com.adisaputera.savingapp.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.adisaputera.savingapp.dto.message.MetadataResponse;
+import com.adisaputera.savingapp.exception.InternalServerErrorException;
+import com.adisaputera.savingapp.util.BoundedTtlCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Totals for list endpoints without running COUNT(*) on every request. Counts are cached
+ * per filter scope and evicted when a write touches that scope; the TTL bounds how long a
+ * count computed concurrently with a write can stay stale.
+ */
+@Service
+@RequiredArgsConstructor
+public class ListCountService {
+    private static final String TRANSACTION_SCOPE = "transaction|";
+    private static final String ACCOUNT_SCOPE = "account|";
+    private static final String NASABAH_SCOPE = "nasabah|";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.pagination.count-cache.size:10000}")
+    private int cacheSize;
+
+    @Value("${app.pagination.count-cache.ttl-sec:60}")
+    private long ttlSec;
+
+    private BoundedTtlCache<String, Long> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new BoundedTtlCache<>(cacheSize, ttlSec * 1000);
+    }
+
+    public long cachedTransactionCount(String accountCode, Object from, Object to, String keyword, Supplier<Long> counter) {
+        return cached(TRANSACTION_SCOPE + accountCode + "|" + from + "|" + to + "|" + keyword, counter);
+    }
+
+    public long cachedAccountCount(Object userId, String keyword, Supplier<Long> counter) {
+        return cached(ACCOUNT_SCOPE + userId + "|" + keyword, counter);
+    }
+
+    public long cachedNasabahCount(String keyword, Supplier<Long> counter) {
+        return cached(NASABAH_SCOPE + keyword, counter);
+    }
+
+    public void evictTransactions(String accountCode) {
+        String prefix = TRANSACTION_SCOPE + accountCode + "|";
+        cache.removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void evictAccounts() {
+        cache.removeIf(key -> key.startsWith(ACCOUNT_SCOPE));
+    }
+
+    public void evictNasabah() {
+        cache.removeIf(key -> key.startsWith(NASABAH_SCOPE));
+    }
+
+    /**
+     * Row estimate from the planner (EXPLAIN, no execution). Cheap on any table size but
+     * only as accurate as the table statistics.
+     */
+    public long estimate(String sql, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException ex) {
+            throw new InternalServerErrorException("Failed to read query plan estimate", ex);
+        }
+    }
+
+    /**
+     * Metadata for a slice, total (in pages) only when an element count is known.
+     */
+    public MetadataResponse metadata(Slice<?> slice, Long totalElements) {
+        return MetadataResponse.builder()
+            .page(slice.getNumber() + 1)
+            .size(slice.getSize())
+            .total(totalElements != null ? (totalElements + slice.getSize() - 1) / slice.getSize() : null)
+            .hasNext(slice.hasNext())
+            .build();
+    }
+
+    private long cached(String key, Supplier<Long> counter) {
+        Long count = cache.get(key);
+        if (count == null) {
+            count = counter.get();
+            cache.put(key, count);
+        }
+        return count;
+    }
+}
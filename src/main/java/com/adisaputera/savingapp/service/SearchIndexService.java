@@ -0,0 +1,215 @@
+package com.adisaputera.savingapp.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.RoleEnum;
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.UserRepository;
+import com.adisaputera.savingapp.repository.projection.AccountDirectoryRow;
+import com.adisaputera.savingapp.repository.projection.UserName;
+import com.adisaputera.savingapp.util.CommitOrderedChanges;
+import com.adisaputera.savingapp.util.TrigramIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory trigram search over account codes (by account id) and nasabah full names (by
+ * user id) for the admin typeahead. A search returns the ids of one page of ranked matches;
+ * callers fetch those rows by primary key.
+ *
+ * Create, rename and delete record their change inside their DB transaction; it is applied
+ * after that transaction commits. The indexes are built on startup and rebuilt periodically
+ * to pick up rows written outside the services. Like the account directory, the rebuild
+ * snapshot is taken while no change is between its commit and its application, and the
+ * changes applied after the snapshot are replayed on the new indexes before they replace
+ * the old ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexService {
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.search.max-per-page:50}")
+    private int maxPerPage;
+
+    @Value("${app.search.max-results:1000}")
+    private int maxResults;
+
+    private volatile TrigramIndex<Long> accounts = new TrigramIndex<>();
+    private volatile TrigramIndex<UUID> nasabah = new TrigramIndex<>();
+
+    private CommitOrderedChanges<Changes> tracker;
+
+    // Dijaga oleh this: perubahan yang diterapkan selama rebuild, diputar ulang di index baru
+    private Changes journal;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void init() {
+        tracker = new CommitOrderedChanges<>("Search index", Changes::new, this::apply, transactionManager, jdbcTemplate);
+        Gauge.builder("savingapp.search.index.size", this, service -> service.accounts.size())
+                .tag("index", "account")
+                .description("Entries in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("savingapp.search.index.size", this, service -> service.nasabah.size())
+                .tag("index", "nasabah")
+                .description("Entries in the in-memory search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        rebuild();
+        loaded = true;
+        log.info("Loaded search index of {} accounts and {} nasabah in {} ms",
+                accounts.size(), nasabah.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.search.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (loaded) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Ids of the accounts whose code matches the query, for one page plus one more id that
+     * only tells whether a next page exists.
+     */
+    public List<Long> searchAccounts(String query, int page, int perPage) {
+        return search(accounts, query, page, perPage);
+    }
+
+    /**
+     * Ids of the nasabah whose full name matches the query, for one page plus one more id
+     * that only tells whether a next page exists.
+     */
+    public List<UUID> searchNasabah(String query, int page, int perPage) {
+        return search(nasabah, query, page, perPage);
+    }
+
+    public void recordAccount(long id, String accountCode) {
+        pending().accounts.put(id, accountCode);
+    }
+
+    public void recordAccountDeleted(long id) {
+        pending().accounts.put(id, null);
+    }
+
+    public void recordNasabah(UUID id, String fullName) {
+        pending().nasabah.put(id, fullName);
+    }
+
+    public void recordNasabahDeleted(UUID id) {
+        pending().nasabah.put(id, null);
+    }
+
+    /**
+     * Builds both indexes from the tables and swaps them in, keeping the changes that were
+     * applied after the snapshot.
+     */
+    public void rebuild() {
+        TrigramIndex<Long> rebuiltAccounts = new TrigramIndex<>();
+        TrigramIndex<UUID> rebuiltNasabah = new TrigramIndex<>();
+        tracker.snapshot(this::startJournal, started -> {
+            Map<Long, String> accountCodes = new HashMap<>();
+            for (AccountDirectoryRow row : accountRepository.findAllDirectoryRows()) {
+                accountCodes.put(row.getId(), row.getAccountCode());
+            }
+            Map<UUID, String> fullNames = new HashMap<>();
+            for (UserName row : userRepository.findAllNamesByRole(RoleEnum.nasabah)) {
+                fullNames.put(row.getId(), row.getFullName());
+            }
+            rebuiltAccounts.putAll(accountCodes);
+            rebuiltNasabah.putAll(fullNames);
+            return null;
+        });
+
+        synchronized (this) {
+            journal.applyTo(rebuiltAccounts, rebuiltNasabah);
+            accounts = rebuiltAccounts;
+            nasabah = rebuiltNasabah;
+            journal = null;
+        }
+    }
+
+    private <K extends Comparable<K>> List<K> search(TrigramIndex<K> index, String query, int page, int perPage) {
+        if (!StringUtils.hasText(query)) {
+            throw new BadRequestException("q must not be empty");
+        }
+        if (perPage < 1 || perPage > maxPerPage) {
+            throw new BadRequestException("perPage must be between 1 and " + maxPerPage);
+        }
+        int pageIndex = page > 0 ? page - 1 : 0;
+        if ((long) (pageIndex + 1) * perPage > maxResults) {
+            throw new BadRequestException("Search results are limited to the first " + maxResults + " matches");
+        }
+        return index.search(query, pageIndex * perPage, perPage + 1);
+    }
+
+    private synchronized Changes startJournal() {
+        journal = new Changes();
+        return journal;
+    }
+
+    private synchronized void apply(Changes changes) {
+        changes.applyTo(accounts, nasabah);
+        if (journal != null) {
+            journal.accounts.putAll(changes.accounts);
+            journal.nasabah.putAll(changes.nasabah);
+        }
+    }
+
+    // Perubahan index di transaksi DB yang sedang berjalan
+    private Changes pending() {
+        return tracker.record();
+    }
+
+    // Teks terbaru per id, null berarti dihapus
+    private static final class Changes {
+        private final Map<Long, String> accounts = new LinkedHashMap<>();
+        private final Map<UUID, String> nasabah = new HashMap<>();
+
+        private void applyTo(TrigramIndex<Long> accountIndex, TrigramIndex<UUID> nasabahIndex) {
+            accounts.forEach((id, accountCode) -> {
+                if (accountCode == null) {
+                    accountIndex.remove(id);
+                } else {
+                    accountIndex.put(id, accountCode);
+                }
+            });
+            nasabah.forEach((id, fullName) -> {
+                if (fullName == null) {
+                    nasabahIndex.remove(id);
+                } else {
+                    nasabahIndex.put(id, fullName);
+                }
+            });
+        }
+    }
+}
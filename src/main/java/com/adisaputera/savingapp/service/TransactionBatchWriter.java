@@ -0,0 +1,203 @@
+package com.adisaputera.savingapp.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.BatchItemResponseDTO;
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.Account;
+import com.adisaputera.savingapp.model.Transaction;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.repository.AccountRepository;
+import com.adisaputera.savingapp.repository.TransactionRepository;
+import com.adisaputera.savingapp.util.StripedLock;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchWriter {
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final StripedLock accountWriteLock;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final HotAccountService hotAccountService;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final AccountRankingService accountRankingService;
+    private final DailySummaryService dailySummaryService;
+
+    @Value("${app.transaction.striped-lock-enabled:true}")
+    private boolean stripedLockEnabled;
+
+    /**
+     * Apply a list of transaction requests in one DB transaction. Items are applied in
+     * order with running balances; a failing item is reported and skipped without
+     * aborting the rest.
+     */
+    public List<BatchItemResponseDTO<TransactionResponseDTO>> write(List<CreateTransactionRequestDTO> items) {
+        return write(items, (index, response) -> { });
+    }
+
+    /**
+     * Same as {@link #write(List)}, calling onSuccess for every applied item inside the
+     * batch's DB transaction (e.g. to persist idempotency keys atomically with the write).
+     */
+    public List<BatchItemResponseDTO<TransactionResponseDTO>> write(List<CreateTransactionRequestDTO> items, BiConsumer<Integer, TransactionResponseDTO> onSuccess) {
+        Set<String> accountCodes = items.stream()
+                .filter(item -> item != null && item.getAccountCode() != null)
+                .map(CreateTransactionRequestDTO::getAccountCode)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        if (stripedLockEnabled) {
+            return accountWriteLock.withLocks(accountCodes,
+                () -> transactionTemplate.execute(status -> applyBatch(items, accountCodes, onSuccess)));
+        }
+        return transactionTemplate.execute(status -> applyBatch(items, accountCodes, onSuccess));
+    }
+
+    private List<BatchItemResponseDTO<TransactionResponseDTO>> applyBatch(List<CreateTransactionRequestDTO> items, Set<String> accountCodes,
+                                                                BiConsumer<Integer, TransactionResponseDTO> onSuccess) {
+        // Satu query untuk lock semua account yang disentuh batch
+        Map<String, Account> accounts = accountRepository.findAllByAccountCodeInForUpdate(accountCodes).stream()
+            .collect(Collectors.toMap(Account::getAccountCode, Function.identity()));
+
+        // Saldo slot hot account dipindah ke row account selama batch memegang lock-nya
+        for (Account account : accounts.values()) {
+            hotAccountService.foldIntoBase(account);
+        }
+
+        List<BatchItemResponseDTO<TransactionResponseDTO>> results = new ArrayList<>(items.size());
+        List<Transaction> transactions = new ArrayList<>(items.size());
+        List<Integer> transactionIndexes = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            CreateTransactionRequestDTO item = items.get(i);
+            try {
+                validate(item);
+
+                Account account = accounts.get(item.getAccountCode());
+                if (account == null) {
+                    throw new BadRequestException(String.format("Account not found with accountCode: '%s'", item.getAccountCode()));
+                }
+
+                transactions.add(apply(account, item));
+                transactionIndexes.add(i);
+                results.add(null);
+            } catch (BadRequestException ex) {
+                results.add(BatchItemResponseDTO.error(i, ex.getMessage()));
+            }
+        }
+
+        // Insert transaksi lewat JDBC batch, account di-update sekali saat flush
+        transactionRepository.saveAll(transactions);
+        dailySummaryService.recordAll(transactions);
+
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            int index = transactionIndexes.get(i);
+            TransactionResponseDTO response = TransactionResponseDTO.builder()
+                    .transactionId(transaction.getId())
+                    .accountCode(transaction.getAccountCode().getAccountCode())
+                    .type(transaction.getType())
+                    .amount(transaction.getAmount())
+                    .balance(transaction.getBalance())
+                    .note(transaction.getNote())
+                    .occurredAt(transaction.getOccurredAt())
+                    .createdAt(transaction.getCreatedAt())
+                    .build();
+
+            onSuccess.accept(index, response);
+            results.set(index, BatchItemResponseDTO.success(index, response));
+        }
+
+        return results;
+    }
+
+    /**
+     * Validate the request against the locked account, update its balance and
+     * totals in memory and build the transaction row with the balance snapshot.
+     */
+    public Transaction apply(Account account, CreateTransactionRequestDTO request) {
+        validateType(request);
+
+        // validation account is active
+        if (!account.getIsActive()) {
+            throw new BadRequestException("Account " + request.getAccountCode() + " is not active");
+        }
+
+        // validation withdraw balance
+        if (request.getType() == TypeTransactionEnum.withdraw) {
+            if (account.getBalance() < request.getAmount()) {
+                throw new BadRequestException("Withdrawal rejected: Insufficient balance. Current balance: " + account.getBalance() + ", Requested amount: " + request.getAmount());
+            }
+        }
+
+        // Update balance account dan hitung new balance
+        Long newBalance;
+        if (request.getType() == TypeTransactionEnum.deposit) {
+            account.setTotalDeposit(account.getTotalDeposit() + request.getAmount());
+            newBalance = account.getBalance() + request.getAmount();
+            account.setBalance(newBalance);
+        } else if (request.getType() == TypeTransactionEnum.withdraw) {
+            account.setTotalWithdraw(account.getTotalWithdraw() + request.getAmount());
+            newBalance = account.getBalance() - request.getAmount();
+            account.setBalance(newBalance);
+        } else {
+            newBalance = account.getBalance();
+        }
+        dashboardAggregateService.recordTransaction(request.getType(), request.getAmount());
+        accountRankingService.recordTransaction(account.getAccountCode(), request.getType(), request.getAmount());
+
+        // Create new transaction dengan balance snapshot
+        return Transaction.builder()
+                .accountCode(account)
+                .type(request.getType())
+                .amount(request.getAmount())
+                .balance(newBalance)
+                .note(request.getNote())
+                .occurredAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Transfer rows are only created through the transfer endpoint
+     */
+    public static void validateType(CreateTransactionRequestDTO request) {
+        if (request.getType() != TypeTransactionEnum.deposit && request.getType() != TypeTransactionEnum.withdraw) {
+            throw new BadRequestException("Transaction type must be either deposit or withdraw");
+        }
+    }
+
+    private void validate(CreateTransactionRequestDTO item) {
+        if (item == null) {
+            throw new BadRequestException("Transaction item is required");
+        }
+
+        Set<ConstraintViolation<CreateTransactionRequestDTO>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(", "));
+            throw new BadRequestException(message);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.adisaputera.savingapp.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.ResourceNotFoundException;
+import com.adisaputera.savingapp.model.ExportFormatEnum;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.util.CsvUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Full transaction history of one account, streamed row by row from a forward-only JDBC
+ * cursor. PostgreSQL only fetches {@code fetch-size} rows at a time when the statement
+ * runs inside a transaction, so heap use does not depend on the history length.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionExportService {
+    private static final String EXPORT_SQL = "SELECT id, account_code, type, amount, balance, reference_id, note, occurred_at, created_at " +
+            "FROM transactions WHERE account_code = ? AND occurred_at BETWEEN ? AND ? ORDER BY occurred_at, id";
+    private static final String CSV_HEADER = "transaction_id,account_code,type,amount,balance,reference_id,note,occurred_at,created_at";
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final AccountDirectoryService accountDirectoryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.transaction.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public StreamingResponseBody exportByAccountCode(String accountCode, LocalDate from, LocalDate to, ExportFormatEnum format) {
+        if ((from != null && to == null) || (from == null && to != null)) {
+            throw new BadRequestException("Both 'from' and 'to' parameters must be provided together or both should be empty");
+        }
+        // Cek sebelum streaming dimulai, setelah itu status 200 sudah terkirim
+        if (!accountDirectoryService.exists(accountCode)) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+
+        LocalDateTime fromDateTime = (from != null) ? from.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime toDateTime = (to != null) ? to.atTime(LocalTime.MAX) : LocalDateTime.now();
+
+        return outputStream -> stream(accountCode, fromDateTime, toDateTime, format, outputStream);
+    }
+
+    private void stream(String accountCode, LocalDateTime from, LocalDateTime to, ExportFormatEnum format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        long[] rows = {0};
+
+        // Cursor PostgreSQL hanya dipakai kalau autocommit mati, jadi query dijalankan dalam transaksi read-only
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            RowCallbackHandler rowHandler = format == ExportFormatEnum.csv ? csvRows(writer) : ndjsonRows(writer);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setString(1, accountCode);
+                statement.setObject(2, from);
+                statement.setObject(3, to);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                rowHandler.processRow(resultSet);
+                rows[0]++;
+            }));
+            writer.flush();
+        } catch (UncheckedIOException ex) {
+            // Client putus: write gagal, query dihentikan dan cursor ditutup lewat rollback
+            log.info("Export of account {} aborted after {} rows: {}", accountCode, rows[0], ex.getCause().getMessage());
+            throw ex.getCause();
+        }
+        log.info("Exported {} transactions of account {} as {}", rows[0], accountCode, format);
+    }
+
+    private RowCallbackHandler csvRows(Writer writer) {
+        write(writer, CSV_HEADER + "\n");
+        return resultSet -> write(writer, String.join(",",
+                resultSet.getString("id"),
+                CsvUtil.escape(resultSet.getString("account_code")),
+                resultSet.getString("type"),
+                resultSet.getString("amount"),
+                resultSet.getString("balance"),
+                CsvUtil.escape(resultSet.getString("reference_id")),
+                CsvUtil.escape(resultSet.getString("note")),
+                toString(resultSet.getObject("occurred_at", LocalDateTime.class)),
+                toString(resultSet.getObject("created_at", LocalDateTime.class))) + "\n");
+    }
+
+    private RowCallbackHandler ndjsonRows(Writer writer) {
+        // Satu generator untuk seluruh stream. flush() per baris hanya memindahkan isi generator
+        // ke BufferedWriter, tidak sampai ke socket
+        ObjectWriter rowWriter = objectMapper.writerFor(TransactionResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator;
+        try {
+            generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            // Pemisah antar root value diganti newline manual per baris
+            generator.setRootValueSeparator(null);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return resultSet -> {
+            try {
+                rowWriter.writeValue(generator, toResponseDTO(resultSet));
+                generator.writeRaw('\n');
+                generator.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    private static TransactionResponseDTO toResponseDTO(ResultSet resultSet) throws SQLException {
+        return TransactionResponseDTO.builder()
+                .transactionId(resultSet.getObject("id", UUID.class))
+                .accountCode(resultSet.getString("account_code"))
+                .type(TypeTransactionEnum.valueOf(resultSet.getString("type")))
+                .amount(resultSet.getLong("amount"))
+                .balance(resultSet.getLong("balance"))
+                .referenceId(resultSet.getObject("reference_id", UUID.class))
+                .note(resultSet.getString("note"))
+                .occurredAt(resultSet.getObject("occurred_at", LocalDateTime.class))
+                .createdAt(resultSet.getObject("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static void write(Writer writer, String text) {
+        try {
+            writer.write(text);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String toString(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.adisaputera.savingapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.BatchItemResponseDTO;
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.InternalServerErrorException;
+import com.adisaputera.savingapp.util.GroupCommitQueue;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional write mode where single transaction requests are queued and committed by a
+ * few writer threads in micro-batches, so many callers share one DB commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionGroupCommitService {
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final IdempotencyService idempotencyService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.transaction.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.transaction.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.transaction.group-commit.batch-size:64}")
+    private int batchSize;
+
+    @Value("${app.transaction.group-commit.max-wait-ms:5}")
+    private long maxWaitMs;
+
+    @Value("${app.transaction.group-commit.offer-timeout-ms:1000}")
+    private long offerTimeoutMs;
+
+    @Value("${app.transaction.group-commit.writers:2}")
+    private int writers;
+
+    private GroupCommitQueue<QueuedTransaction, BatchItemResponseDTO<TransactionResponseDTO>> queue;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        DistributionSummary batchSizeSummary = DistributionSummary.builder("savingapp.transaction.group_commit.batch_size")
+                .description("Number of transactions committed together")
+                .register(meterRegistry);
+        Timer queueWaitTimer = Timer.builder("savingapp.transaction.group_commit.queue_wait")
+                .description("Time a transaction request waits in the queue before its batch starts")
+                .register(meterRegistry);
+
+        queue = new GroupCommitQueue<>("txn-group-commit", queueCapacity, batchSize, maxWaitMs, offerTimeoutMs, writers,
+                this::commitBatch,
+                batchSizeSummary::record,
+                nanos -> queueWaitTimer.record(nanos, TimeUnit.NANOSECONDS));
+
+        Gauge.builder("savingapp.transaction.group_commit.queue_size", queue, GroupCommitQueue::queueSize)
+                .description("Transaction requests waiting for a writer")
+                .register(meterRegistry);
+
+        log.info("Transaction group commit enabled: batchSize={}, maxWaitMs={}, writers={}", batchSize, maxWaitMs, writers);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue the request and block until the batch containing it has committed.
+     */
+    public TransactionResponseDTO submit(CreateTransactionRequestDTO request, String idempotencyKey) {
+        BatchItemResponseDTO<TransactionResponseDTO> result;
+        try {
+            result = queue.submit(new QueuedTransaction(request, idempotencyKey)).join();
+        } catch (RejectedExecutionException ex) {
+            throw new InternalServerErrorException("Transaction queue is full, please retry", ex);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        if (!"success".equals(result.getStatus())) {
+            throw new BadRequestException(result.getMessage());
+        }
+        return result.getData();
+    }
+
+    private List<BatchItemResponseDTO<TransactionResponseDTO>> commitBatch(List<QueuedTransaction> batch) {
+        List<CreateTransactionRequestDTO> requests = new ArrayList<>(batch.size());
+        for (QueuedTransaction queued : batch) {
+            requests.add(queued.request);
+        }
+
+        return transactionBatchWriter.write(requests, (index, response) -> {
+            QueuedTransaction queued = batch.get(index);
+            if (queued.idempotencyKey != null) {
+                idempotencyService.save(queued.idempotencyKey, queued.request, response);
+            }
+        });
+    }
+
+    private static final class QueuedTransaction {
+        private final CreateTransactionRequestDTO request;
+        private final String idempotencyKey;
+
+        private QueuedTransaction(CreateTransactionRequestDTO request, String idempotencyKey) {
+            this.request = request;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
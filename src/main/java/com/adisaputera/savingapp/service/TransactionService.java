@@ -4,29 +4,45 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import com.adisaputera.savingapp.dto.message.ApiResponse;
 import com.adisaputera.savingapp.dto.message.MetadataResponse;
 import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateTransferRequestDTO;
+import com.adisaputera.savingapp.dto.response.BatchItemResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchResponseDTO;
 import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.dto.response.TransferResponseDTO;
+import com.adisaputera.savingapp.event.TransactionsWrittenEvent;
 import com.adisaputera.savingapp.exception.BadRequestException;
 import com.adisaputera.savingapp.exception.ForbiddenException;
 import com.adisaputera.savingapp.exception.ResourceNotFoundException;
 import com.adisaputera.savingapp.model.Account;
+import com.adisaputera.savingapp.model.CountModeEnum;
 import com.adisaputera.savingapp.model.Transaction;
 import com.adisaputera.savingapp.model.TypeTransactionEnum;
-import com.adisaputera.savingapp.model.User;
 import com.adisaputera.savingapp.repository.AccountRepository;
 import com.adisaputera.savingapp.repository.TransactionRepository;
-import com.adisaputera.savingapp.repository.UserRepository;
+import com.adisaputera.savingapp.repository.projection.TransactionRow;
+import com.adisaputera.savingapp.util.KeysetCursor;
+import com.adisaputera.savingapp.util.KeysetSlice;
+import com.adisaputera.savingapp.util.StripedLock;
 import com.adisaputera.savingapp.util.UserUtil;
 
 import jakarta.transaction.Transactional;
@@ -36,45 +52,70 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Transactional
 public class TransactionService {
+    private static final String TRANSACTION_CURSOR_SCOPE = "transaction";
+
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
-    private final UserRepository userRepository;
+    private final StripedLock accountWriteLock;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionBatchWriter transactionBatchWriter;
+    private final IdempotencyService idempotencyService;
+    private final TransactionGroupCommitService transactionGroupCommitService;
+    private final HotAccountService hotAccountService;
+    private final ListCountService listCountService;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final AccountRankingService accountRankingService;
+    private final AccountDirectoryService accountDirectoryService;
+    private final DailySummaryService dailySummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.transaction.batch.max-size:5000}")
+    private int batchMaxSize;
+
+    @Value("${app.transaction.write-mode:atomic}")
+    private String writeMode;
 
-    public ApiResponse<List<TransactionResponseDTO>> getTransactionByAccountCodeForAdmin(int page, int perPage, String accountCode, String sortDirection, String sortBy, LocalDate from, LocalDate to) {
+    @Value("${app.transaction.striped-lock-enabled:true}")
+    private boolean stripedLockEnabled;
+
+    public ApiResponse<List<TransactionResponseDTO>> getTransactionByAccountCodeForAdmin(int page, int perPage, String accountCode, String sortDirection, String sortBy, LocalDate from, LocalDate to, String keyword, String cursor, Integer limit, CountModeEnum countMode) {
         // Admin bisa akses semua account tanpa validasi ownership
-        Optional<Account> accountOpt = accountRepository.findByAccountCode(accountCode);
-        if(accountOpt.isEmpty()) {
+        if (!accountDirectoryService.exists(accountCode)) {
             throw new ResourceNotFoundException("Account not found");
         }
-        
-        Account account = accountOpt.get();
-    return getTransactionListByAccount(page, perPage, account, sortDirection, sortBy, from, to);
+
+        return getTransactionListByAccount(page, perPage, accountCode, sortDirection, sortBy, from, to, keyword, cursor, limit, countMode);
     }
 
-    public ApiResponse<List<TransactionResponseDTO>> getTransactionByAccountCodeForNasabah(int page, int perPage, String accountCode, String sortDirection, String sortBy, LocalDate from, LocalDate to) {
+    public ApiResponse<List<TransactionResponseDTO>> getTransactionByAccountCodeForNasabah(int page, int perPage, String accountCode, String sortDirection, String sortBy, LocalDate from, LocalDate to, String keyword, String cursor, Integer limit, CountModeEnum countMode) {
         // Nasabah hanya bisa akses account milik sendiri
-        User currentUser = UserUtil.getCurrentLoggedInUser(userRepository);
-        
-        Optional<Account> accountOpt = accountRepository.findByAccountCode(accountCode);
-        if(accountOpt.isEmpty()) {
+        UUID currentUserId = UserUtil.getCurrentLoggedInUserId();
+
+        Optional<UUID> ownerId = accountDirectoryService.findOwnerId(accountCode);
+        if (ownerId.isEmpty()) {
             throw new ResourceNotFoundException("Account not found");
         }
-        
-        Account account = accountOpt.get();
-        
+
         // Validasi ownership
-        if (!account.getUserId().getId().equals(currentUser.getId())) {
+        if (!ownerId.get().equals(currentUserId)) {
             throw new ForbiddenException("You can only access your own account transactions");
         }
-        
-    return getTransactionListByAccount(page, perPage, account, sortDirection, sortBy, from, to);
+
+        return getTransactionListByAccount(page, perPage, accountCode, sortDirection, sortBy, from, to, keyword, cursor, limit, countMode);
     }
 
     // Helper method untuk logic yang sama
-    private ApiResponse<List<TransactionResponseDTO>> getTransactionListByAccount(int page, int perPage, Account account, String sortDirection, String sortBy, LocalDate from, LocalDate to) {
+    private ApiResponse<List<TransactionResponseDTO>> getTransactionListByAccount(int page, int perPage, String accountCode, String sortDirection, String sortBy, LocalDate from, LocalDate to, String keyword, String cursor, Integer limit, CountModeEnum countMode) {
         if ((from != null && to == null) || (from == null && to != null)) {
             throw new BadRequestException("Both 'from' and 'to' parameters must be provided together or both should be empty");
         }
+        // Keyword mencari di note; kosong berarti tanpa filter note
+        String noteKeyword = StringUtils.hasText(keyword) ? keyword.trim() : null;
+
+        // Mode cursor dipakai kalau client mengirim cursor atau limit
+        if (cursor != null || limit != null) {
+            return getTransactionKeysetByAccount(accountCode, sortDirection, from, to, noteKeyword, cursor, limit);
+        }
 
         int pageIndex = page > 0 ? page - 1 : 0;
         Sort sort = sortDirection.equals("desc") 
@@ -85,88 +126,196 @@ public class TransactionService {
         // Set default values untuk filter
         LocalDateTime fromDateTime = (from != null) ? from.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
         LocalDateTime toDateTime = (to != null) ? to.atTime(LocalTime.MAX) : LocalDateTime.now();
-        Page<Transaction> transactionPage;
-        if (from != null || to != null) {
+
+        // Selain exact: ambil Slice tanpa COUNT(*), total dari cache/estimasi atau tidak ada
+        if (countMode != CountModeEnum.exact) {
+            return getTransactionSliceByAccount(accountCode, pageable, from, to, fromDateTime, toDateTime, noteKeyword, countMode);
+        }
+
+        Page<TransactionRow> transactionPage;
+        if (noteKeyword != null) {
+            transactionPage = transactionRepository.findByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(
+                accountCode, fromDateTime, toDateTime, noteKeyword, pageable);
+        } else if (from != null || to != null) {
             transactionPage = transactionRepository.findByAccountCode_AccountCodeAndOccurredAtBetween(
-                account.getAccountCode(), fromDateTime, toDateTime, pageable);
+                accountCode, fromDateTime, toDateTime, pageable);
         } else {
-            transactionPage = transactionRepository.findByAccountCode_AccountCode(account.getAccountCode(), pageable);
+            transactionPage = transactionRepository.findByAccountCode_AccountCode(accountCode, pageable);
         }
 
         List<TransactionResponseDTO> transactionDtos = transactionPage.getContent().stream()
-            .map(transaction -> {
-                Account transactionAccount = transaction.getAccountCode();
-                
-                return TransactionResponseDTO.builder()
-                    .transactionId(transaction.getId())
-                    .accountCode(transactionAccount.getAccountCode())
-                    .type(transaction.getType())
-                    .amount(transaction.getAmount())
-                    .balance(transaction.getBalance())
-                    .note(transaction.getNote())
-                    .occurredAt(transaction.getOccurredAt())
-                    .createdAt(transaction.getCreatedAt())
-                    .build();
-            })
+            .map(this::toResponseDTO)
             .collect(Collectors.toList());
 
         MetadataResponse metadata = MetadataResponse.builder()
             .page(transactionPage.getNumber() + 1)
             .size(transactionPage.getSize())
-            .total(transactionPage.getTotalPages())
+            .total((long) transactionPage.getTotalPages())
             .build();
             
         return ApiResponse.success("Transactions retrieved successfully", transactionDtos, metadata);
     }
 
-    public ApiResponse<TransactionResponseDTO> createTransaction(CreateTransactionRequestDTO request) {
-        // validation account exists
-        Optional<Account> accountOpt = accountRepository.findByAccountCode(request.getAccountCode());
-        if (accountOpt.isEmpty()) {
-            throw new ResourceNotFoundException("Account", "accountCode", request.getAccountCode());
+    private ApiResponse<List<TransactionResponseDTO>> getTransactionSliceByAccount(String accountCode, Pageable pageable, LocalDate from, LocalDate to,
+                                                                                   LocalDateTime fromDateTime, LocalDateTime toDateTime, String noteKeyword, CountModeEnum countMode) {
+        boolean filtered = from != null || to != null;
+
+        Slice<TransactionRow> transactionSlice;
+        if (noteKeyword != null) {
+            transactionSlice = transactionRepository.findSliceByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(
+                accountCode, fromDateTime, toDateTime, noteKeyword, pageable);
+        } else if (filtered) {
+            transactionSlice = transactionRepository.findSliceByAccountCode_AccountCodeAndOccurredAtBetween(accountCode, fromDateTime, toDateTime, pageable);
+        } else {
+            transactionSlice = transactionRepository.findSliceByAccountCode_AccountCode(accountCode, pageable);
         }
 
-        Account account = accountOpt.get();
+        Long totalElements = switch (countMode) {
+            case cached -> listCountService.cachedTransactionCount(accountCode, from, to, noteKeyword != null ? noteKeyword.toLowerCase() : null, () -> {
+                if (noteKeyword != null) {
+                    return transactionRepository.countByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(accountCode, fromDateTime, toDateTime, noteKeyword);
+                }
+                return filtered
+                    ? transactionRepository.countByAccountCode_AccountCodeAndOccurredAtBetween(accountCode, fromDateTime, toDateTime)
+                    : transactionRepository.countByAccountCode_AccountCode(accountCode);
+            });
+            case estimated -> {
+                if (noteKeyword != null) {
+                    yield listCountService.estimate("SELECT 1 FROM transactions WHERE account_code = ? AND occurred_at BETWEEN ? AND ? AND note ILIKE CONCAT('%', ?, '%')",
+                        accountCode, fromDateTime, toDateTime, noteKeyword);
+                }
+                yield filtered
+                    ? listCountService.estimate("SELECT 1 FROM transactions WHERE account_code = ? AND occurred_at BETWEEN ? AND ?", accountCode, fromDateTime, toDateTime)
+                    : listCountService.estimate("SELECT 1 FROM transactions WHERE account_code = ?", accountCode);
+            }
+            default -> null;
+        };
+
+        List<TransactionResponseDTO> transactionDtos = transactionSlice.getContent().stream()
+            .map(this::toResponseDTO)
+            .collect(Collectors.toList());
+
+        return ApiResponse.success("Transactions retrieved successfully", transactionDtos, listCountService.metadata(transactionSlice, totalElements));
+    }
+
+    // Keyset paging: lanjut dari (occurredAt, id) baris terakhir, biaya sama di halaman berapa pun
+    private ApiResponse<List<TransactionResponseDTO>> getTransactionKeysetByAccount(String accountCode, String sortDirection, LocalDate from, LocalDate to, String noteKeyword, String cursor, Integer limit) {
+        int size = KeysetCursor.resolveLimit(limit);
+        LocalDateTime fromDateTime = (from != null) ? from.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime toDateTime = (to != null) ? to.atTime(LocalTime.MAX) : LocalDateTime.now();
+
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(TRANSACTION_CURSOR_SCOPE, cursor) : null;
+        boolean descending = position != null ? position.isDescending() : sortDirection.equals("desc");
+        Pageable pageable = KeysetCursor.pageable(size, descending, "occurredAt");
 
-        // validation account is active
-        if (!account.getIsActive()) {
-            throw new BadRequestException("Account " + request.getAccountCode() + " is not active");
+        List<TransactionRow> transactions;
+        if (noteKeyword != null) {
+            transactions = findKeysetByNote(accountCode, fromDateTime, toDateTime, noteKeyword, position, descending, pageable);
+        } else if (position == null) {
+            transactions = transactionRepository.findKeysetFirst(accountCode, fromDateTime, toDateTime, pageable);
+        } else if (descending) {
+            transactions = transactionRepository.findKeysetBefore(accountCode, fromDateTime, toDateTime,
+                position.getKeyAsDateTime(), position.getIdAsUuid(), pageable);
+        } else {
+            transactions = transactionRepository.findKeysetAfter(accountCode, fromDateTime, toDateTime,
+                position.getKeyAsDateTime(), position.getIdAsUuid(), pageable);
         }
 
-        // validation withdraw balance
-        if (request.getType() == TypeTransactionEnum.withdraw) {
-            if (account.getBalance() < request.getAmount()) {
-                throw new BadRequestException("Withdrawal rejected: Insufficient balance. Current balance: " + account.getBalance() + ", Requested amount: " + request.getAmount());
-            }
+        KeysetSlice<TransactionRow> slice = KeysetSlice.of(transactions, size,
+            last -> KeysetCursor.encode(TRANSACTION_CURSOR_SCOPE, descending, last.getOccurredAt(), last.getId()));
+
+        List<TransactionResponseDTO> transactionDtos = slice.getContent().stream()
+            .map(this::toResponseDTO)
+            .collect(Collectors.toList());
+
+        MetadataResponse metadata = MetadataResponse.builder()
+            .size(size)
+            .nextCursor(slice.getNextCursor())
+            .hasNext(slice.hasNext())
+            .build();
+
+        return ApiResponse.success("Transactions retrieved successfully", transactionDtos, metadata);
+    }
+
+    private List<TransactionRow> findKeysetByNote(String accountCode, LocalDateTime from, LocalDateTime to, String keyword,
+                                                  KeysetCursor position, boolean descending, Pageable pageable) {
+        if (position == null) {
+            return transactionRepository.findKeysetFirstByNote(accountCode, from, to, keyword, pageable);
         }
+        return descending
+            ? transactionRepository.findKeysetBeforeByNote(accountCode, from, to, keyword, position.getKeyAsDateTime(), position.getIdAsUuid(), pageable)
+            : transactionRepository.findKeysetAfterByNote(accountCode, from, to, keyword, position.getKeyAsDateTime(), position.getIdAsUuid(), pageable);
+    }
 
-        // Update balance account dan hitung new balance
-        Long newBalance;
-        if (request.getType() == TypeTransactionEnum.deposit) {
-            account.setTotalDeposit(account.getTotalDeposit() + request.getAmount());
-            newBalance = account.getBalance() + request.getAmount();
-            account.setBalance(newBalance);
-        } else if (request.getType() == TypeTransactionEnum.withdraw) {
-            account.setTotalWithdraw(account.getTotalWithdraw() + request.getAmount());
-            newBalance = account.getBalance() - request.getAmount();
-            account.setBalance(newBalance);
+    // Transaksi DB dibuka di dalam lock supaya lock baru dilepas setelah commit
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ApiResponse<TransactionResponseDTO> createTransaction(CreateTransactionRequestDTO request, String idempotencyKey) {
+        TransactionResponseDTO responseDTO;
+        if (idempotencyKey != null) {
+            responseDTO = idempotencyService.execute(idempotencyKey, request, () -> writeTransactionAndPublish(request, idempotencyKey));
         } else {
-            newBalance = account.getBalance();
+            responseDTO = writeTransactionAndPublish(request, null);
         }
 
-        // Create new transaction dengan balance snapshot
-        Transaction transaction = Transaction.builder()
-                .accountCode(account)
-                .type(request.getType())
-                .amount(request.getAmount())
-                .balance(newBalance)
-                .note(request.getNote())
-                .occurredAt(LocalDateTime.now())
-                .createdAt(LocalDateTime.now())
-                .build();
+        return ApiResponse.success("Transaction created successfully", responseDTO);
+    }
+
+    // Replay idempotency tidak menulis apa pun, jadi cache dan event hanya disentuh di sini
+    private TransactionResponseDTO writeTransactionAndPublish(CreateTransactionRequestDTO request, String idempotencyKey) {
+        TransactionResponseDTO responseDTO = writeTransaction(request, idempotencyKey);
+
+        // Jumlah transaksi account ini berubah, buang count yang di-cache
+        listCountService.evictTransactions(request.getAccountCode());
+        eventPublisher.publishEvent(new TransactionsWrittenEvent(List.of(request.getAccountCode())));
+        return responseDTO;
+    }
+
+    private TransactionResponseDTO writeTransaction(CreateTransactionRequestDTO request, String idempotencyKey) {
+        // Hot account selalu lewat slot saldo, apa pun write mode-nya
+        if (hotAccountService.isHot(request.getAccountCode())) {
+            return writeTransactionAtomic(request, idempotencyKey);
+        }
+
+        // Mode group commit: request digabung dengan request lain dalam satu commit
+        if (transactionGroupCommitService.isEnabled()) {
+            return transactionGroupCommitService.submit(request, idempotencyKey);
+        }
+
+        // Mode atomic: saldo diubah oleh satu UPDATE bersyarat, tanpa lock di aplikasi
+        if ("atomic".equals(writeMode)) {
+            return writeTransactionAtomic(request, idempotencyKey);
+        }
+
+        if (stripedLockEnabled) {
+            return accountWriteLock.withLock(request.getAccountCode(),
+                () -> transactionTemplate.execute(status -> applyTransaction(request, idempotencyKey)));
+        }
+        return transactionTemplate.execute(status -> applyTransaction(request, idempotencyKey));
+    }
+
+    private TransactionResponseDTO writeTransactionAtomic(CreateTransactionRequestDTO request, String idempotencyKey) {
+        try {
+            return transactionTemplate.execute(status -> applyTransactionAtomic(request, idempotencyKey, false));
+        } catch (HotAccountService.BorrowRequiredException ex) {
+            // Slot hot account tidak cukup: transaksi pertama sudah rollback, ulangi dengan row lock account dari awal
+            return transactionTemplate.execute(status -> applyTransactionAtomic(request, idempotencyKey, true));
+        }
+    }
+
+    private TransactionResponseDTO applyTransaction(CreateTransactionRequestDTO request, String idempotencyKey) {
+        // validation account exists (row lock sampai commit)
+        Optional<Account> accountOpt = accountRepository.findByAccountCodeForUpdate(request.getAccountCode());
+        if (accountOpt.isEmpty()) {
+            throw new ResourceNotFoundException("Account", "accountCode", request.getAccountCode());
+        }
+
+        Account account = accountOpt.get();
+        hotAccountService.foldIntoBase(account);
+        Transaction transaction = transactionBatchWriter.apply(account, request);
 
         // Save transaction
         transaction = transactionRepository.saveAndFlush(transaction);
+        dailySummaryService.recordAll(List.of(transaction));
 
         // Save account
         accountRepository.saveAndFlush(account);
@@ -183,6 +332,245 @@ public class TransactionService {
                 .createdAt(transaction.getCreatedAt())
                 .build();
 
-        return ApiResponse.success("Transaction created successfully", responseDTO);
+        // Simpan idempotency key di transaksi DB yang sama
+        if (idempotencyKey != null) {
+            idempotencyService.save(idempotencyKey, request, responseDTO);
+        }
+
+        return responseDTO;
+    }
+
+    private TransactionResponseDTO applyTransactionAtomic(CreateTransactionRequestDTO request, String idempotencyKey, boolean lockHotAccount) {
+        TransactionBatchWriter.validateType(request);
+
+        long amount = request.getAmount();
+        boolean deposit = request.getType() == TypeTransactionEnum.deposit;
+
+        long newBalance;
+        if (hotAccountService.isHot(request.getAccountCode())) {
+            newBalance = lockHotAccount ? hotAccountService.applyLocked(request) : hotAccountService.apply(request);
+        } else {
+            newBalance = applyBalanceChange(request, amount, deposit);
+        }
+        dashboardAggregateService.recordTransaction(request.getType(), amount);
+        accountRankingService.recordTransaction(request.getAccountCode(), request.getType(), amount);
+
+        // Insert transaksi dengan snapshot saldo hasil UPDATE
+        UUID transactionId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        transactionRepository.insert(
+            transactionId,
+            request.getAccountCode(),
+            request.getType().name(),
+            amount,
+            newBalance,
+            request.getNote(),
+            now,
+            now);
+        // Tanpa lock row account (hot account) ringkasan ditulis ke shard acak
+        dailySummaryService.record(request.getAccountCode(), hotAccountService.summaryShard(request.getAccountCode()),
+            request.getType(), amount, newBalance, now);
+
+        TransactionResponseDTO responseDTO = TransactionResponseDTO.builder()
+                .transactionId(transactionId)
+                .accountCode(request.getAccountCode())
+                .type(request.getType())
+                .amount(amount)
+                .balance(newBalance)
+                .note(request.getNote())
+                .occurredAt(now)
+                .createdAt(now)
+                .build();
+
+        // Simpan idempotency key di transaksi DB yang sama
+        if (idempotencyKey != null) {
+            idempotencyService.save(idempotencyKey, request, responseDTO);
+        }
+
+        return responseDTO;
+    }
+
+    private long applyBalanceChange(CreateTransactionRequestDTO request, long amount, boolean deposit) {
+        Optional<Long> balanceOpt = accountRepository.applyBalanceChange(
+            request.getAccountCode(),
+            deposit ? amount : -amount,
+            deposit ? amount : 0L,
+            deposit ? 0L : amount);
+
+        if (balanceOpt.isEmpty()) {
+            // UPDATE tidak mengenai row, cari tahu penyebabnya untuk pesan error
+            Optional<Account> accountOpt = accountRepository.findByAccountCode(request.getAccountCode());
+            if (accountOpt.isEmpty()) {
+                throw new ResourceNotFoundException("Account", "accountCode", request.getAccountCode());
+            }
+
+            Account account = accountOpt.get();
+            if (!account.getIsActive()) {
+                throw new BadRequestException("Account " + request.getAccountCode() + " is not active");
+            }
+            throw new BadRequestException("Withdrawal rejected: Insufficient balance. Current balance: " + account.getBalance() + ", Requested amount: " + request.getAmount());
+        }
+
+        return balanceOpt.get();
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ApiResponse<BatchResponseDTO<TransactionResponseDTO>> createTransactionBatch(List<CreateTransactionRequestDTO> request) {
+        if (request == null || request.isEmpty()) {
+            throw new BadRequestException("Transaction batch must contain at least one item");
+        }
+        if (request.size() > batchMaxSize) {
+            throw new BadRequestException("Transaction batch cannot exceed " + batchMaxSize + " items");
+        }
+
+        List<BatchItemResponseDTO<TransactionResponseDTO>> items = transactionBatchWriter.write(request);
+        List<String> accountCodes = items.stream()
+            .filter(item -> item.getData() != null)
+            .map(item -> item.getData().getAccountCode())
+            .distinct()
+            .toList();
+        accountCodes.forEach(listCountService::evictTransactions);
+        if (!accountCodes.isEmpty()) {
+            eventPublisher.publishEvent(new TransactionsWrittenEvent(accountCodes));
+        }
+
+        return ApiResponse.success("Transaction batch processed", BatchResponseDTO.of(items));
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ApiResponse<TransferResponseDTO> createTransferForAdmin(CreateTransferRequestDTO request) {
+        // Admin bisa transfer antar account mana saja
+        TransferResponseDTO responseDTO = writeTransfer(request, null);
+        return ApiResponse.success("Transfer created successfully", responseDTO);
+    }
+
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ApiResponse<TransferResponseDTO> createTransferForNasabah(CreateTransferRequestDTO request) {
+        // Nasabah hanya bisa transfer antar account milik sendiri
+        UUID currentUserId = UserUtil.getCurrentLoggedInUserId();
+        // Account orang lain ditolak sebelum lock diambil; ownership dicek lagi di row yang di-lock
+        for (String accountCode : List.of(request.getFromAccountCode(), request.getToAccountCode())) {
+            if (accountDirectoryService.findOwnerId(accountCode).filter(ownerId -> !ownerId.equals(currentUserId)).isPresent()) {
+                throw new ForbiddenException("You can only transfer between your own accounts");
+            }
+        }
+        TransferResponseDTO responseDTO = writeTransfer(request, currentUserId);
+        return ApiResponse.success("Transfer created successfully", responseDTO);
+    }
+
+    private TransferResponseDTO writeTransfer(CreateTransferRequestDTO request, UUID ownerId) {
+        if (request.getFromAccountCode().equals(request.getToAccountCode())) {
+            throw new BadRequestException("Source and destination account must be different");
+        }
+
+        List<String> accountCodes = List.of(request.getFromAccountCode(), request.getToAccountCode());
+        TransferResponseDTO responseDTO;
+        if (stripedLockEnabled) {
+            responseDTO = accountWriteLock.withLocks(accountCodes,
+                () -> transactionTemplate.execute(status -> applyTransfer(request, accountCodes, ownerId)));
+        } else {
+            responseDTO = transactionTemplate.execute(status -> applyTransfer(request, accountCodes, ownerId));
+        }
+
+        accountCodes.forEach(listCountService::evictTransactions);
+        eventPublisher.publishEvent(new TransactionsWrittenEvent(accountCodes));
+        return responseDTO;
+    }
+
+    private TransferResponseDTO applyTransfer(CreateTransferRequestDTO request, List<String> accountCodes, UUID ownerId) {
+        // Kedua row di-lock urut id, jadi transfer berlawanan arah tidak saling deadlock
+        Map<String, Account> accounts = accountRepository.findAllByAccountCodeInForUpdate(accountCodes).stream()
+            .collect(Collectors.toMap(Account::getAccountCode, Function.identity()));
+
+        Account source = accounts.get(request.getFromAccountCode());
+        if (source == null) {
+            throw new ResourceNotFoundException("Account", "accountCode", request.getFromAccountCode());
+        }
+        Account destination = accounts.get(request.getToAccountCode());
+        if (destination == null) {
+            throw new ResourceNotFoundException("Account", "accountCode", request.getToAccountCode());
+        }
+
+        hotAccountService.foldIntoBase(source);
+        hotAccountService.foldIntoBase(destination);
+
+        // Validasi ownership
+        if (ownerId != null && (!source.getUserId().getId().equals(ownerId) || !destination.getUserId().getId().equals(ownerId))) {
+            throw new ForbiddenException("You can only transfer between your own accounts");
+        }
+
+        if (!source.getIsActive()) {
+            throw new BadRequestException("Account " + source.getAccountCode() + " is not active");
+        }
+        if (!destination.getIsActive()) {
+            throw new BadRequestException("Account " + destination.getAccountCode() + " is not active");
+        }
+        if (source.getBalance() < request.getAmount()) {
+            throw new BadRequestException("Transfer rejected: Insufficient balance. Current balance: " + source.getBalance() + ", Requested amount: " + request.getAmount());
+        }
+
+        // Transfer hanya memindahkan saldo, totalDeposit/totalWithdraw tidak berubah
+        source.setBalance(source.getBalance() - request.getAmount());
+        destination.setBalance(destination.getBalance() + request.getAmount());
+        accountRankingService.recordTransfer(source.getAccountCode(), destination.getAccountCode(), request.getAmount());
+
+        UUID referenceId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        Transaction debit = Transaction.builder()
+                .accountCode(source)
+                .type(TypeTransactionEnum.transfer_out)
+                .amount(request.getAmount())
+                .balance(source.getBalance())
+                .referenceId(referenceId)
+                .note(request.getNote())
+                .occurredAt(now)
+                .createdAt(now)
+                .build();
+        Transaction credit = Transaction.builder()
+                .accountCode(destination)
+                .type(TypeTransactionEnum.transfer_in)
+                .amount(request.getAmount())
+                .balance(destination.getBalance())
+                .referenceId(referenceId)
+                .note(request.getNote())
+                .occurredAt(now)
+                .createdAt(now)
+                .build();
+        transactionRepository.saveAll(List.of(debit, credit));
+        dailySummaryService.recordAll(List.of(debit, credit));
+
+        return TransferResponseDTO.builder()
+                .referenceId(referenceId)
+                .debit(toResponseDTO(debit))
+                .credit(toResponseDTO(credit))
+                .build();
+    }
+
+    private TransactionResponseDTO toResponseDTO(TransactionRow row) {
+        return TransactionResponseDTO.builder()
+                .transactionId(row.getId())
+                .accountCode(row.getAccountCode())
+                .type(row.getType())
+                .amount(row.getAmount())
+                .balance(row.getBalance())
+                .referenceId(row.getReferenceId())
+                .note(row.getNote())
+                .occurredAt(row.getOccurredAt())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    private TransactionResponseDTO toResponseDTO(Transaction transaction) {
+        return TransactionResponseDTO.builder()
+                .transactionId(transaction.getId())
+                .accountCode(transaction.getAccountCode().getAccountCode())
+                .type(transaction.getType())
+                .amount(transaction.getAmount())
+                .balance(transaction.getBalance())
+                .referenceId(transaction.getReferenceId())
+                .note(transaction.getNote())
+                .occurredAt(transaction.getOccurredAt())
+                .createdAt(transaction.getCreatedAt())
+                .build();
     }
-}
\ No newline at end of file
+}
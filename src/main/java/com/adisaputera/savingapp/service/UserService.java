@@ -5,9 +5,13 @@ import com.adisaputera.savingapp.dto.message.MetadataResponse;
 import com.adisaputera.savingapp.dto.request.ChangePasswordRequestDTO;
 import com.adisaputera.savingapp.dto.request.CreateNasabahRequestDTO;
 import com.adisaputera.savingapp.dto.request.UpdateNasabahRequestDTO;
+import com.adisaputera.savingapp.model.CountModeEnum;
 import com.adisaputera.savingapp.model.RoleEnum;
 import com.adisaputera.savingapp.model.User;
 import com.adisaputera.savingapp.repository.UserRepository;
+import com.adisaputera.savingapp.repository.projection.UserRow;
+import com.adisaputera.savingapp.util.KeysetCursor;
+import com.adisaputera.savingapp.util.KeysetSlice;
 import com.adisaputera.savingapp.util.UserUtil;
 
 import jakarta.transaction.Transactional;
@@ -22,22 +26,31 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
+    private static final String USER_CURSOR_SCOPE = "nasabah";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ListCountService listCountService;
+    private final DashboardAggregateService dashboardAggregateService;
+    private final SearchIndexService searchIndexService;
 
     public ApiResponse<UserResponseDTO> getProfile() {
         User user = UserUtil.getCurrentLoggedInUser(userRepository);
@@ -82,6 +95,9 @@ public class UserService {
                 .phone(request.getPhone())
                 .build();
         User savedUser = userRepository.save(user);
+        dashboardAggregateService.recordNasabahCreated();
+        searchIndexService.recordNasabah(savedUser.getId(), savedUser.getFullName());
+        listCountService.evictNasabah();
 
         UserResponseDTO userDto = (UserResponseDTO.builder()
                 .id(savedUser.getId().toString())
@@ -95,12 +111,22 @@ public class UserService {
         return ApiResponse.success("Nasabah added successfully", userDto);
     }
 
-    public ApiResponse<List<UserResponseDTO>> getNasabahList(int page, int perPage, String sortBy, String sortDirection, String keyword) {
+    public ApiResponse<List<UserResponseDTO>> getNasabahList(int page, int perPage, String sortBy, String sortDirection, String keyword, String cursor, Integer limit, CountModeEnum countMode) {
+        // Mode cursor dipakai kalau client mengirim cursor atau limit
+        if (cursor != null || limit != null) {
+            return getNasabahKeyset(sortDirection, keyword, cursor, limit);
+        }
+
         int pageIndex = page > 0 ? page -1 : 0;
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
         Pageable pageable = PageRequest.of(pageIndex, perPage, sort);
 
-        Page<User> userPage;
+        // Selain exact: ambil Slice tanpa COUNT(*), total dari cache/estimasi atau tidak ada
+        if (countMode != CountModeEnum.exact) {
+            return getNasabahSlice(keyword, pageable, countMode);
+        }
+
+        Page<UserRow> userPage;
         if (StringUtils.hasText(keyword)) {
             userPage = userRepository.findByRoleAndFullNameContainingIgnoreCase(RoleEnum.nasabah, keyword, pageable);
         } else {
@@ -108,26 +134,109 @@ public class UserService {
         }
 
         List<UserResponseDTO> userDtos = userPage.getContent().stream()
-            .map(user -> UserResponseDTO.builder()
-                    .id(user.getId().toString())
-                    .fullName(user.getFullName())
-                    .email(user.getEmail())
-                    .address(user.getAddress())
-                    .phone(user.getPhone())
-                    .createdAt(user.getCreatedAt().toString())
-                    .build()
-                )
+            .map(this::toUserListDto)
             .collect(Collectors.toList());
 
         MetadataResponse metadata = MetadataResponse.builder()
                 .page(userPage.getNumber() + 1)
                 .size(userPage.getSize())
-                .total(userPage.getTotalPages())
+                .total((long) userPage.getTotalPages())
                 .build();
 
         return ApiResponse.success("Nasabah list retrieved successfully", userDtos, metadata);
     }
 
+    private ApiResponse<List<UserResponseDTO>> getNasabahSlice(String keyword, Pageable pageable, CountModeEnum countMode) {
+        boolean hasKeyword = StringUtils.hasText(keyword);
+        Slice<UserRow> userSlice = hasKeyword
+            ? userRepository.findSliceByRoleAndFullNameContainingIgnoreCase(RoleEnum.nasabah, keyword, pageable)
+            : userRepository.findSliceByRole(RoleEnum.nasabah, pageable);
+
+        Long totalElements = switch (countMode) {
+            case cached -> listCountService.cachedNasabahCount(hasKeyword ? keyword.toLowerCase() : null, () -> hasKeyword
+                ? userRepository.countByRoleAndFullNameContainingIgnoreCase(RoleEnum.nasabah, keyword)
+                : userRepository.countByRole(RoleEnum.nasabah));
+            case estimated -> hasKeyword
+                ? listCountService.estimate("SELECT 1 FROM users WHERE role = ? AND UPPER(full_name) LIKE UPPER(CONCAT('%', ?, '%'))", RoleEnum.nasabah.name(), keyword)
+                : listCountService.estimate("SELECT 1 FROM users WHERE role = ?", RoleEnum.nasabah.name());
+            default -> null;
+        };
+
+        List<UserResponseDTO> userDtos = userSlice.getContent().stream()
+            .map(this::toUserListDto)
+            .collect(Collectors.toList());
+
+        return ApiResponse.success("Nasabah list retrieved successfully", userDtos, listCountService.metadata(userSlice, totalElements));
+    }
+
+    // Keyset paging nasabah: urut (fullName, id), lanjut dari baris terakhir halaman sebelumnya
+    private ApiResponse<List<UserResponseDTO>> getNasabahKeyset(String sortDirection, String keyword, String cursor, Integer limit) {
+        int size = KeysetCursor.resolveLimit(limit);
+        String keywordFilter = StringUtils.hasText(keyword) ? keyword : "";
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(USER_CURSOR_SCOPE, cursor) : null;
+        boolean descending = position != null ? position.isDescending() : sortDirection.equalsIgnoreCase("desc");
+        Pageable pageable = KeysetCursor.pageable(size, descending, "fullName");
+
+        List<UserRow> users;
+        if (position == null) {
+            users = userRepository.findKeysetFirst(RoleEnum.nasabah, keywordFilter, pageable);
+        } else if (descending) {
+            users = userRepository.findKeysetBefore(RoleEnum.nasabah, keywordFilter, position.getKey(), position.getIdAsUuid(), pageable);
+        } else {
+            users = userRepository.findKeysetAfter(RoleEnum.nasabah, keywordFilter, position.getKey(), position.getIdAsUuid(), pageable);
+        }
+
+        KeysetSlice<UserRow> slice = KeysetSlice.of(users, size,
+            last -> KeysetCursor.encode(USER_CURSOR_SCOPE, descending, last.getFullName(), last.getId()));
+
+        List<UserResponseDTO> userDtos = slice.getContent().stream()
+            .map(this::toUserListDto)
+            .collect(Collectors.toList());
+
+        MetadataResponse metadata = MetadataResponse.builder()
+                .size(size)
+                .nextCursor(slice.getNextCursor())
+                .hasNext(slice.hasNext())
+                .build();
+
+        return ApiResponse.success("Nasabah list retrieved successfully", userDtos, metadata);
+    }
+
+    // Typeahead: id dari search index di memori, lalu row diambil per primary key
+    public ApiResponse<List<UserResponseDTO>> searchNasabah(String query, int page, int perPage) {
+        List<UUID> ids = searchIndexService.searchNasabah(query, page, perPage);
+        boolean hasNext = ids.size() > perPage;
+        List<UUID> pageIds = hasNext ? ids.subList(0, perPage) : ids;
+
+        Map<UUID, UserRow> rowsById = pageIds.isEmpty() ? Map.of()
+            : userRepository.findRowsByIdIn(pageIds).stream().collect(Collectors.toMap(UserRow::getId, Function.identity()));
+        // Urutan ranking index dipertahankan; id yang barusan dihapus dilewati
+        List<UserResponseDTO> userDtos = pageIds.stream()
+            .map(rowsById::get)
+            .filter(Objects::nonNull)
+            .map(this::toUserListDto)
+            .collect(Collectors.toList());
+
+        MetadataResponse metadata = MetadataResponse.builder()
+                .page(page > 0 ? page : 1)
+                .size(perPage)
+                .hasNext(hasNext)
+                .build();
+
+        return ApiResponse.success("Nasabah list retrieved successfully", userDtos, metadata);
+    }
+
+    private UserResponseDTO toUserListDto(UserRow user) {
+        return UserResponseDTO.builder()
+                .id(user.getId().toString())
+                .fullName(user.getFullName())
+                .email(user.getEmail())
+                .address(user.getAddress())
+                .phone(user.getPhone())
+                .createdAt(user.getCreatedAt().toString())
+                .build();
+    }
+
     public ApiResponse<UserResponseDTO> getNasabahById(UUID userId) {
         Optional<User> userOptional = userRepository.findById(userId);
 
@@ -170,6 +279,10 @@ public class UserService {
         user.setAddress(request.getAddress());
         user.setPhone(request.getPhone());
         userRepository.save(user);
+        if (user.getRole() == RoleEnum.nasabah) {
+            searchIndexService.recordNasabah(user.getId(), user.getFullName());
+        }
+        listCountService.evictNasabah();
 
         UserResponseDTO userDto = UserResponseDTO.builder()
                 .id(user.getId().toString())
@@ -195,6 +308,10 @@ public class UserService {
         }
         
         userRepository.deleteById(userId);
+        dashboardAggregateService.recordNasabahDeleted();
+        searchIndexService.recordNasabahDeleted(userId);
+        listCountService.evictNasabah();
+        listCountService.evictAccounts();
         return ApiResponse.success("Nasabah deleted successfully", null);
     }
 }
\ No newline at end of file
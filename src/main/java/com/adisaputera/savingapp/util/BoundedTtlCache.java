@@ -0,0 +1,126 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded in-memory cache with a fixed time-to-live per entry. Entries are evicted
+ * oldest-first once the capacity is reached; all operations are O(1) except the
+ * predicate based invalidation.
+ *
+ * An entry can be stored with tags (e.g. the user and the accounts it was computed from).
+ * {@link #removeTagged} evicts the entries of one tag through an index, in time
+ * proportional to the number of those entries rather than the size of the cache.
+ */
+public class BoundedTtlCache<K, V> {
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final Map<Object, Set<K>> keysByTag = new HashMap<>();
+
+    public BoundedTtlCache(int maxSize, long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    untag(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        put(key, value, List.of());
+    }
+
+    public synchronized void put(K key, V value, Collection<?> tags) {
+        // remove dulu supaya entry pindah ke posisi terbaru
+        remove(key);
+        entries.put(key, new Entry<>(value, System.nanoTime(), List.copyOf(tags)));
+        for (Object tag : tags) {
+            keysByTag.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+        }
+    }
+
+    public synchronized void remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            untag(key, entry);
+        }
+    }
+
+    /**
+     * Removes every entry stored with the given tag.
+     */
+    public synchronized void removeTagged(Object tag) {
+        Set<K> keys = keysByTag.remove(tag);
+        if (keys == null) {
+            return;
+        }
+        for (K key : keys) {
+            remove(key);
+        }
+    }
+
+    public synchronized void removeIf(Predicate<K> predicate) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey())) {
+                iterator.remove();
+                untag(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByTag.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void untag(K key, Entry<V> entry) {
+        for (Object tag : entry.tags) {
+            Set<K> keys = keysByTag.get(tag);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByTag.remove(tag);
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+        private final List<Object> tags;
+
+        private Entry(V value, long createdAt, List<Object> tags) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.adisaputera.savingapp.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that bounds how many connections are checked out at once with a
+ * fair semaphore. Callers over the limit park on the semaphore in arrival order instead
+ * of spinning inside the pool. The permit is released
+ * when the returned connection is closed.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMillis;
+
+    public BulkheadDataSource(DataSource target, int maxConcurrent, long acquireTimeoutMillis) {
+        super(target);
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int waitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("DB bulkhead full: no permit within " + acquireTimeoutMillis + "ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a DB bulkhead permit", ex);
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        InvocationHandler handler = (proxy, method, args) -> invoke(proxy, connection, released, method, args);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, handler);
+    }
+
+    private Object invoke(Object proxy, Connection connection, AtomicBoolean released, Method method, Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(method.getName()) && args == null) {
+            return System.identityHashCode(proxy);
+        }
+        if ("toString".equals(method.getName()) && args == null) {
+            return "Bulkhead[" + connection + "]";
+        }
+
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        } finally {
+            // Permit dilepas sekali saja, walaupun close() dipanggil berulang
+            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Changes to an in-memory copy of DB state, recorded inside the DB transaction that writes
+ * them and applied only after that transaction commits, so rolled back writes never show.
+ *
+ * {@link #record()} returns the changes of the current transaction, created on first use.
+ * From just before its commit until its changes are applied, the transaction holds a read
+ * lock. {@link #snapshot} takes a PostgreSQL REPEATABLE READ snapshot under the matching
+ * write lock, so the snapshot and the applied changes cover the same commits: every change
+ * is either in the snapshot and already applied, or not in it and applied afterwards.
+ */
+public class CommitOrderedChanges<T> {
+    private final String name;
+    private final Supplier<T> factory;
+    private final Consumer<T> applier;
+    private final TransactionTemplate snapshotTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    public CommitOrderedChanges(String name, Supplier<T> factory, Consumer<T> applier,
+                                PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate) {
+        this.name = name;
+        this.factory = factory;
+        this.applier = applier;
+        this.jdbcTemplate = jdbcTemplate;
+
+        // Isolation non-default membuat koneksi diambil saat begin, sebelum write lock dipegang
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Changes of the current DB transaction, handed to the applier after it commits.
+     */
+    public T record() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException(name + " changes must be recorded inside a transaction");
+        }
+        // Di-bind ke transaksi sebagai resource dengan key instance ini, jadi cast-nya selalu benar
+        @SuppressWarnings("unchecked")
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending(factory.get());
+            TransactionSynchronizationManager.registerSynchronization(pending);
+            TransactionSynchronizationManager.bindResource(this, pending);
+        }
+        return pending.changes;
+    }
+
+    /**
+     * Runs read in a read-only REPEATABLE READ transaction. atSnapshot runs right after the
+     * snapshot is taken, while no change is between its commit and its application; its
+     * result is passed to read. Changes applied after atSnapshot are not in the snapshot.
+     */
+    public <S, R> R snapshot(Supplier<S> atSnapshot, Function<S, R> read) {
+        return snapshotTemplate.execute(status -> {
+            S state;
+            commitLock.writeLock().lock();
+            try {
+                // Snapshot REPEATABLE READ PostgreSQL dibuat di statement pertama
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                state = atSnapshot.get();
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+            return read.apply(state);
+        });
+    }
+
+    private final class Pending implements TransactionSynchronization {
+        private final T changes;
+        private boolean locked;
+
+        private Pending(T changes) {
+            this.changes = changes;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitLock.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            applier.accept(changes);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CommitOrderedChanges.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CommitOrderedChanges.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CommitOrderedChanges.this);
+            if (locked) {
+                locked = false;
+                commitLock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.adisaputera.savingapp.util;
+
+public class CsvUtil {
+
+    /**
+     * RFC 4180 field: null becomes empty, values with a comma, quote or line break are
+     * wrapped in quotes and inner quotes are doubled.
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,174 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Bounded queue drained by a fixed set of writer threads in micro-batches. A batch is
+ * closed when it reaches batchSize or when maxWait has passed since its first item,
+ * whichever comes first. The handler must return one result per item, in order; each
+ * caller's future completes only after the handler for its batch has returned.
+ *
+ * When the handler throws for a batch of several items, each item is handed to the
+ * handler again in a batch of its own, so only the callers whose item fails see the
+ * exception. The handler must therefore leave nothing behind when it throws, e.g. by
+ * running the whole batch in one DB transaction.
+ */
+public class GroupCommitQueue<T, R> {
+    private final BlockingQueue<Pending<T, R>> queue;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final long offerTimeoutMillis;
+    private final Function<List<T>, List<R>> handler;
+    private final IntConsumer batchSizeRecorder;
+    private final LongConsumer queueWaitRecorder;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public GroupCommitQueue(String name, int capacity, int batchSize, long maxWaitMillis, long offerTimeoutMillis, int writerCount,
+                            Function<List<T>, List<R>> handler, IntConsumer batchSizeRecorder, LongConsumer queueWaitRecorder) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.handler = handler;
+        this.batchSizeRecorder = batchSizeRecorder;
+        this.queueWaitRecorder = queueWaitRecorder;
+
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drainLoop, name + "-" + i);
+            writer.setDaemon(true);
+            writers.add(writer);
+            writer.start();
+        }
+    }
+
+    public CompletableFuture<R> submit(T item) {
+        Pending<T, R> pending = new Pending<>(item, System.nanoTime());
+        try {
+            if (!running || !queue.offer(pending, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Group commit queue is full");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the group commit queue", ex);
+        }
+        return pending.future;
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    public void shutdown() {
+        running = false;
+        for (Thread writer : writers) {
+            writer.interrupt();
+        }
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Pending<T, R> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new RejectedExecutionException("Group commit queue is shut down"));
+        }
+    }
+
+    private void drainLoop() {
+        List<Pending<T, R>> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending<T, R> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    // ambil yang sudah antri tanpa menunggu dulu
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Pending<T, R> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException ex) {
+                if (!running) {
+                    break;
+                }
+            } finally {
+                for (Pending<T, R> pending : batch) {
+                    if (!pending.future.isDone()) {
+                        pending.future.completeExceptionally(new RejectedExecutionException("Group commit writer stopped"));
+                    }
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending<T, R>> batch) {
+        long now = System.nanoTime();
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T, R> pending : batch) {
+            queueWaitRecorder.accept(now - pending.enqueuedAt);
+            items.add(pending.item);
+        }
+        batchSizeRecorder.accept(batch.size());
+
+        try {
+            List<R> results = handler.apply(items);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(ex);
+                return;
+            }
+            // Satu item yang gagal membatalkan seluruh batch; ulangi per item supaya
+            // hanya pemilik item itu yang menerima error-nya
+            for (Pending<T, R> pending : batch) {
+                try {
+                    pending.future.complete(handler.apply(List.of(pending.item)).get(0));
+                } catch (RuntimeException itemEx) {
+                    pending.future.completeExceptionally(itemEx);
+                }
+            }
+        }
+    }
+
+    private static final class Pending<T, R> {
+        private final T item;
+        private final long enqueuedAt;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        private Pending(T item, long enqueuedAt) {
+            this.item = item;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.adisaputera.savingapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.adisaputera.savingapp.exception.BadRequestException;
+
+/**
+ * Opaque cursor for keyset pagination. Holds the sort key and unique id of the last row
+ * of a page plus the scope and direction it was issued for, Base64url encoded so clients
+ * treat it as a token.
+ */
+public final class KeysetCursor {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final boolean descending;
+    private final String key;
+    private final String id;
+
+    private KeysetCursor(boolean descending, String key, String id) {
+        this.descending = descending;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String encode(String scope, boolean descending, Object key, Object id) {
+        // key ditaruh paling akhir karena bisa berisi karakter apa saja
+        String raw = scope + "\n" + (descending ? "desc" : "asc") + "\n" + id + "\n" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String scope, String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 4);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        if (parts.length != 4 || !parts[0].equals(scope) || !(parts[1].equals("asc") || parts[1].equals("desc"))) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        return new KeysetCursor(parts[1].equals("desc"), parts[3], parts[2]);
+    }
+
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * One row more than the limit is fetched to know whether a next page exists.
+     */
+    public static Pageable pageable(int limit, boolean descending, String keyProperty) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return PageRequest.of(0, limit + 1, Sort.by(direction, keyProperty, "id"));
+    }
+
+    public LocalDateTime getKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public UUID getIdAsUuid() {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public Long getIdAsLong() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
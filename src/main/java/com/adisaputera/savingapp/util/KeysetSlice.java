@@ -0,0 +1,38 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset query: the rows to return and the cursor of the last row when
+ * more rows exist. Built from a query that fetched limit + 1 rows.
+ */
+public class KeysetSlice<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    private KeysetSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> KeysetSlice<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new KeysetSlice<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        return new KeysetSlice<>(content, cursorOf.apply(content.get(limit - 1)));
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
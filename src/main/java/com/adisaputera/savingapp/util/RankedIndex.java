@@ -0,0 +1,227 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Keys ordered by a long score, highest first (ties by key ascending), with rank lookups.
+ * Backed by a treap whose nodes carry their subtree size, so put, remove and rank are
+ * O(log n) expected and the top n entries cost O(log n + n).
+ */
+public class RankedIndex<K extends Comparable<K>> {
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<K> root;
+
+    public record Entry<K>(K key, long score, int rank) {
+    }
+
+    public synchronized void put(K key, long score) {
+        Node<K> existing = nodes.get(key);
+        if (existing != null) {
+            if (existing.score == score) {
+                return;
+            }
+            root = remove(root, existing);
+        }
+        Node<K> node = new Node<>(key, score, random.nextInt());
+        nodes.put(key, node);
+        root = insert(root, node);
+    }
+
+    // Key yang belum ada dianggap mulai dari 0
+    public synchronized void add(K key, long delta) {
+        Node<K> existing = nodes.get(key);
+        put(key, (existing != null ? existing.score : 0L) + delta);
+    }
+
+    public synchronized boolean remove(K key) {
+        Node<K> existing = nodes.remove(key);
+        if (existing == null) {
+            return false;
+        }
+        root = remove(root, existing);
+        return true;
+    }
+
+    public synchronized Long score(K key) {
+        Node<K> node = nodes.get(key);
+        return node != null ? node.score : null;
+    }
+
+    /**
+     * 1-based position of the key, or 0 when it is not in the index.
+     */
+    public synchronized int rank(K key) {
+        Node<K> target = nodes.get(key);
+        if (target == null) {
+            return 0;
+        }
+        int before = 0;
+        Node<K> node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Indexed key is missing from the tree: " + key);
+    }
+
+    public synchronized List<Entry<K>> top(int n) {
+        List<Entry<K>> result = new ArrayList<>(Math.min(n, nodes.size()));
+        // In-order iteratif, berhenti setelah n entry
+        Deque<Node<K>> stack = new ArrayDeque<>();
+        Node<K> node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < n) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(new Entry<>(node.key, node.score, result.size() + 1));
+            node = node.right;
+        }
+        return result;
+    }
+
+    public synchronized List<K> keys() {
+        return new ArrayList<>(nodes.keySet());
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            split(node, inserted);
+            return update(inserted);
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return update(node);
+    }
+
+    // Pisahkan subtree di posisi pivot: yang lebih dulu ke pivot.left, sisanya ke pivot.right
+    private void split(Node<K> node, Node<K> pivot) {
+        Node<K> left = null;
+        Node<K> right = null;
+        Deque<Node<K>> leftPath = new ArrayDeque<>();
+        Deque<Node<K>> rightPath = new ArrayDeque<>();
+        Node<K> current = node;
+        while (current != null) {
+            if (compare(current, pivot) < 0) {
+                if (leftPath.isEmpty()) {
+                    left = current;
+                } else {
+                    leftPath.peek().right = current;
+                }
+                leftPath.push(current);
+                current = current.right;
+            } else {
+                if (rightPath.isEmpty()) {
+                    right = current;
+                } else {
+                    rightPath.peek().left = current;
+                }
+                rightPath.push(current);
+                current = current.left;
+            }
+        }
+        if (!leftPath.isEmpty()) {
+            leftPath.peek().right = null;
+        }
+        if (!rightPath.isEmpty()) {
+            rightPath.peek().left = null;
+        }
+        // Ukuran subtree dihitung ulang dari bawah ke atas
+        while (!leftPath.isEmpty()) {
+            update(leftPath.pop());
+        }
+        while (!rightPath.isEmpty()) {
+            update(rightPath.pop());
+        }
+        pivot.left = left;
+        pivot.right = right;
+    }
+
+    private Node<K> remove(Node<K> node, Node<K> removed) {
+        if (node == removed) {
+            return merge(node.left, node.right);
+        }
+        if (compare(removed, node) < 0) {
+            node.left = remove(node.left, removed);
+        } else {
+            node.right = remove(node.right, removed);
+        }
+        return update(node);
+    }
+
+    private Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    // Urutan index: skor terbesar dulu, skor sama diurutkan per key
+    private int compare(Node<K> a, Node<K> b) {
+        int cmp = Long.compare(b.score, a.score);
+        return cmp != 0 ? cmp : a.key.compareTo(b.key);
+    }
+
+    private static <K> Node<K> update(Node<K> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private final long score;
+        private final int priority;
+        private int size = 1;
+        private Node<K> left;
+        private Node<K> right;
+
+        private Node(K key, long score, int priority) {
+            this.key = key;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+}
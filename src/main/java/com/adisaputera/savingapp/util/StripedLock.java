@@ -0,0 +1,70 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks addressed by key hash. Writes on the same key are serialized,
+ * writes on different keys only contend when they land on the same stripe.
+ */
+public class StripedLock {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLock(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+
+    public int stripeOf(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Run action while holding the stripe of a single key
+     */
+    public <T> T withLock(String key, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeOf(key)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Run action while holding the stripes of all keys. Stripes are always taken in
+     * ascending index order so two callers locking overlapping key sets never deadlock.
+     */
+    public <T> T withLocks(Collection<String> keys, Supplier<T> action) {
+        int[] indexes = keys.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.adisaputera.savingapp.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive text search over keys, backed by posting lists of the trigrams of each
+ * text plus grams that mark the start of the text and of each word. A query of three or
+ * more characters matches texts that contain it; a shorter query matches texts with a word
+ * that starts with it.
+ *
+ * Results are ranked in tiers: text starting with the query, then a word starting with it,
+ * then any other match; within a tier shorter texts first, then by text and key. Posting
+ * lists are kept in that within-tier order, so a search walks the shortest list of each
+ * tier and stops as soon as the requested page is filled.
+ */
+public class TrigramIndex<K extends Comparable<K>> {
+    // Penanda awal teks; karakter kontrol dibuang oleh normalize, jadi tidak bentrok dengan isi teks
+    private static final char TEXT_START = '\0';
+
+    private final Map<K, Integer> docs = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(K key, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docs.get(key);
+            if (existing != null) {
+                if (texts.get(existing).equals(normalized)) {
+                    return;
+                }
+                removeDoc(existing);
+            }
+            addDoc(key, normalized, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds many entries at once. Entries are inserted in ranking order, so filling an empty
+     * index appends to every posting list without comparing or shifting.
+     */
+    public void putAll(Map<K, String> entries) {
+        List<Map.Entry<K, String>> sorted = new ArrayList<>(entries.size());
+        entries.forEach((key, text) -> sorted.add(Map.entry(key, normalize(text))));
+        sorted.sort(Comparator.<Map.Entry<K, String>>comparingInt(entry -> entry.getValue().length())
+                .thenComparing(Map.Entry::getValue)
+                .thenComparing(Map.Entry::getKey));
+        lock.writeLock().lock();
+        try {
+            boolean append = docs.isEmpty();
+            for (Map.Entry<K, String> entry : sorted) {
+                Integer existing = docs.get(entry.getKey());
+                if (existing != null) {
+                    removeDoc(existing);
+                }
+                addDoc(entry.getKey(), entry.getValue(), append);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(K key) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docs.get(key);
+            if (doc == null) {
+                return false;
+            }
+            removeDoc(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keys of the matches at positions offset..offset+limit-1 of the ranking.
+     */
+    public List<K> search(String query, int offset, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int wanted = offset + limit;
+        List<K> result = new ArrayList<>(limit);
+        int matched = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int tier = 0; tier <= 2 && matched < wanted; tier++) {
+                Postings shortest = shortestList(tierGrams(normalized, tier));
+                if (shortest == null) {
+                    continue;
+                }
+                // Urutan posting list sama dengan urutan ranking di dalam tier
+                for (int i = 0; i < shortest.size && matched < wanted; i++) {
+                    int doc = shortest.ids[i];
+                    if (tier(texts.get(doc), normalized) != tier) {
+                        continue;
+                    }
+                    if (matched++ >= offset) {
+                        result.add(keys.get(doc));
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            keys.clear();
+            texts.clear();
+            freeDocs.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDoc(K key, String text, boolean append) {
+        // Slot doc yang sudah dihapus dipakai ulang
+        Integer free = freeDocs.poll();
+        int doc;
+        if (free != null) {
+            doc = free;
+            keys.set(doc, key);
+            texts.set(doc, text);
+        } else {
+            doc = keys.size();
+            keys.add(key);
+            texts.add(text);
+        }
+        docs.put(key, doc);
+        for (String gram : grams(text)) {
+            Postings list = postings.computeIfAbsent(gram, g -> new Postings());
+            if (append) {
+                list.append(doc);
+            } else {
+                list.insert(doc);
+            }
+        }
+    }
+
+    private void removeDoc(int doc) {
+        for (String gram : grams(texts.get(doc))) {
+            Postings list = postings.get(gram);
+            // Gram yang muncul dua kali di teks sudah dihapus di putaran sebelumnya
+            if (list != null && list.remove(doc) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        docs.remove(keys.get(doc));
+        keys.set(doc, null);
+        texts.set(doc, null);
+        freeDocs.push(doc);
+    }
+
+    // Urutan ranking di dalam satu tier: teks lebih pendek, lalu teks, lalu key
+    private int compareDocs(int left, int right) {
+        String leftText = texts.get(left);
+        String rightText = texts.get(right);
+        int compared = Integer.compare(leftText.length(), rightText.length());
+        if (compared == 0) {
+            compared = leftText.compareTo(rightText);
+        }
+        return compared != 0 ? compared : keys.get(left).compareTo(keys.get(right));
+    }
+
+    private Postings shortestList(List<String> grams) {
+        if (grams.isEmpty()) {
+            return null;
+        }
+        Postings shortest = null;
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            if (shortest == null || list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        return shortest;
+    }
+
+    // Gram yang pasti dimiliki setiap teks di tier itu; kosong kalau tier tidak mungkin
+    private static List<String> tierGrams(String query, int tier) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            grams.add(query.substring(i, i + 3));
+        }
+        if (tier == 0) {
+            grams.add(startGram(TEXT_START, query));
+        } else if (tier == 1) {
+            if (!Character.isLetterOrDigit(query.charAt(0))) {
+                return List.of();
+            }
+            grams.add(startGram(' ', query));
+        } else if (query.length() < 3) {
+            return List.of();
+        }
+        return grams;
+    }
+
+    // 0: teks diawali query, 1: ada kata yang diawali query, 2: query di tengah kata, -1: tidak cocok
+    private static int tier(String text, String query) {
+        if (text.startsWith(query)) {
+            return 0;
+        }
+        boolean wordStart = Character.isLetterOrDigit(query.charAt(0));
+        boolean contains = false;
+        int found = text.indexOf(query, 1);
+        while (found >= 0) {
+            if (wordStart && !Character.isLetterOrDigit(text.charAt(found - 1))) {
+                return 1;
+            }
+            contains = true;
+            found = text.indexOf(query, found + 1);
+        }
+        return contains && query.length() >= 3 ? 2 : -1;
+    }
+
+    // Semua trigram teks, gram awal teks, dan gram awal setiap kata ("  a" dan " ab");
+    // bisa berisi duplikat, posting list mengabaikannya
+    private static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>(text.length() + 8);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        if (text.isEmpty()) {
+            return grams;
+        }
+        grams.add(startGram(TEXT_START, text.substring(0, 1)));
+        grams.add(startGram(TEXT_START, text));
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                grams.add(startGram(' ', text.substring(i, i + 1)));
+                grams.add(startGram(' ', text.substring(i)));
+            }
+        }
+        return grams;
+    }
+
+    // Satu karakter: dua penanda + karakter; lebih: satu penanda + dua karakter pertama
+    private static String startGram(char marker, String text) {
+        return text.length() == 1
+                ? new String(new char[] {marker, marker, text.charAt(0)})
+                : new String(new char[] {marker, text.charAt(0), text.charAt(1)});
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isISOControl(c)) {
+                // Spasi berturut-turut jadi satu, di awal dan akhir dibuang
+                if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                    normalized.append(' ');
+                }
+            } else {
+                normalized.append(c);
+            }
+        }
+        int end = normalized.length();
+        if (end > 0 && normalized.charAt(end - 1) == ' ') {
+            normalized.setLength(end - 1);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // Doc id diurutkan dengan compareDocs, bukan nilai id-nya
+    private final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        private void append(int doc) {
+            // Gram duplikat dari teks yang sama selalu berurutan
+            if (size > 0 && ids[size - 1] == doc) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = doc;
+        }
+
+        private void insert(int doc) {
+            int found = search(doc);
+            if (found >= 0) {
+                return;
+            }
+            int index = -found - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = doc;
+            size++;
+        }
+
+        private boolean remove(int doc) {
+            int index = search(doc);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private int search(int doc) {
+            // Doc terakhir diperiksa dulu: insert dalam urutan ranking langsung append
+            if (size == 0 || compareDocs(ids[size - 1], doc) < 0) {
+                return -size - 1;
+            }
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compared = compareDocs(ids[mid], doc);
+                if (compared < 0) {
+                    low = mid + 1;
+                } else if (compared > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+    }
+}
@@ -9,10 +9,7 @@ import java.util.UUID;
 
 public class UserUtil {
     public static User getCurrentLoggedInUser(UserRepository userRepository) {
-        String currentUserId = SecurityUtil.getCurrentUserId()
-                .orElseThrow(() -> new RuntimeException("User not authenticated"));
-        
-        UUID userId = UUID.fromString(currentUserId);
+        UUID userId = getCurrentLoggedInUserId();
         Optional<User> userOptional = userRepository.findById(userId);
         
         if (userOptional.isEmpty()) {
@@ -21,4 +18,12 @@ public class UserUtil {
         
         return userOptional.get();
     }
+
+    // Id user dari JWT, tanpa query ke database
+    public static UUID getCurrentLoggedInUserId() {
+        String currentUserId = SecurityUtil.getCurrentUserId()
+                .orElseThrow(() -> new RuntimeException("User not authenticated"));
+
+        return UUID.fromString(currentUserId);
+    }
 }
\ No newline at end of file
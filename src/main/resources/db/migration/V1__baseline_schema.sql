@@ -0,0 +1,65 @@
+-- Baseline: skema yang sebelumnya dibuat Hibernate (ddl-auto=create-drop)
+
+CREATE TABLE users (
+    id          uuid         NOT NULL,
+    full_name   varchar(100) NOT NULL,
+    email       varchar(100) NOT NULL,
+    password    varchar(100) NOT NULL,
+    role        varchar(255) NOT NULL CHECK (role IN ('nasabah', 'admin')),
+    address     varchar(300),
+    phone       varchar(15),
+    created_at  timestamp(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE accounts (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY,
+    account_code    varchar(20) UNIQUE,
+    user_id         uuid        NOT NULL,
+    is_active       boolean     NOT NULL,
+    total_deposit   bigint      NOT NULL,
+    total_withdraw  bigint      NOT NULL,
+    balance         bigint      NOT NULL,
+    hot_slots       integer,
+    created_at      timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id            uuid         NOT NULL,
+    account_code  varchar(20)  NOT NULL,
+    type          varchar(255) NOT NULL CHECK (type IN ('deposit', 'withdraw', 'transfer_in', 'transfer_out')),
+    amount        bigint       NOT NULL,
+    balance       bigint       NOT NULL,
+    reference_id  uuid,
+    note          varchar(200),
+    occurred_at   timestamp(6) NOT NULL,
+    created_at    timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_account FOREIGN KEY (account_code) REFERENCES accounts (account_code)
+);
+
+-- Slot saldo hot account; PK diawali account_code karena semua akses per account
+CREATE TABLE account_balance_slots (
+    account_code    varchar(20) NOT NULL,
+    slot            integer     NOT NULL,
+    balance         bigint      NOT NULL,
+    total_deposit   bigint      NOT NULL,
+    total_withdraw  bigint      NOT NULL,
+    PRIMARY KEY (account_code, slot)
+);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key      varchar(100) NOT NULL,
+    request_fingerprint  varchar(300) NOT NULL,
+    response_body        text         NOT NULL,
+    created_at           timestamp(6) NOT NULL,
+    expires_at           timestamp(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+-- Keyset paging (seek + ORDER BY tanpa sort tambahan)
+CREATE INDEX idx_transactions_account_occurred_at_id ON transactions (account_code, occurred_at, id);
+CREATE INDEX idx_accounts_created_at_id ON accounts (created_at, id);
+CREATE INDEX idx_users_role_full_name_id ON users (role, full_name, id);
@@ -0,0 +1,20 @@
+-- Index untuk access path repository yang sebelumnya sequential scan.
+-- Cek dengan RepositoryQueryPlanTest (SAVINGAPP_PLAN_TESTS=true).
+
+-- Daftar rekening per nasabah (findAllByUserId, findByUserIdId, keyset ByUserId, count per user),
+-- sekaligus index untuk FK accounts.user_id
+CREATE INDEX idx_accounts_user_id_created_at_id ON accounts (user_id, created_at, id);
+
+-- Dashboard admin: countByIsActive. Hibernate menghitung count(id), dengan id di index
+-- jadi index only scan (tanpa baca heap). Untuk nilai mayoritas (aktif) planner tetap
+-- boleh memilih seq scan karena hampir seluruh tabel dibaca.
+CREATE INDEX idx_accounts_is_active_id ON accounts (is_active, id);
+
+-- Load hot account saat startup (findAllHotAccounts), hanya berisi beberapa row
+CREATE INDEX idx_accounts_hot_slots ON accounts (account_code) WHERE hot_slots > 0;
+
+-- Login dan DataLoader (findByEmail)
+CREATE INDEX idx_users_email ON users (email);
+
+-- Purge idempotency key (deleteExpired)
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,8 @@
+-- Pencarian note transaksi (keyword di list transaksi): ILIKE '%...%' tidak bisa pakai B-tree,
+-- jadi pakai trigram GIN. btree_gin supaya account_code ikut di index yang sama: satu index
+-- scan untuk "account ini DAN note mengandung keyword", tanpa membaca seluruh history account.
+-- Kedua extension trusted (PostgreSQL 13+), cukup owner database untuk CREATE EXTENSION.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_transactions_account_code_note_trgm ON transactions USING gin (account_code, note gin_trgm_ops);
@@ -0,0 +1,40 @@
+-- Saldo akhir hari per account, dibangun BalanceCheckpointService. Saldo pada waktu T =
+-- checkpoint terakhir sebelum hari T + transaksi setelah checkpoint sampai T.
+-- Hanya hari yang ada transaksinya yang punya checkpoint.
+CREATE TABLE account_balance_checkpoints (
+    account_code     varchar(20)  NOT NULL,
+    checkpoint_date  date         NOT NULL,
+    balance          bigint       NOT NULL,
+    total_deposit    bigint       NOT NULL,
+    total_withdraw   bigint       NOT NULL,
+    created_at       timestamp(6) NOT NULL,
+    PRIMARY KEY (account_code, checkpoint_date),
+    CONSTRAINT fk_account_balance_checkpoints_account FOREIGN KEY (account_code)
+        REFERENCES accounts (account_code) ON DELETE CASCADE
+);
+
+-- Transaksi back-dated (occurred_at di hari yang sudah punya checkpoint) membuat checkpoint
+-- hari itu dan sesudahnya salah: hapus, job membangunnya lagi di run berikutnya.
+-- Transaksi biasa (occurred_at = sekarang) tidak pernah kena karena job hanya membuat
+-- checkpoint untuk hari yang sudah lewat lebih dari 1 jam. Untuk baris yang lebih tua dari
+-- itu trigger mengambil lock yang bentrok dengan lock job, jadi job yang sedang jalan
+-- tidak bisa menulis checkpoint yang belum melihat baris ini.
+CREATE FUNCTION invalidate_balance_checkpoints() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM new_rows WHERE occurred_at < localtimestamp - interval '1 hour') THEN
+        RETURN NULL;
+    END IF;
+
+    LOCK TABLE account_balance_checkpoints IN ROW EXCLUSIVE MODE;
+    DELETE FROM account_balance_checkpoints c
+    USING (SELECT account_code, min(occurred_at)::date AS from_date FROM new_rows GROUP BY account_code) n
+    WHERE c.account_code = n.account_code AND c.checkpoint_date >= n.from_date;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_transactions_invalidate_balance_checkpoints
+    AFTER INSERT ON transactions
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION invalidate_balance_checkpoints();
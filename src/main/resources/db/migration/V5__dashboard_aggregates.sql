@@ -0,0 +1,26 @@
+-- Total global untuk dashboard admin, satu row (id = 1). Nilai yang dipakai ada di memori
+-- (DashboardAggregateService); row ini salinan yang ditulis berkala supaya restart tidak
+-- perlu menjumlah ulang seluruh tabel. Job rekonsiliasi mengoreksi selisihnya.
+CREATE TABLE dashboard_aggregates (
+    id                      smallint     PRIMARY KEY CHECK (id = 1),
+    total_nasabah           bigint       NOT NULL,
+    total_account_active    bigint       NOT NULL,
+    total_account_inactive  bigint       NOT NULL,
+    total_deposit           bigint       NOT NULL,
+    total_withdraw          bigint       NOT NULL,
+    total_balance           bigint       NOT NULL,
+    updated_at              timestamp(6) NOT NULL
+);
+
+-- Nilai awal dari data yang sudah ada, termasuk saldo di slot hot account
+INSERT INTO dashboard_aggregates (id, total_nasabah, total_account_active, total_account_inactive,
+                                  total_deposit, total_withdraw, total_balance, updated_at)
+SELECT 1,
+       (SELECT count(*) FROM users WHERE role = 'nasabah'),
+       count(*) FILTER (WHERE a.is_active),
+       count(*) FILTER (WHERE NOT a.is_active),
+       COALESCE(sum(a.total_deposit), 0) + (SELECT COALESCE(sum(total_deposit), 0) FROM account_balance_slots),
+       COALESCE(sum(a.total_withdraw), 0) + (SELECT COALESCE(sum(total_withdraw), 0) FROM account_balance_slots),
+       COALESCE(sum(a.balance), 0) + (SELECT COALESCE(sum(balance), 0) FROM account_balance_slots),
+       localtimestamp
+FROM accounts a;
@@ -0,0 +1,20 @@
+-- Ringkasan harian per account, di-upsert di transaksi DB yang sama dengan penulisan
+-- transaksinya. Agregat rentang waktu membaca paling banyak satu row per hari per shard.
+-- shard 0 ditulis oleh semua jalur yang memegang lock row account; deposit/withdraw hot
+-- account menulis shard 1..N acak supaya writer paralel tidak antre di satu row.
+-- Isi awal dibangun DailySummaryService.backfill (juga untuk data lama saat migrasi ini).
+CREATE TABLE account_daily_summary (
+    account_code        varchar(20)  NOT NULL,
+    summary_date        date         NOT NULL,
+    shard               smallint     NOT NULL,
+    total_deposit       bigint       NOT NULL,
+    total_withdraw      bigint       NOT NULL,
+    total_transfer_in   bigint       NOT NULL,
+    total_transfer_out  bigint       NOT NULL,
+    transaction_count   integer      NOT NULL,
+    closing_balance     bigint       NOT NULL,
+    last_occurred_at    timestamp(6) NOT NULL,
+    PRIMARY KEY (account_code, summary_date, shard),
+    CONSTRAINT fk_account_daily_summary_account FOREIGN KEY (account_code)
+        REFERENCES accounts (account_code) ON DELETE CASCADE
+);
@@ -0,0 +1,11 @@
+-- Id account dari sequence biasa dengan increment 50: Hibernate mengambil satu blok id per
+-- nextval (pooled optimizer), jadi account code bisa dibuat sebelum insert dan insert bisa di-batch.
+-- Sequence identity tidak terbaca oleh validasi skema Hibernate, jadi kolom diubah ke DEFAULT nextval.
+-- Nilai sequence adalah id tertinggi blok (nextval pertama = max(id) + 50). Insert lewat SQL
+-- yang memakai default kolom (satu nextval, satu id) tidak bentrok dengan blok milik aplikasi.
+ALTER TABLE accounts ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE accounts_id_seq INCREMENT BY 50 OWNED BY accounts.id;
+SELECT setval('accounts_id_seq', COALESCE((SELECT max(id) FROM accounts), 0) + 50, false);
+
+ALTER TABLE accounts ALTER COLUMN id SET DEFAULT nextval('accounts_id_seq');
@@ -0,0 +1,415 @@
+package com.adisaputera.savingapp.repository;
+
+import com.adisaputera.savingapp.model.Account;
+import com.adisaputera.savingapp.model.RoleEnum;
+import com.adisaputera.savingapp.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs repository methods against a seeded PostgreSQL database, captures the SQL and bind
+ * values Hibernate sends, and EXPLAINs each statement. Fails when a statement reads one of
+ * the large tables with a sequential scan, i.e. when a query no longer matches an index.
+ *
+ * Needs a local PostgreSQL database that may be truncated:
+ * SAVINGAPP_PLAN_TESTS=true, optionally SAVINGAPP_PLAN_TESTS_URL (default
+ * jdbc:postgresql://localhost:5432/savingapp_plan_test).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    private static final int NASABAH = 20_000;
+    private static final int ACCOUNTS_PER_NASABAH = 2;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 12;
+    private static final int IDEMPOTENCY_KEYS = 100_000;
+    private static final Set<String> LARGE_TABLES = Set.of("users", "accounts", "transactions", "idempotency_keys", "account_daily_summary");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private RecordingDataSource recorder;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired private AccountBalanceCheckpointRepository checkpointRepository;
+    @Autowired private AccountDailySummaryRepository dailySummaryRepository;
+    @Autowired private DailyFlowSummaryRepository dailyFlowSummaryRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Account account;
+    private User nasabah;
+
+    @BeforeAll
+    void seedLargeDataset() {
+        jdbcTemplate.execute("TRUNCATE transactions, account_balance_slots, accounts, users, idempotency_keys, daily_flow_summary RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) " +
+                "SELECT gen_random_uuid(), 'Nasabah ' || lpad(g::text, 6, '0'), 'nasabah' || g || '@example.com', 'x', " +
+                "CASE WHEN g % 1000 = 0 THEN 'admin' ELSE 'nasabah' END, now() - g * interval '1 minute' " +
+                "FROM generate_series(1, ?) g", NASABAH);
+        // Kira-kira sebaran DataLoader: rekening pertama selalu aktif, sisanya acak
+        jdbcTemplate.update("INSERT INTO accounts (id, account_code, user_id, is_active, total_deposit, total_withdraw, balance, hot_slots, created_at) " +
+                "OVERRIDING SYSTEM VALUE SELECT s.id, 'ACC-' || lpad(s.id::text, 6, '0'), s.user_id, random() < 0.8, 0, 0, 0, " +
+                "CASE WHEN random() < 0.0005 THEN 4 END, s.created_at " +
+                "FROM (SELECT row_number() OVER () AS id, u.id AS user_id, u.created_at + n * interval '1 second' AS created_at " +
+                "FROM users u CROSS JOIN generate_series(1, ?) n) s", ACCOUNTS_PER_NASABAH);
+        jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('accounts', 'id'), (SELECT max(id) FROM accounts))");
+        jdbcTemplate.update("INSERT INTO transactions (id, account_code, type, amount, balance, note, occurred_at, created_at) " +
+                "SELECT gen_random_uuid(), a.account_code, CASE WHEN n % 3 = 0 THEN 'withdraw' ELSE 'deposit' END, 10000, n * 10000, " +
+                "'Transaksi ' || n, now() - n * interval '1 day', now() - n * interval '1 day' " +
+                "FROM accounts a CROSS JOIN generate_series(1, ?) n", TRANSACTIONS_PER_ACCOUNT);
+        jdbcTemplate.update("INSERT INTO account_daily_summary (account_code, summary_date, shard, total_deposit, total_withdraw, " +
+                "total_transfer_in, total_transfer_out, transaction_count, deposit_count, withdraw_count, closing_balance, last_occurred_at) " +
+                "SELECT account_code, CAST(occurred_at AS date), 0, COALESCE(SUM(amount) FILTER (WHERE type = 'deposit'), 0), " +
+                "COALESCE(SUM(amount) FILTER (WHERE type = 'withdraw'), 0), 0, 0, count(*), count(*) FILTER (WHERE type = 'deposit'), " +
+                "count(*) FILTER (WHERE type = 'withdraw'), max(balance), max(occurred_at) " +
+                "FROM transactions GROUP BY account_code, CAST(occurred_at AS date)");
+        jdbcTemplate.update("INSERT INTO daily_flow_summary (summary_date, shard, total_deposit, total_withdraw, deposit_count, withdraw_count) " +
+                "SELECT summary_date, 0, SUM(total_deposit), SUM(total_withdraw), SUM(deposit_count), SUM(withdraw_count) " +
+                "FROM account_daily_summary GROUP BY summary_date");
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, response_body, created_at, expires_at) " +
+                "SELECT 'key-' || g, 'fp', '{}', now(), now() + g * interval '1 second' FROM generate_series(1, ?) g", IDEMPOTENCY_KEYS);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @BeforeEach
+    void setUp() {
+        account = accountRepository.findByAccountCode("ACC-000042").orElseThrow();
+        nasabah = account.getUserId();
+        recorder.clear();
+    }
+
+    @Test
+    void transactionListByAccountAndPeriod() {
+        // When
+        transactionRepository.findByAccountCode_AccountCodeAndOccurredAtBetween(account.getAccountCode(),
+                LocalDateTime.now().minusMonths(3), LocalDateTime.now(), PageRequest.of(0, 20, Sort.by("createdAt").descending()));
+        transactionRepository.findByAccountCode_AccountCode(account.getAccountCode(), PageRequest.of(1, 20, Sort.by("createdAt").descending()));
+        transactionRepository.findByAccountCodeAndOccurredAtBetween(account, LocalDateTime.now().minusYears(1), LocalDateTime.now());
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void transactionKeysetAndSlicePages() {
+        // Given
+        Pageable keyset = PageRequest.of(0, 21, Sort.by(Sort.Direction.DESC, "occurredAt", "id"));
+        LocalDateTime from = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        // When
+        transactionRepository.findKeysetFirst(account.getAccountCode(), from, LocalDateTime.now(), keyset);
+        transactionRepository.findKeysetAfter(account.getAccountCode(), from, LocalDateTime.now(),
+                LocalDateTime.now().minusDays(5), UUID.randomUUID(), keyset);
+        transactionRepository.findSliceByAccountCode_AccountCode(account.getAccountCode(), PageRequest.of(0, 20, Sort.by("occurredAt")));
+        transactionRepository.countByAccountCode_AccountCode(account.getAccountCode());
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void transactionNoteSearch() {
+        // Given
+        Pageable keyset = PageRequest.of(0, 21, Sort.by(Sort.Direction.DESC, "occurredAt", "id"));
+        LocalDateTime from = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+        // When
+        transactionRepository.findByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(account.getAccountCode(),
+                from, LocalDateTime.now(), "bayar listrik", PageRequest.of(0, 20, Sort.by("occurredAt").descending()));
+        transactionRepository.findKeysetFirstByNote(account.getAccountCode(), from, LocalDateTime.now(), "transaksi 1", keyset);
+        transactionRepository.countByAccountCode_AccountCodeAndOccurredAtBetweenAndNoteContainingIgnoreCase(account.getAccountCode(),
+                from, LocalDateTime.now(), "transaksi");
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void accountLookupsAndDashboardCounts() {
+        // When
+        accountRepository.findByAccountCode(account.getAccountCode());
+        // countByIsActive(true) tidak dicek: membaca ~80% tabel, seq scan memang plan termurah
+        accountRepository.countByIsActive(false);
+        accountRepository.findAllHotAccounts();
+        accountRepository.findAllByUserId(nasabah);
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void nasabahDashboardTotals() {
+        // When
+        accountRepository.findDashboardTotals(nasabah.getId(), null, null, LocalDate.of(1970, 1, 1), LocalDate.now());
+        accountRepository.findDashboardTotals(nasabah.getId(), account.getAccountCode(), true, LocalDate.now().minusMonths(1), LocalDate.now());
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void accountListPages() {
+        // Given
+        Pageable byCreatedAt = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+        Pageable keyset = PageRequest.of(0, 21, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+
+        // When
+        accountRepository.findByUserIdId(nasabah.getId(), byCreatedAt);
+        accountRepository.findAllSlice(byCreatedAt);
+        accountRepository.findKeysetFirst("", keyset);
+        accountRepository.findKeysetAfter("", account.getCreatedAt(), account.getId(), keyset);
+        accountRepository.findKeysetFirstByUserId(nasabah.getId(), "", keyset);
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void userLookupsAndNasabahPages() {
+        // Given
+        Pageable byFullName = PageRequest.of(0, 20, Sort.by("fullName").ascending());
+        Pageable keyset = PageRequest.of(0, 21, Sort.by(Sort.Direction.ASC, "fullName", "id"));
+
+        // When
+        userRepository.findByEmail(nasabah.getEmail());
+        userRepository.findByRole(RoleEnum.admin, byFullName);
+        userRepository.findSliceByRole(RoleEnum.nasabah, byFullName);
+        userRepository.findKeysetFirst(RoleEnum.nasabah, "", keyset);
+        userRepository.findKeysetAfter(RoleEnum.nasabah, "", nasabah.getFullName(), nasabah.getId(), keyset);
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void idempotencyKeyPurge() {
+        // When
+        idempotencyKeyRepository.deleteExpired(LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void balanceCheckpointLookupsAndBuild() {
+        // Given
+        LocalDateTime at = LocalDateTime.now().minusDays(4);
+
+        // When
+        checkpointRepository.findLatestBefore(account.getAccountCode(), at.toLocalDate());
+        checkpointRepository.sumBetween(account.getAccountCode(), at.minusDays(1), at);
+        Long upToId = accountRepository.findBatchUpperId(account.getId(), 500);
+        checkpointRepository.insertDailyCheckpoints(account.getId(), upToId, LocalDateTime.now().toLocalDate().atStartOfDay(), LocalDateTime.now());
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void dailySummaryUpsertAndBackfill() {
+        // Given
+        Long upToId = accountRepository.findBatchUpperId(account.getId() - 1, 100);
+
+        // When
+        dailySummaryRepository.upsert(account.getAccountCode(), LocalDate.now(), (short) 0, 10000, 0, 0, 0, 1, 1, 0, 10000, LocalDateTime.now());
+        accountRepository.lockIdRange(account.getId() - 1, upToId);
+        dailySummaryRepository.deleteForAccounts(account.getId() - 1, upToId);
+        dailySummaryRepository.insertFromTransactions(account.getId() - 1, upToId);
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    @Test
+    void flowAnalyticsBuckets() {
+        // When
+        dailyFlowSummaryRepository.findFlowBuckets("week", LocalDate.now().minusYears(1), LocalDate.now());
+        dailySummaryRepository.findFlowBucketsByUserId(nasabah.getId(), "month", LocalDate.now().minusYears(1), LocalDate.now());
+
+        // Then
+        assertNoSequentialScan();
+    }
+
+    private void assertNoSequentialScan() {
+        List<RecordedStatement> statements = recorder.statements();
+        assertFalse(statements.isEmpty(), "no statement captured");
+
+        List<String> failures = new ArrayList<>();
+        for (RecordedStatement statement : statements) {
+            JsonNode plan = explain(statement);
+            List<String> seqScans = new ArrayList<>();
+            collectSequentialScans(plan, seqScans);
+            if (!seqScans.isEmpty()) {
+                failures.add("Seq Scan on " + seqScans + " for: " + statement.sql() + "\n" + plan.toPrettyString());
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n\n", failures));
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                statement.bind(explain);
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+                } catch (java.io.IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        });
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText()) && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, seqScans);
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                        return new RecordingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Statement text plus the setXxx calls that bound its parameters, replayed onto the
+     * EXPLAIN statement.
+     */
+    record RecordedStatement(String sql, List<Binding> bindings) {
+        void bind(PreparedStatement target) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(target, binding.args());
+                } catch (IllegalAccessException ex) {
+                    throw new IllegalStateException(ex);
+                } catch (InvocationTargetException ex) {
+                    if (ex.getTargetException() instanceof SQLException sql) {
+                        throw sql;
+                    }
+                    throw new IllegalStateException(ex.getTargetException());
+                }
+            }
+        }
+    }
+
+    record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Records every SELECT / UPDATE / DELETE executed through a prepared statement.
+     */
+    static class RecordingDataSource extends DelegatingDataSource {
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recordingConnection(super.getConnection());
+        }
+
+        private Connection recordingConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if ("prepareStatement".equals(method.getName()) && args[0] instanceof String sql && isExplainable(sql)) {
+                        return recordingStatement((PreparedStatement) result, sql);
+                    }
+                    return result;
+                });
+        }
+
+        private PreparedStatement recordingStatement(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        bindings.add(new Binding(method, args.clone()));
+                    } else if (name.equals("clearParameters")) {
+                        bindings.clear();
+                    } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                        statements.add(new RecordedStatement(sql, List.copyOf(bindings)));
+                    }
+                    return invoke(statement, method, args);
+                });
+        }
+
+        private static boolean isExplainable(String sql) {
+            String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return head.startsWith("select") || head.startsWith("update") || head.startsWith("delete");
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateAccountRequestDTO;
+import com.adisaputera.savingapp.dto.response.AccountListResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchItemResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchResponseDTO;
+import com.adisaputera.savingapp.model.AccountRankByEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates accounts through the batch endpoint's service method and checks the SQL it runs:
+ * ids come from the pooled sequence, so each block of accounts needs one nextval and the
+ * account code is part of the INSERT, with no UPDATE of the rows afterwards.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.adisaputera.savingapp.service.ListStatementCountTest$StatementCounter"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AccountBatchCreateTest {
+
+    private static final String EMAIL = "account-batch@example.com";
+    private static final int ACCOUNTS = 120;
+
+    @Autowired private AccountService accountService;
+    @Autowired private AccountDirectoryService accountDirectoryService;
+    @Autowired private AccountRankingService accountRankingService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Account Batch', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM accounts WHERE user_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void batchInsertsAccountsWithCodesFromPooledIds() {
+        // Given: item valid, diselingi satu user id rusak dan satu user yang tidak ada
+        List<CreateAccountRequestDTO> request = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            request.add(new CreateAccountRequestDTO(ownerId.toString()));
+        }
+        request.add(10, new CreateAccountRequestDTO("not-a-uuid"));
+        request.add(new CreateAccountRequestDTO(UUID.randomUUID().toString()));
+
+        // When
+        ListStatementCountTest.StatementCounter.start();
+        BatchResponseDTO<AccountListResponseDTO> response = accountService.createAccountBatch(request).getData();
+        List<String> statements = ListStatementCountTest.StatementCounter.stop();
+
+        // Then
+        assertEquals(ACCOUNTS + 2, response.getTotal());
+        assertEquals(ACCOUNTS, response.getSucceeded());
+        assertEquals("error", response.getItems().get(10).getStatus());
+        assertEquals("error", response.getItems().get(ACCOUNTS + 1).getStatus());
+
+        Map<String, Long> idsByCode = jdbcTemplate.queryForList("SELECT account_code, id FROM accounts WHERE user_id = ?", ownerId).stream()
+                .collect(Collectors.toMap(row -> (String) row.get("account_code"), row -> ((Number) row.get("id")).longValue()));
+        assertEquals(ACCOUNTS, idsByCode.size());
+        idsByCode.forEach((accountCode, id) -> assertEquals(String.format("ACC-%06d", id), accountCode));
+
+        String summary = String.join("\n", statements);
+        assertEquals(0, statements.stream().filter(sql -> sql.startsWith("update accounts")).count(), summary);
+        // Satu blok 50 id per nextval, ditambah blok yang mungkin sudah setengah terpakai
+        long nextvals = statements.stream().filter(sql -> sql.contains("nextval")).count();
+        assertTrue(nextvals <= ACCOUNTS / 50 + 1, summary);
+
+        for (BatchItemResponseDTO<AccountListResponseDTO> item : response.getItems()) {
+            if (item.getData() != null) {
+                String accountCode = item.getData().getAccountCode();
+                assertTrue(idsByCode.containsKey(accountCode));
+                assertEquals(ownerId, accountDirectoryService.findOwnerId(accountCode).orElseThrow());
+                assertEquals(0L, accountRankingService.getRank(AccountRankByEnum.balance, accountCode).getData().getBalance());
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.ChangeAccountStatusRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateAccountRequestDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Changes account status from several threads while the directory is reloaded in a loop,
+ * then changes a row behind the services' back and creates and deletes an account. The
+ * directory must end up with the accounts table: reloads must not bring back a status
+ * that a concurrent change already replaced.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.account.directory.reload-interval-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AccountDirectoryServiceTest {
+
+    private static final String EMAIL = "account-directory@example.com";
+    private static final List<String> ACCOUNTS = List.of("DIR-000001", "DIR-000002", "DIR-000003", "DIR-000004");
+    private static final int TOGGLES_PER_ACCOUNT = 200;
+
+    @Autowired private AccountService accountService;
+    @Autowired private AccountDirectoryService accountDirectoryService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Account Directory', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        for (String accountCode : ACCOUNTS) {
+            jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                    "VALUES (?, ?, true, 0, 0, 0, now())", accountCode, ownerId);
+        }
+        accountDirectoryService.reload();
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'DIR-%' OR user_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void directoryMatchesAccountsAfterChangesDuringReloads() throws Exception {
+        // Given
+        assertEquals(ownerId, accountDirectoryService.findOwnerId(ACCOUNTS.get(0)).orElseThrow());
+
+        // When: status tiap account diubah bolak-balik sementara reload berjalan terus;
+        // writer lanjut sampai minimal dua reload selesai, karena reload bisa lebih lama dari toggle
+        ExecutorService executor = Executors.newFixedThreadPool(ACCOUNTS.size() + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger reloadRuns = new AtomicInteger();
+        int reloads;
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (String accountCode : ACCOUNTS) {
+                writers.add(executor.submit(() -> {
+                    int i = 0;
+                    do {
+                        i++;
+                        accountService.updateAccountStatus(new ChangeAccountStatusRequestDTO(i % 2 == 0, accountCode));
+                    } while (i < TOGGLES_PER_ACCOUNT || i % 2 == 1 || reloadRuns.get() < 2);
+                }));
+            }
+            Future<Integer> reloader = executor.submit(() -> {
+                int runs = 0;
+                while (writing.get()) {
+                    assertEquals(0, accountDirectoryService.reload(), "reload should find no drift");
+                    reloadRuns.incrementAndGet();
+                    runs++;
+                }
+                return runs;
+            });
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            reloads = reloader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then: jumlah toggle genap, semua account kembali aktif
+        assertTrue(reloads > 1, "reloads should overlap the status changes");
+        for (String accountCode : ACCOUNTS) {
+            assertTrue(accountDirectoryService.find(accountCode).orElseThrow().active());
+            assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject("SELECT is_active FROM accounts WHERE account_code = ?", Boolean.class, accountCode));
+        }
+
+        // When: row diubah lewat SQL, di luar service
+        jdbcTemplate.update("UPDATE accounts SET is_active = false WHERE account_code = ?", ACCOUNTS.get(0));
+
+        // Then: baru terlihat setelah reload
+        assertTrue(accountDirectoryService.find(ACCOUNTS.get(0)).orElseThrow().active());
+        assertEquals(1, accountDirectoryService.reload());
+        assertFalse(accountDirectoryService.find(ACCOUNTS.get(0)).orElseThrow().active());
+
+        // When
+        String created = accountService.createAccount(new CreateAccountRequestDTO(ownerId.toString())).getData().getAccountCode();
+        AccountDirectoryService.Entry createdEntry = accountDirectoryService.find(created).orElseThrow();
+        accountService.deleteAccount(created);
+
+        // Then
+        assertEquals(ownerId, createdEntry.ownerId());
+        assertTrue(createdEntry.active());
+        assertFalse(accountDirectoryService.exists(created));
+        assertEquals(0, accountDirectoryService.reload());
+    }
+}
@@ -0,0 +1,154 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateAccountRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateTransferRequestDTO;
+import com.adisaputera.savingapp.dto.response.AccountRankResponseDTO;
+import com.adisaputera.savingapp.exception.ResourceNotFoundException;
+import com.adisaputera.savingapp.model.AccountRankByEnum;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes through the transaction paths (hot account slots from several threads, withdraw,
+ * transfer) while the ranking is rebuilt in a loop, then creates and deletes an account.
+ * The index must end up with the effective values of the accounts table: rebuilds must
+ * neither drop nor double count the changes that commit while they read.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.account.ranking.rebuild-interval-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AccountRankingServiceTest {
+
+    private static final String HOT_ACCOUNT = "RNK-000001";
+    private static final String ACCOUNT = "RNK-000002";
+    private static final String EMAIL = "account-ranking@example.com";
+    private static final int WRITERS = 4;
+    private static final int DEPOSITS_PER_WRITER = 50;
+    private static final String EFFECTIVE_SQL = "SELECT a.balance + COALESCE((SELECT SUM(balance) FROM account_balance_slots s " +
+            "WHERE s.account_code = a.account_code), 0) AS balance, a.total_deposit + COALESCE((SELECT SUM(total_deposit) " +
+            "FROM account_balance_slots s WHERE s.account_code = a.account_code), 0) AS total_deposit FROM accounts a WHERE a.account_code = ?";
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private AccountService accountService;
+    @Autowired private HotAccountService hotAccountService;
+    @Autowired private AccountRankingService accountRankingService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Account Ranking', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now()), (?, ?, true, 5000000000, 0, 5000000000, now())", HOT_ACCOUNT, ownerId, ACCOUNT, ownerId);
+        hotAccountService.configureSlots(HOT_ACCOUNT, 4);
+        // Fixture ditulis lewat SQL, jadi index dibangun ulang dulu
+        accountRankingService.rebuild();
+    }
+
+    @AfterAll
+    void removeFixture() {
+        if (hotAccountService.isHot(HOT_ACCOUNT)) {
+            hotAccountService.configureSlots(HOT_ACCOUNT, 0);
+        }
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'RNK-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'RNK-%' OR user_id IN (SELECT id FROM users WHERE email = ?)", EMAIL);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void indexMatchesAccountsAfterWritesDuringRebuilds() throws Exception {
+        // Given: ACCOUNT punya saldo terbesar di database uji
+        assertEquals(ACCOUNT, accountRankingService.getTop(AccountRankByEnum.balance, 1).getData().get(0).getAccountCode());
+
+        // When: deposit paralel di hot account sementara rebuild berjalan terus
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        int rebuilds;
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < DEPOSITS_PER_WRITER; i++) {
+                        transactionService.createTransaction(request(HOT_ACCOUNT, TypeTransactionEnum.deposit, 1000), null);
+                    }
+                }));
+            }
+            Future<Integer> rebuilder = executor.submit(() -> {
+                int runs = 0;
+                while (writing.get()) {
+                    assertEquals(0, accountRankingService.rebuild(), "rebuild should find no drift");
+                    runs++;
+                }
+                return runs;
+            });
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            rebuilds = rebuilder.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        transactionService.createTransaction(request(HOT_ACCOUNT, TypeTransactionEnum.withdraw, 2500), null);
+        transactionService.createTransferForAdmin(CreateTransferRequestDTO.builder()
+                .fromAccountCode(ACCOUNT).toAccountCode(HOT_ACCOUNT).amount(4000L).build());
+
+        // Then
+        assertTrue(rebuilds > 1, "rebuilds should overlap the writes");
+        for (String accountCode : List.of(HOT_ACCOUNT, ACCOUNT)) {
+            AccountRankResponseDTO rank = accountRankingService.getRank(AccountRankByEnum.balance, accountCode).getData();
+            assertEquals(jdbcTemplate.queryForObject(EFFECTIVE_SQL, (rs, i) -> rs.getLong("balance"), accountCode), rank.getBalance());
+            assertEquals(jdbcTemplate.queryForObject(EFFECTIVE_SQL, (rs, i) -> rs.getLong("total_deposit"), accountCode), rank.getTotalDeposit());
+        }
+        assertEquals(1, accountRankingService.getRank(AccountRankByEnum.balance, ACCOUNT).getData().getRank());
+        assertEquals(0, accountRankingService.rebuild());
+
+        // When
+        String created = accountService.createAccount(new CreateAccountRequestDTO(ownerId.toString())).getData().getAccountCode();
+        int createdRank = accountRankingService.getRank(AccountRankByEnum.totalDeposit, created).getData().getRank();
+        accountService.deleteAccount(created);
+
+        // Then
+        assertTrue(createdRank > 1);
+        assertThrows(ResourceNotFoundException.class, () -> accountRankingService.getRank(AccountRankByEnum.balance, created));
+        assertThrows(ResourceNotFoundException.class, () -> accountRankingService.getRank(AccountRankByEnum.totalDeposit, created));
+        assertEquals(0, accountRankingService.rebuild());
+    }
+
+    private static CreateTransactionRequestDTO request(String accountCode, TypeTransactionEnum type, long amount) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(accountCode)
+                .type(type)
+                .amount(amount)
+                .note("Account ranking")
+                .build();
+    }
+}
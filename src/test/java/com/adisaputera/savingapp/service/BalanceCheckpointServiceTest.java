@@ -0,0 +1,124 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.response.AccountBalanceResponseDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares checkpoint-based balances with a full sum over the account's transactions,
+ * before and after a back-dated transaction invalidates the checkpoints.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BalanceCheckpointServiceTest {
+
+    private static final String ACCOUNT_CODE = "BCP-000001";
+    private static final String EMAIL = "balance-checkpoint@example.com";
+    private static final String SUM_SQL = "SELECT COALESCE(SUM(CASE WHEN type IN ('deposit', 'transfer_in') THEN amount ELSE -amount END), 0) " +
+            "FROM transactions WHERE account_code = ? AND occurred_at <= ?";
+    // Total deposit/withdraw tanpa transfer, sama dengan total di accounts
+    private static final String TOTALS_SQL = "SELECT COALESCE(SUM(amount) FILTER (WHERE type = 'deposit'), 0) AS deposit, " +
+            "COALESCE(SUM(amount) FILTER (WHERE type = 'withdraw'), 0) AS withdraw FROM transactions WHERE account_code = ? AND occurred_at <= ?";
+
+    @Autowired private BalanceCheckpointService balanceCheckpointService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Balance Checkpoint', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now())", ACCOUNT_CODE, ownerId);
+        // 5 hari ke belakang, 4 transaksi per hari (setoran 2x, tarik 1x, transfer masuk/keluar
+        // bergantian), ditambah transaksi hari ini
+        for (int day = 5; day >= 0; day--) {
+            for (int hour = 9; hour <= 15; hour += 2) {
+                String type = hour == 13 ? "withdraw" : hour == 11 ? (day % 2 == 0 ? "transfer_in" : "transfer_out") : "deposit";
+                insertTransaction(type, 1000L * (day + 1) + hour, today.minusDays(day).atTime(hour, 0));
+            }
+        }
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code = ?", ACCOUNT_CODE);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code = ?", ACCOUNT_CODE);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void balancesMatchFullSumBeforeAndAfterBackDatedTransaction() {
+        // Given
+        balanceCheckpointService.buildCheckpoints();
+        assertTrue(checkpointDates().containsAll(List.of(today.minusDays(5), today.minusDays(2))));
+        assertFalse(checkpointDates().contains(today));
+
+        // When / Then
+        assertBalancesMatchFullSum();
+        AccountBalanceResponseDTO midDay = balanceCheckpointService.balanceAt(ACCOUNT_CODE, today.minusDays(2).atTime(12, 0));
+        assertEquals(today.minusDays(3), midDay.getCheckpointDate());
+        assertEquals(2, midDay.getTransactionsAfterCheckpoint());
+
+        // Given: transaksi hari ini tidak menyentuh checkpoint, yang back-dated menghapus sejak harinya
+        int checkpoints = checkpointDates().size();
+        insertTransaction("deposit", 500, LocalDateTime.now());
+        assertEquals(checkpoints, checkpointDates().size());
+        insertTransaction("withdraw", 700, today.minusDays(3).atTime(10, 30));
+
+        // When / Then
+        assertEquals(List.of(today.minusDays(5), today.minusDays(4)), checkpointDates());
+        assertBalancesMatchFullSum();
+
+        balanceCheckpointService.buildCheckpoints();
+        assertTrue(checkpointDates().contains(today.minusDays(2)));
+        assertBalancesMatchFullSum();
+    }
+
+    private void assertBalancesMatchFullSum() {
+        for (int day = 6; day >= 0; day--) {
+            for (LocalDateTime at : List.of(today.minusDays(day).atTime(10, 0), today.minusDays(day).atTime(23, 59, 59))) {
+                Long expected = jdbcTemplate.queryForObject(SUM_SQL, Long.class, ACCOUNT_CODE, at);
+                Map<String, Object> totals = jdbcTemplate.queryForMap(TOTALS_SQL, ACCOUNT_CODE, at);
+                AccountBalanceResponseDTO actual = balanceCheckpointService.balanceAt(ACCOUNT_CODE, at);
+                assertEquals(expected, actual.getBalance(), () -> "balance at " + at);
+                assertEquals(((Number) totals.get("deposit")).longValue(), actual.getTotalDeposit(), () -> "deposit at " + at);
+                assertEquals(((Number) totals.get("withdraw")).longValue(), actual.getTotalWithdraw(), () -> "withdraw at " + at);
+            }
+        }
+    }
+
+    private List<LocalDate> checkpointDates() {
+        return jdbcTemplate.queryForList("SELECT checkpoint_date FROM account_balance_checkpoints WHERE account_code = ? ORDER BY checkpoint_date",
+                LocalDate.class, ACCOUNT_CODE);
+    }
+
+    private void insertTransaction(String type, long amount, LocalDateTime occurredAt) {
+        jdbcTemplate.update("INSERT INTO transactions (id, account_code, type, amount, balance, note, occurred_at, created_at) " +
+                "VALUES (gen_random_uuid(), ?, ?, ?, 0, 'Balance checkpoint', ?, now())", ACCOUNT_CODE, type, amount, occurredAt);
+    }
+}
@@ -0,0 +1,165 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateTransferRequestDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes through every transaction path (atomic, hot account slots from several threads,
+ * batch, transfer, a rejected withdraw) and compares account_daily_summary with the same
+ * aggregates computed from the transactions, and daily_flow_summary with the account
+ * summaries, before and after a backfill.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.transaction.daily-summary.backfill-on-startup=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DailySummaryServiceTest {
+
+    private static final String HOT_ACCOUNT = "DSM-000001";
+    private static final String ACCOUNT = "DSM-000002";
+    private static final String EMAIL = "daily-summary@example.com";
+    private static final int WRITERS = 4;
+    private static final int DEPOSITS_PER_WRITER = 50;
+    private static final String SUMMARY_SQL = "SELECT summary_date, SUM(total_deposit) AS deposit, SUM(total_withdraw) AS withdraw, " +
+            "SUM(total_transfer_in) AS transfer_in, SUM(total_transfer_out) AS transfer_out, SUM(transaction_count) AS count, " +
+            "SUM(deposit_count) AS deposit_count, SUM(withdraw_count) AS withdraw_count " +
+            "FROM account_daily_summary WHERE account_code = ? GROUP BY summary_date ORDER BY summary_date";
+    private static final String TRANSACTIONS_SQL = "SELECT CAST(occurred_at AS date) AS summary_date, " +
+            "COALESCE(SUM(amount) FILTER (WHERE type = 'deposit'), 0) AS deposit, COALESCE(SUM(amount) FILTER (WHERE type = 'withdraw'), 0) AS withdraw, " +
+            "COALESCE(SUM(amount) FILTER (WHERE type = 'transfer_in'), 0) AS transfer_in, COALESCE(SUM(amount) FILTER (WHERE type = 'transfer_out'), 0) AS transfer_out, " +
+            "count(*) AS count, count(*) FILTER (WHERE type = 'deposit') AS deposit_count, count(*) FILTER (WHERE type = 'withdraw') AS withdraw_count " +
+            "FROM transactions WHERE account_code = ? GROUP BY CAST(occurred_at AS date) ORDER BY 1";
+    private static final String CLOSING_SQL = "SELECT closing_balance FROM account_daily_summary WHERE account_code = ? " +
+            "ORDER BY summary_date DESC, last_occurred_at DESC LIMIT 1";
+    // Selisih flow harian semua account dengan jumlah summary per account, per hari
+    private static final String FLOW_DRIFT_SQL = "SELECT summary_date, SUM(deposit) AS deposit, SUM(withdraw) AS withdraw, " +
+            "SUM(deposit_count) AS deposit_count, SUM(withdraw_count) AS withdraw_count FROM (" +
+            "SELECT summary_date, total_deposit AS deposit, total_withdraw AS withdraw, deposit_count, withdraw_count FROM daily_flow_summary " +
+            "UNION ALL SELECT summary_date, -total_deposit, -total_withdraw, -deposit_count, -withdraw_count FROM account_daily_summary) f " +
+            "GROUP BY summary_date HAVING SUM(deposit) <> 0 OR SUM(withdraw) <> 0 OR SUM(deposit_count) <> 0 OR SUM(withdraw_count) <> 0 " +
+            "ORDER BY summary_date";
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private HotAccountService hotAccountService;
+    @Autowired private DailySummaryService dailySummaryService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Daily Summary', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now()), (?, ?, true, 0, 0, 0, now())", HOT_ACCOUNT, ownerId, ACCOUNT, ownerId);
+        hotAccountService.configureSlots(HOT_ACCOUNT, 4);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        if (hotAccountService.isHot(HOT_ACCOUNT)) {
+            hotAccountService.configureSlots(HOT_ACCOUNT, 0);
+        }
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'DSM-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'DSM-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void summaryMatchesTransactionsBeforeAndAfterBackfill() throws Exception {
+        // Fixture test lain dihapus lewat SQL, flow-nya tertinggal sampai backfill
+        String flowDrift = jdbcTemplate.queryForList(FLOW_DRIFT_SQL).toString();
+
+        // Given: deposit paralel di hot account, lalu semua jalur tulis lainnya
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < DEPOSITS_PER_WRITER; i++) {
+                        transactionService.createTransaction(request(HOT_ACCOUNT, TypeTransactionEnum.deposit, 1000), null);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        transactionService.createTransaction(request(HOT_ACCOUNT, TypeTransactionEnum.withdraw, 2500), null);
+        transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.deposit, 50000), null);
+        transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.withdraw, 7000), null);
+        assertThrows(BadRequestException.class,
+                () -> transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.withdraw, 1_000_000), null));
+        transactionService.createTransactionBatch(List.of(
+                request(ACCOUNT, TypeTransactionEnum.deposit, 3000),
+                request(HOT_ACCOUNT, TypeTransactionEnum.withdraw, 1000),
+                request(ACCOUNT, TypeTransactionEnum.withdraw, 1_000_000)));
+        transactionService.createTransferForAdmin(CreateTransferRequestDTO.builder()
+                .fromAccountCode(ACCOUNT).toAccountCode(HOT_ACCOUNT).amount(4000L).build());
+
+        // When / Then
+        assertTrue(jdbcTemplate.queryForObject("SELECT count(DISTINCT shard) FROM account_daily_summary WHERE account_code = ?",
+                Integer.class, HOT_ACCOUNT) > 1, "hot account writes should spread over shards");
+        assertSummaryMatchesTransactions();
+        assertEquals(flowDrift, jdbcTemplate.queryForList(FLOW_DRIFT_SQL).toString());
+
+        // When
+        dailySummaryService.backfill();
+
+        // Then
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM account_daily_summary WHERE account_code LIKE 'DSM-%' AND shard <> 0",
+                Integer.class));
+        assertSummaryMatchesTransactions();
+        assertEquals(List.of(), jdbcTemplate.queryForList(FLOW_DRIFT_SQL));
+    }
+
+    private void assertSummaryMatchesTransactions() {
+        for (String accountCode : List.of(HOT_ACCOUNT, ACCOUNT)) {
+            List<Map<String, Object>> expected = jdbcTemplate.queryForList(TRANSACTIONS_SQL, accountCode);
+            List<Map<String, Object>> actual = jdbcTemplate.queryForList(SUMMARY_SQL, accountCode);
+            assertEquals(expected.toString(), actual.toString(), accountCode);
+
+            // Tulisan terakhir di kedua account adalah transfer, snapshot-nya = saldo efektif
+            Long balance = jdbcTemplate.queryForObject("SELECT a.balance + COALESCE((SELECT SUM(balance) FROM account_balance_slots s " +
+                    "WHERE s.account_code = a.account_code), 0) FROM accounts a WHERE a.account_code = ?", Long.class, accountCode);
+            assertEquals(balance, jdbcTemplate.queryForObject(CLOSING_SQL, Long.class, accountCode), accountCode);
+        }
+    }
+
+    private static CreateTransactionRequestDTO request(String accountCode, TypeTransactionEnum type, long amount) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(accountCode)
+                .type(type)
+                .amount(amount)
+                .note("Daily summary")
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.response.AdminDashboardResponseDTO;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.adisaputera.savingapp.repository.DashboardAggregateRepository;
+import com.adisaputera.savingapp.repository.projection.DashboardTotals;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes balance changes together with their dashboard delta from several threads while
+ * reconciliation runs in a loop. Reconciliation must never see a committed write whose
+ * delta is not in the counters yet (or the reverse), otherwise it would "correct" drift
+ * that does not exist and the totals would end up wrong.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.dashboard.aggregate.reconcile-initial-delay-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardAggregateServiceTest {
+
+    private static final String ACCOUNT_CODE = "DAG-000001";
+    private static final String EMAIL = "dashboard-aggregate@example.com";
+    private static final int WRITERS = 6;
+    private static final int WRITES_PER_WRITER = 300;
+
+    @Autowired private DashboardAggregateService dashboardAggregateService;
+    @Autowired private DashboardAggregateRepository dashboardAggregateRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Dashboard Aggregate', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now())", ACCOUNT_CODE, ownerId);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code = ?", ACCOUNT_CODE);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void rolledBackWritesDoNotCount() {
+        // Given
+        dashboardAggregateService.reconcile();
+        AdminDashboardResponseDTO before = dashboardAggregateService.current();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            deposit(500);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(before, dashboardAggregateService.current());
+    }
+
+    @Test
+    void reconciliationDuringConcurrentWritesFindsNoDrift() throws Exception {
+        // Given
+        dashboardAggregateService.reconcile();
+        AdminDashboardResponseDTO before = dashboardAggregateService.current();
+
+        // When: writer commit terus-menerus, rekonsiliasi berjalan di thread lain
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        int reconciliations;
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                        transactionTemplate.executeWithoutResult(status -> deposit(1));
+                    }
+                }));
+            }
+            Future<Integer> reconciler = executor.submit(() -> {
+                int runs = 0;
+                while (writing.get()) {
+                    dashboardAggregateService.reconcile();
+                    runs++;
+                }
+                return runs;
+            });
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            reconciliations = reconciler.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then: tidak ada koreksi palsu, counter = awal + semua deposit = isi DB
+        long deposits = (long) WRITERS * WRITES_PER_WRITER;
+        AdminDashboardResponseDTO after = dashboardAggregateService.current();
+        DashboardTotals actual = dashboardAggregateRepository.computeTotals();
+        assertTrue(reconciliations > 1, "reconciliation should overlap the writes");
+        assertEquals(before.getTotalDeposit() + deposits, after.getTotalDeposit());
+        assertEquals(before.getTotalBalance() + deposits, after.getTotalBalance());
+        assertEquals(actual.getTotalDeposit(), after.getTotalDeposit());
+        assertEquals(actual.getTotalBalance(), after.getTotalBalance());
+    }
+
+    private void deposit(long amount) {
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + ?, total_deposit = total_deposit + ? WHERE account_code = ?",
+                amount, amount, ACCOUNT_CODE);
+        dashboardAggregateService.recordTransaction(TypeTransactionEnum.deposit, amount);
+    }
+}
@@ -0,0 +1,126 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.response.NasabahDashboardResponseDTO;
+import com.adisaputera.savingapp.event.AccountChangedEvent;
+import com.adisaputera.savingapp.event.TransactionsWrittenEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardCacheServiceTest {
+
+    private final UUID owner = UUID.randomUUID();
+    private final UUID otherOwner = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheService = new DashboardCacheService(meterRegistry);
+        ReflectionTestUtils.setField(cacheService, "cacheSize", 100);
+        ReflectionTestUtils.setField(cacheService, "ttlSec", 300L);
+        cacheService.init();
+    }
+
+    @Test
+    void repeatedRequestIsServedFromCache() {
+        // Given
+        DashboardCacheService.Key key = key(owner, null);
+
+        // When
+        cacheService.get(key, () -> load("ACC-000001", "ACC-000002"));
+        cacheService.get(key, () -> load("ACC-000001", "ACC-000002"));
+        cacheService.get(key, () -> load("ACC-000001", "ACC-000002"));
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(2.0 / 3, cacheService.hitRatio(), 1e-9);
+        assertEquals(2.0 / 3, meterRegistry.get("savingapp.dashboard.cache.hit_ratio").gauge().value(), 1e-9);
+        assertEquals(1, meterRegistry.get("savingapp.dashboard.cache.load").timer().count());
+    }
+
+    @Test
+    void transactionEvictsOnlyTheOwnersEntries() {
+        // Given
+        cacheService.get(key(owner, null), () -> load("ACC-000001"));
+        cacheService.get(key(otherOwner, null), () -> load("ACC-000009"));
+
+        // When
+        cacheService.onTransactionsWritten(new TransactionsWrittenEvent(List.of("ACC-000001")));
+        cacheService.get(key(owner, null), () -> load("ACC-000001"));
+        cacheService.get(key(otherOwner, null), () -> load("ACC-000009"));
+
+        // Then: hanya dashboard pemilik ACC-000001 yang dihitung ulang
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void transactionKeepsEntriesThatDoNotCountTheAccount() {
+        // Given: dashboard per account milik user yang sama
+        cacheService.get(key(owner, "ACC-000001"), () -> load("ACC-000001"));
+        cacheService.get(key(owner, "ACC-000002"), () -> load("ACC-000002"));
+
+        // When
+        cacheService.onTransactionsWritten(new TransactionsWrittenEvent(List.of("ACC-000002")));
+        cacheService.get(key(owner, "ACC-000001"), () -> load("ACC-000001"));
+        cacheService.get(key(owner, "ACC-000002"), () -> load("ACC-000002"));
+
+        // Then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void accountChangeEvictsAllEntriesOfTheUser() {
+        // Given: filter berbeda, termasuk yang belum mencakup account baru
+        cacheService.get(key(owner, null), () -> load("ACC-000001"));
+        cacheService.get(key(owner, "ACC-000001"), () -> load("ACC-000001"));
+
+        // When
+        cacheService.onAccountChanged(new AccountChangedEvent(owner, "ACC-000003"));
+        cacheService.get(key(owner, null), () -> load("ACC-000001", "ACC-000003"));
+        cacheService.get(key(owner, "ACC-000001"), () -> load("ACC-000001"));
+
+        // Then
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void loadOverlappingAWriteIsNotCached() {
+        // Given: transaksi commit saat dashboard sedang dihitung
+        DashboardCacheService.Key key = key(owner, null);
+
+        // When
+        cacheService.get(key, () -> {
+            cacheService.onTransactionsWritten(new TransactionsWrittenEvent(List.of("ACC-000001")));
+            return load("ACC-000001");
+        });
+        cacheService.get(key, () -> load("ACC-000001"));
+        cacheService.get(key, () -> load("ACC-000001"));
+
+        // Then: hasil pertama dibuang, yang kedua disimpan
+        assertEquals(2, loads.get());
+    }
+
+    private DashboardCacheService.Key key(UUID userId, String accountCode) {
+        return new DashboardCacheService.Key(userId, accountCode, LocalDate.of(1970, 1, 1), LocalDate.now(), null);
+    }
+
+    private DashboardCacheService.Loaded load(String... accountCodes) {
+        loads.incrementAndGet();
+        NasabahDashboardResponseDTO dashboard = NasabahDashboardResponseDTO.builder()
+                .totalAccounts(accountCodes.length)
+                .build();
+        return new DashboardCacheService.Loaded(dashboard, Set.of(accountCodes));
+    }
+}
@@ -0,0 +1,130 @@
+package com.adisaputera.savingapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the stream's fan-out against emitters that record or block their writes: a client
+ * that stops reading is dropped after the send timeout while the others keep receiving.
+ */
+class DashboardStreamSenderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        // Counter in-memory saja; tanpa load, repository tidak dipakai
+        DashboardAggregateService aggregates = new DashboardAggregateService(null, null, null, null);
+        meterRegistry = new SimpleMeterRegistry();
+        streamService = new DashboardStreamService(aggregates, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(streamService, "intervalMs", 3_600_000L);
+        ReflectionTestUtils.setField(streamService, "heartbeatMs", 0L);
+        ReflectionTestUtils.setField(streamService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(streamService, "senderCount", 2);
+        ReflectionTestUtils.setField(streamService, "sendTimeoutMs", 100L);
+        streamService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    void stalledSubscriberIsDroppedWithoutHoldingBackTheOthers() throws Exception {
+        // Given: satu client normal, satu client yang berhenti membaca setelah frame pertama
+        RecordingEmitter fast = new RecordingEmitter();
+        BlockingEmitter stalled = new BlockingEmitter();
+        streamService.subscribe(fast);
+        streamService.subscribe(stalled);
+        // Versi counter saat ini sudah ada di frame pertama, tick berikutnya berupa heartbeat
+        streamService.tick();
+
+        // When
+        streamService.tick();
+        assertTrue(stalled.blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(fast.await(2));
+        Thread.sleep(200);
+        streamService.tick();
+
+        // Then
+        assertTrue(fast.await(3), "fast subscriber received " + fast.sends.get() + " writes");
+        assertEquals(1, streamService.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("savingapp.dashboard.stream.dropped").counter().count());
+        assertTrue(stalled.interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void framesWaitingForABusySubscriberAreCoalesced() throws Exception {
+        // Given: write pertama setelah subscribe tertahan sampai dilepas
+        ReflectionTestUtils.setField(streamService, "sendTimeoutMs", 60_000L);
+        BlockingEmitter busy = new BlockingEmitter();
+        streamService.subscribe(busy);
+        streamService.tick();
+
+        // When: tiga heartbeat selama write pertama berjalan
+        streamService.tick();
+        assertTrue(busy.blocked.await(5, TimeUnit.SECONDS));
+        streamService.tick();
+        streamService.tick();
+        streamService.tick();
+        busy.release.countDown();
+
+        // Then: hanya yang terbaru ditulis setelahnya
+        assertTrue(busy.await(3));
+        Thread.sleep(100);
+        assertEquals(3, busy.sends.get());
+        assertEquals(1, streamService.subscriberCount());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final AtomicInteger sends = new AtomicInteger();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sends.incrementAndGet();
+        }
+
+        boolean await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (sends.get() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            return sends.get() >= count;
+        }
+    }
+
+    // Frame pertama (saat subscribe) lolos, write berikutnya menunggu release
+    private static class BlockingEmitter extends RecordingEmitter {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (sends.incrementAndGet() == 2) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                    throw new InterruptedIOException("write interrupted");
+                }
+            }
+        }
+    }
+}
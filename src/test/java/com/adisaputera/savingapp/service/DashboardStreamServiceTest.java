@@ -0,0 +1,131 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.AdminDashboardResponseDTO;
+import com.adisaputera.savingapp.model.RoleEnum;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Opens several admin dashboard streams through the full web stack, writes a burst of
+ * deposits and runs one tick of the stream: every subscriber gets the initial frame and
+ * then exactly one frame with the totals after the whole burst.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.dashboard.stream.interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DashboardStreamServiceTest {
+
+    private static final String ACCOUNT_CODE = "DST-000001";
+    private static final String EMAIL = "dashboard-stream@example.com";
+    private static final int SUBSCRIBERS = 3;
+    private static final int DEPOSITS = 20;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private TransactionService transactionService;
+    @Autowired private DashboardAggregateService dashboardAggregateService;
+    @Autowired private DashboardStreamService dashboardStreamService;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Dashboard Stream', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now())", ACCOUNT_CODE, ownerId);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code = ?", ACCOUNT_CODE);
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code = ?", ACCOUNT_CODE);
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void burstOfWritesIsOneFramePerSubscriber() throws Exception {
+        // Given
+        String token = jwtService.generateAccessToken(UUID.randomUUID().toString(), "Admin", RoleEnum.admin);
+        List<MvcResult> streams = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            streams.add(mockMvc.perform(get("/api/admin/dashboard/stream").header("Authorization", "Bearer " + token))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+        }
+        assertEquals(SUBSCRIBERS, dashboardStreamService.subscriberCount());
+
+        // When
+        for (int i = 0; i < DEPOSITS; i++) {
+            transactionService.createTransaction(CreateTransactionRequestDTO.builder()
+                    .accountCode(ACCOUNT_CODE)
+                    .type(TypeTransactionEnum.deposit)
+                    .amount(1000L)
+                    .note("Dashboard stream")
+                    .build(), null);
+        }
+        dashboardStreamService.tick();
+        dashboardStreamService.tick();
+
+        // Then: frame ditulis thread sender, tunggu sampai sampai di semua stream
+        AdminDashboardResponseDTO expected = dashboardAggregateService.current();
+        for (MvcResult stream : streams) {
+            List<String> frames = awaitDataLines(stream, 2);
+            assertEquals(2, frames.size(), stream.getResponse().getContentAsString());
+            AdminDashboardResponseDTO first = objectMapper.readValue(frames.get(0), AdminDashboardResponseDTO.class);
+            AdminDashboardResponseDTO last = objectMapper.readValue(frames.get(1), AdminDashboardResponseDTO.class);
+            assertEquals(expected, last);
+            assertEquals(DEPOSITS * 1000L, last.getTotalDeposit() - first.getTotalDeposit());
+        }
+    }
+
+    private static List<String> awaitDataLines(MvcResult stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<String> frames = dataLines(stream.getResponse().getContentAsString());
+        while (frames.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            frames = dataLines(stream.getResponse().getContentAsString());
+        }
+        return frames;
+    }
+
+    private static List<String> dataLines(String body) {
+        List<String> frames = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (line.startsWith("data:")) {
+                frames.add(line.substring("data:".length()));
+            }
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,220 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.AdminDashboardResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes to hot accounts whose balance is spread over slot rows: a withdraw larger than
+ * any single slot borrows across the slots and the accounts row, an overdraw is rejected,
+ * concurrent borrowing withdraws all go through, and deleting a hot account removes its
+ * slot rows only when the delete commits.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HotAccountServiceTest {
+
+    private static final String ACCOUNT = "HOT-000001";
+    private static final String DELETED_ACCOUNT = "HOT-000002";
+    private static final String UNTRACKED_ACCOUNT = "HOT-000003";
+    private static final String BORROW_ACCOUNT = "HOT-000004";
+    private static final String EMAIL = "hot-account@example.com";
+    private static final int SLOTS = 4;
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private AccountService accountService;
+    @Autowired private HotAccountService hotAccountService;
+    @Autowired private DashboardAggregateService dashboardAggregateService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Hot Account', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now()), (?, ?, true, 0, 0, 0, now()), (?, ?, true, 0, 0, 0, now()), (?, ?, true, 0, 0, 0, now())",
+                ACCOUNT, ownerId, DELETED_ACCOUNT, ownerId, UNTRACKED_ACCOUNT, ownerId, BORROW_ACCOUNT, ownerId);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        for (String accountCode : new String[] {ACCOUNT, DELETED_ACCOUNT, UNTRACKED_ACCOUNT, BORROW_ACCOUNT}) {
+            if (hotAccountService.isHot(accountCode)) {
+                hotAccountService.configureSlots(accountCode, 0);
+            }
+        }
+        jdbcTemplate.update("DELETE FROM account_balance_slots WHERE account_code LIKE 'HOT-%'");
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'HOT-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'HOT-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void withdrawLargerThanAnySlotBorrowsAcrossSlots() {
+        // Given: 1000 di tiap slot dan 200 di row account
+        hotAccountService.configureSlots(ACCOUNT, SLOTS);
+        fillSlots(ACCOUNT, 1_000L);
+        jdbcTemplate.update("UPDATE accounts SET balance = 200, total_deposit = 200 WHERE account_code = ?", ACCOUNT);
+
+        // When
+        long balance = transactionService.createTransaction(request(TypeTransactionEnum.withdraw, 3_900L), null).getData().getBalance();
+
+        // Then
+        assertEquals(300L, balance);
+        assertEquals(300L, effectiveBalance(ACCOUNT));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT min(balance) FROM account_balance_slots WHERE account_code = ?", Long.class, ACCOUNT));
+        Map<String, Object> totals = jdbcTemplate.queryForMap("SELECT a.total_withdraw + COALESCE((SELECT SUM(total_withdraw) " +
+                "FROM account_balance_slots s WHERE s.account_code = a.account_code), 0) AS withdraw FROM accounts a WHERE a.account_code = ?", ACCOUNT);
+        assertEquals(3_900L, ((Number) totals.get("withdraw")).longValue());
+        assertEquals(300L, jdbcTemplate.queryForObject("SELECT balance FROM transactions WHERE account_code = ? AND type = 'withdraw'", Long.class, ACCOUNT));
+
+        // Then: lebih dari saldo efektif ditolak tanpa mengubah apa pun
+        BadRequestException rejected = assertThrows(BadRequestException.class,
+                () -> transactionService.createTransaction(request(TypeTransactionEnum.withdraw, 301L), null));
+        assertEquals("Withdrawal rejected: Insufficient balance. Current balance: 300, Requested amount: 301", rejected.getMessage());
+        assertEquals(300L, effectiveBalance(ACCOUNT));
+
+        // Then: deposit masuk ke salah satu slot
+        assertEquals(800L, transactionService.createTransaction(request(TypeTransactionEnum.deposit, 500L), null).getData().getBalance());
+        assertEquals(800L, effectiveBalance(ACCOUNT));
+    }
+
+    @Test
+    void concurrentWithdrawsThatBorrowAllSucceed() throws Exception {
+        // Given: tidak ada slot yang cukup untuk satu withdraw, jadi semua lewat jalur borrow
+        hotAccountService.configureSlots(BORROW_ACCOUNT, SLOTS);
+        int writers = 8;
+        int rounds = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+
+        // When: tiap putaran saldo diisi ulang, lalu semua writer mulai bersamaan
+        try {
+            for (int round = 0; round < rounds; round++) {
+                fillSlots(BORROW_ACCOUNT, 1_000L);
+                jdbcTemplate.update("UPDATE accounts SET balance = 8000 WHERE account_code = ?", BORROW_ACCOUNT);
+                CyclicBarrier start = new CyclicBarrier(writers);
+                List<Future<Long>> futures = new ArrayList<>();
+                for (int i = 0; i < writers; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return transactionService.createTransaction(request(BORROW_ACCOUNT, TypeTransactionEnum.withdraw, 1_500L), null)
+                                .getData().getBalance();
+                    }));
+                }
+                for (Future<Long> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                // Then
+                assertEquals(0L, effectiveBalance(BORROW_ACCOUNT));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(writers * rounds, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE account_code = ? AND type = 'withdraw'", Integer.class, BORROW_ACCOUNT));
+    }
+
+    @Test
+    void deletingHotAccountKeepsSlotsWhenRolledBackAndRemovesThemOnCommit() {
+        // Given
+        hotAccountService.configureSlots(DELETED_ACCOUNT, SLOTS);
+        fillSlots(DELETED_ACCOUNT, 250L);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            accountService.deleteAccount(DELETED_ACCOUNT);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertTrue(hotAccountService.isHot(DELETED_ACCOUNT));
+        assertEquals(SLOTS, slotRows(DELETED_ACCOUNT));
+        assertEquals(1_000L, effectiveBalance(DELETED_ACCOUNT));
+
+        // When
+        AdminDashboardResponseDTO before = dashboardAggregateService.current();
+        accountService.deleteAccount(DELETED_ACCOUNT);
+        AdminDashboardResponseDTO after = dashboardAggregateService.current();
+
+        // Then: nilai slot ikut dikurangkan dari total dashboard
+        assertFalse(hotAccountService.isHot(DELETED_ACCOUNT));
+        assertEquals(0, slotRows(DELETED_ACCOUNT));
+        assertEquals(1_000L, before.getTotalBalance() - after.getTotalBalance());
+        assertEquals(1_000L, before.getTotalDeposit() - after.getTotalDeposit());
+    }
+
+    @Test
+    void deletingAccountRemovesSlotRowsThatAreNotTrackedInMemory() {
+        // Given: slot yang ditulis tanpa lewat service ini
+        jdbcTemplate.update("INSERT INTO account_balance_slots (account_code, slot, balance, total_deposit, total_withdraw) VALUES (?, 0, 0, 0, 0)",
+                UNTRACKED_ACCOUNT);
+        assertFalse(hotAccountService.isHot(UNTRACKED_ACCOUNT));
+
+        // When
+        accountService.deleteAccount(UNTRACKED_ACCOUNT);
+
+        // Then
+        assertEquals(0, slotRows(UNTRACKED_ACCOUNT));
+    }
+
+    private void fillSlots(String accountCode, long perSlot) {
+        jdbcTemplate.update("UPDATE account_balance_slots SET balance = ?, total_deposit = ? WHERE account_code = ?", perSlot, perSlot, accountCode);
+    }
+
+    private long effectiveBalance(String accountCode) {
+        return jdbcTemplate.queryForObject("SELECT a.balance + COALESCE((SELECT SUM(balance) FROM account_balance_slots s " +
+                "WHERE s.account_code = a.account_code), 0) FROM accounts a WHERE a.account_code = ?", Long.class, accountCode);
+    }
+
+    private int slotRows(String accountCode) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM account_balance_slots WHERE account_code = ?", Integer.class, accountCode);
+    }
+
+    private static CreateTransactionRequestDTO request(TypeTransactionEnum type, long amount) {
+        return request(ACCOUNT, type, amount);
+    }
+
+    private static CreateTransactionRequestDTO request(String accountCode, TypeTransactionEnum type, long amount) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(accountCode)
+                .type(type)
+                .amount(amount)
+                .note("Hot account")
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.event.TransactionsWrittenEvent;
+import com.adisaputera.savingapp.exception.DuplicateResourceException;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates transactions with an Idempotency-Key through {@link TransactionService} and checks
+ * that replays, mismatched requests, concurrent duplicates and reuse of an expired key each
+ * write exactly as often as they should.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RecordApplicationEvents
+class IdempotencyServiceTest {
+
+    private static final String ACCOUNT = "IDM-000001";
+    private static final String EMAIL = "idempotency@example.com";
+    private static final String KEY_PREFIX = "idempotency-test-";
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ApplicationEvents events;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Idempotency', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now())", ACCOUNT, ownerId);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key LIKE ?", KEY_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'IDM-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'IDM-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void replayReturnsStoredResponseWithoutWritingOrPublishing() {
+        // Given
+        String key = KEY_PREFIX + UUID.randomUUID();
+        CreateTransactionRequestDTO request = request(1_000L, "replay");
+        TransactionResponseDTO first = transactionService.createTransaction(request, key).getData();
+        long balance = balance();
+
+        // When
+        TransactionResponseDTO replay = transactionService.createTransaction(request(1_000L, "replay"), key).getData();
+
+        // Then
+        assertEquals(first.getTransactionId(), replay.getTransactionId());
+        assertEquals(first.getBalance(), replay.getBalance());
+        assertEquals(balance, balance());
+        assertEquals(1, countTransactions("replay"));
+        assertEquals(1, events.stream(TransactionsWrittenEvent.class).count());
+    }
+
+    @Test
+    void sameKeyWithDifferentRequestIsRejected() {
+        // Given
+        String key = KEY_PREFIX + UUID.randomUUID();
+        transactionService.createTransaction(request(1_000L, "mismatch"), key);
+        long balance = balance();
+
+        // Then
+        assertThrows(DuplicateResourceException.class,
+                () -> transactionService.createTransaction(request(2_000L, "mismatch"), key));
+        assertEquals(balance, balance());
+        assertEquals(1, countTransactions("mismatch"));
+    }
+
+    @Test
+    void concurrentDuplicatesWriteOnce() throws Exception {
+        // Given
+        String key = KEY_PREFIX + UUID.randomUUID();
+        long balance = balance();
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<TransactionResponseDTO> responses = new ArrayList<>();
+        try {
+            List<Future<TransactionResponseDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return transactionService.createTransaction(request(500L, "concurrent"), key).getData();
+                }));
+            }
+            start.countDown();
+            for (Future<TransactionResponseDTO> future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, responses.stream().map(TransactionResponseDTO::getTransactionId).distinct().count());
+        assertEquals(balance + 500L, balance());
+        assertEquals(1, countTransactions("concurrent"));
+    }
+
+    @Test
+    void expiredKeyThatWasNotPurgedCanBeReused() {
+        // Given: key lama dengan request lain, kedaluwarsa tapi belum dihapus purge
+        String key = KEY_PREFIX + UUID.randomUUID();
+        LocalDateTime expiredAt = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, response_body, created_at, expires_at) " +
+                "VALUES (?, 'old', '{}', ?, ?)", key, expiredAt.minusDays(1), expiredAt);
+        long balance = balance();
+
+        // When
+        TransactionResponseDTO response = transactionService.createTransaction(request(700L, "expired"), key).getData();
+
+        // Then
+        assertEquals(balance + 700L, response.getBalance());
+        assertEquals(1, countTransactions("expired"));
+        assertTrue(jdbcTemplate.queryForObject("SELECT expires_at > now() FROM idempotency_keys WHERE idempotency_key = ?",
+                Boolean.class, key));
+        assertEquals(response.getTransactionId(),
+                transactionService.createTransaction(request(700L, "expired"), key).getData().getTransactionId());
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_code = ?", Long.class, ACCOUNT);
+    }
+
+    private int countTransactions(String note) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE account_code = ? AND note = ?",
+                Integer.class, ACCOUNT, note);
+    }
+
+    private static CreateTransactionRequestDTO request(long amount, String note) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(ACCOUNT)
+                .type(TypeTransactionEnum.deposit)
+                .amount(amount)
+                .note(note)
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.model.RoleEnum;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends list requests through the full web stack and counts the SQL statements Hibernate
+ * prepares for each one. Rows are read with one projection query, so the count only grows
+ * with the COUNT(*) of exact paging, never with the number of rows on the page. The account
+ * check of transaction lists is answered by the account directory.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.adisaputera.savingapp.service.ListStatementCountTest$StatementCounter"
+})
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListStatementCountTest {
+
+    private static final String FIXTURE_PREFIX = "statement-count-";
+    private static final String ACCOUNT_CODE = "STC-000001";
+    private static final int TRANSACTIONS = 30;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private JwtService jwtService;
+    @Autowired private DailySummaryService dailySummaryService;
+    @Autowired private AccountDirectoryService accountDirectoryService;
+
+    private final UUID ownerId = UUID.randomUUID();
+    private String adminToken;
+    private String ownerToken;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        List<UUID> userIds = List.of(ownerId, UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < userIds.size(); i++) {
+            jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, ?, ?, 'x', 'nasabah', now())",
+                    userIds.get(i), "Statement Count " + i, FIXTURE_PREFIX + i + "@example.com");
+        }
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now()), ('STC-000002', ?, true, 0, 0, 0, now())", ACCOUNT_CODE, ownerId, ownerId);
+        jdbcTemplate.update("INSERT INTO transactions (id, account_code, type, amount, balance, note, occurred_at, created_at) " +
+                "SELECT gen_random_uuid(), ?, 'deposit', 10000, n * 10000, 'Setoran ' || n, now() - n * interval '1 hour', now() " +
+                "FROM generate_series(1, ?) n", ACCOUNT_CODE, TRANSACTIONS);
+        dailySummaryService.backfill();
+
+        adminToken = jwtService.generateAccessToken(UUID.randomUUID().toString(), "Admin", RoleEnum.admin);
+        ownerToken = jwtService.generateAccessToken(ownerId.toString(), "Statement Count 0", RoleEnum.nasabah);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'STC-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'STC-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", FIXTURE_PREFIX + "%");
+    }
+
+    @Test
+    void accountListUsesOneStatementPlusCount() throws Exception {
+        // Given: page size 1 over 2 accounts, so Spring Data has to run the COUNT(*)
+        String exact = "/api/admin/account/list?page=1&perPage=1&userId=" + ownerId;
+
+        // When / Then
+        assertStatements(2, exact, adminToken, 1);
+        assertStatements(1, exact + "&countMode=none", adminToken, 1);
+        assertStatements(1, "/api/admin/account/list?limit=5&userId=" + ownerId, adminToken, 2);
+    }
+
+    @Test
+    void accountMeReadsNoUserRow() throws Exception {
+        // Given: the owner id comes from the token
+        String exact = "/api/nasabah/account/me?page=1&perPage=1";
+
+        // When / Then
+        assertStatements(2, exact, ownerToken, 1);
+        assertStatements(1, "/api/nasabah/account/me?limit=5", ownerToken, 2);
+    }
+
+    @Test
+    void accountDetailFetchesOwnerInSameStatement() throws Exception {
+        assertStatements(1, "/api/admin/account/" + ACCOUNT_CODE, adminToken, -1);
+    }
+
+    @Test
+    void transactionListDoesNotLoadAccountPerRow() throws Exception {
+        // Given: 30 rows; the account is checked in the directory, one statement reads the page
+        String admin = "/api/admin/transaction/" + ACCOUNT_CODE + "/list?page=1&perPage=10";
+        accountDirectoryService.find(ACCOUNT_CODE);
+
+        // When / Then
+        assertStatements(2, admin, adminToken, 10);
+        assertStatements(1, admin + "&countMode=none", adminToken, 10);
+        assertStatements(1, "/api/admin/transaction/" + ACCOUNT_CODE + "/list?limit=20", adminToken, 20);
+        assertStatements(1, "/api/nasabah/transaction/" + ACCOUNT_CODE + "/list?limit=20", ownerToken, 20);
+        assertStatements(1, "/api/nasabah/transaction/" + ACCOUNT_CODE + "/list?limit=20&keyword=setoran", ownerToken, 20);
+    }
+
+    @Test
+    void nasabahListUsesOneStatementPlusCount() throws Exception {
+        String exact = "/api/admin/nasabah/list?page=1&perPage=2&keyword=Statement";
+
+        assertStatements(2, exact, adminToken, 2);
+        assertStatements(1, "/api/admin/nasabah/list?limit=2&keyword=Statement", adminToken, 2);
+    }
+
+    @Test
+    void nasabahDashboardUsesOneStatement() throws Exception {
+        // Given: 2 account, 30 transaksi; jumlah statement tidak bergantung pada keduanya
+        String dashboard = "/api/nasabah/dashboard";
+
+        // When / Then: permintaan yang sama berikutnya dijawab dari cache
+        assertStatements(1, dashboard, ownerToken, -1);
+        assertStatements(1, dashboard + "?accountCode=" + ACCOUNT_CODE + "&status=true", ownerToken, -1);
+        assertStatements(0, dashboard, ownerToken, -1);
+        mockMvc.perform(get(dashboard).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(jsonPath("$.data.total_accounts").value(2))
+                .andExpect(jsonPath("$.data.total_deposit").value(TRANSACTIONS * 10000));
+    }
+
+    // rows < 0: response data bukan list
+    private void assertStatements(int expected, String url, String token, int rows) throws Exception {
+        StatementCounter.start();
+        var result = mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        List<String> statements = StatementCounter.stop();
+
+        if (rows >= 0) {
+            result.andExpect(jsonPath("$.data.length()").value(rows));
+        }
+        assertEquals(expected, statements.size(), () -> url + " ran " + statements.size() + " statements:\n" + String.join("\n", statements));
+    }
+
+    /**
+     * Collects the SQL Hibernate prepares on the current thread. MockMvc handles the request
+     * on the test thread, so statements of other threads (schedulers, startup jobs) are ignored.
+     */
+    public static class StatementCounter implements StatementInspector {
+        private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        static void start() {
+            STATEMENTS.set(new ArrayList<>());
+        }
+
+        static List<String> stop() {
+            List<String> statements = STATEMENTS.get();
+            STATEMENTS.remove();
+            return statements;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
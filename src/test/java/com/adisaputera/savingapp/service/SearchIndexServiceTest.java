@@ -0,0 +1,153 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateAccountRequestDTO;
+import com.adisaputera.savingapp.dto.request.CreateNasabahRequestDTO;
+import com.adisaputera.savingapp.dto.request.UpdateNasabahRequestDTO;
+import com.adisaputera.savingapp.dto.response.AccountListResponseDTO;
+import com.adisaputera.savingapp.dto.response.UserResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates nasabah from several threads while the search index is rebuilt in a loop, then
+ * renames and deletes one and creates and deletes an account. Searches must find exactly
+ * the rows of the tables, in ranking order, fetched by id.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.search.rebuild-interval-ms=3600000"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchIndexServiceTest {
+
+    private static final String EMAIL_DOMAIN = "@search-index.example.com";
+    private static final String FIXTURE_EMAIL = "fixture" + EMAIL_DOMAIN;
+    private static final int WRITERS = 4;
+    private static final int NASABAH_PER_WRITER = 25;
+
+    @Autowired private UserService userService;
+    @Autowired private AccountService accountService;
+    @Autowired private SearchIndexService searchIndexService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Qorvinda Search', ?, 'x', 'nasabah', now())",
+                ownerId, FIXTURE_EMAIL);
+        // Fixture ditulis lewat SQL, jadi index dibangun ulang dulu
+        searchIndexService.rebuild();
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM accounts WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)", "%" + EMAIL_DOMAIN);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+    }
+
+    @Test
+    void searchMatchesTablesAfterChangesDuringRebuilds() throws Exception {
+        // Given
+        assertEquals(List.of(ownerId.toString()), nasabahIds("qorvinda"));
+
+        // When: nasabah dibuat paralel sementara rebuild berjalan terus
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        int rebuilds;
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < NASABAH_PER_WRITER; i++) {
+                        String name = String.format("Qorvinda Writer%d Number%02d", writer, i);
+                        userService.createNasabah(new CreateNasabahRequestDTO(name, writer + "-" + i + EMAIL_DOMAIN, "secret", null, null));
+                    }
+                }));
+            }
+            Future<Integer> rebuilder = executor.submit(() -> {
+                int runs = 0;
+                while (writing.get()) {
+                    searchIndexService.rebuild();
+                    runs++;
+                }
+                return runs;
+            });
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            rebuilds = rebuilder.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then: semua nasabah baru ketemu, diawali nama terpendek (fixture)
+        assertTrue(rebuilds > 1, "rebuilds should overlap the writes");
+        Set<String> found = new HashSet<>();
+        for (int page = 1; ; page++) {
+            List<UserResponseDTO> users = userService.searchNasabah("qorvinda", page, 50).getData();
+            users.forEach(user -> found.add(user.getId()));
+            if (users.size() < 50) {
+                break;
+            }
+        }
+        assertEquals(WRITERS * NASABAH_PER_WRITER + 1, found.size());
+        assertEquals(ownerId.toString(), nasabahIds("qorvinda").get(0));
+        List<UserResponseDTO> writer2 = userService.searchNasabah("writer2 number1", 1, 20).getData();
+        assertEquals(10, writer2.size());
+        assertEquals("Qorvinda Writer2 Number10", writer2.get(0).getFullName());
+
+        // When
+        userService.updateNasabah(ownerId, new UpdateNasabahRequestDTO("Zelvaran Search", FIXTURE_EMAIL, null, null));
+
+        // Then
+        assertEquals(List.of(ownerId.toString()), nasabahIds("zelv"));
+        assertFalse(nasabahIds("qorvinda").contains(ownerId.toString()));
+
+        // When
+        String created = accountService.createAccount(new CreateAccountRequestDTO(ownerId.toString())).getData().getAccountCode();
+        List<AccountListResponseDTO> byCode = accountService.searchAccounts(created, 1, 10).getData();
+        accountService.deleteAccount(created);
+        UUID deleted = UUID.fromString(userService.searchNasabah("writer3 number07", 1, 10).getData().get(0).getId());
+        userService.deleteNasabah(deleted);
+
+        // Then
+        assertEquals(created, byCode.get(0).getAccountCode());
+        assertEquals("Zelvaran Search", byCode.get(0).getUser().getFullName());
+        assertTrue(accountService.searchAccounts(created, 1, 10).getData().stream().noneMatch(account -> account.getAccountCode().equals(created)));
+        assertEquals(List.of(), nasabahIds("writer3 number07"));
+        assertThrows(BadRequestException.class, () -> userService.searchNasabah(" ", 1, 10));
+        assertThrows(BadRequestException.class, () -> accountService.searchAccounts("acc", 1, 51));
+    }
+
+    private List<String> nasabahIds(String query) {
+        return userService.searchNasabah(query, 1, 10).getData().stream().map(UserResponseDTO::getId).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.BatchItemResponseDTO;
+import com.adisaputera.savingapp.dto.response.BatchResponseDTO;
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends one batch mixing valid items with an insufficient-balance withdraw, an invalid item
+ * and an unknown account, and checks that only the failing items are rejected while the rest
+ * are written with running balance snapshots.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionBatchWriterTest {
+
+    private static final String ACCOUNT = "TBW-000001";
+    private static final String OTHER_ACCOUNT = "TBW-000002";
+    private static final String EMAIL = "batch-writer@example.com";
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Batch Writer', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now()), (?, ?, true, 0, 0, 0, now())", ACCOUNT, ownerId, OTHER_ACCOUNT, ownerId);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'TBW-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'TBW-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void rejectsFailingItemsAndWritesTheRestWithRunningBalances() {
+        // Given
+        List<CreateTransactionRequestDTO> batch = List.of(
+                request(ACCOUNT, TypeTransactionEnum.deposit, 10_000L),
+                request(ACCOUNT, TypeTransactionEnum.withdraw, 3_000L),
+                request(ACCOUNT, TypeTransactionEnum.withdraw, 1_000_000L),
+                request(ACCOUNT, TypeTransactionEnum.deposit, null),
+                request("TBW-999999", TypeTransactionEnum.deposit, 1_000L),
+                request(OTHER_ACCOUNT, TypeTransactionEnum.deposit, 500L),
+                request(ACCOUNT, TypeTransactionEnum.withdraw, 2_000L));
+
+        // When
+        BatchResponseDTO<TransactionResponseDTO> response = transactionService.createTransactionBatch(batch).getData();
+
+        // Then
+        assertEquals(7, response.getTotal());
+        assertEquals(4, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        List<BatchItemResponseDTO<TransactionResponseDTO>> items = response.getItems();
+        assertEquals(10_000L, items.get(0).getData().getBalance());
+        assertEquals(7_000L, items.get(1).getData().getBalance());
+        assertEquals("error", items.get(2).getStatus());
+        assertTrue(items.get(2).getMessage().startsWith("Withdrawal rejected: Insufficient balance. Current balance: 7000"), items.get(2).getMessage());
+        assertEquals("Amount is required", items.get(3).getMessage());
+        assertEquals("Account not found with accountCode: 'TBW-999999'", items.get(4).getMessage());
+        assertEquals(500L, items.get(5).getData().getBalance());
+        assertEquals(5_000L, items.get(6).getData().getBalance());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i).getIndex());
+        }
+
+        Map<String, Object> account = jdbcTemplate.queryForMap(
+                "SELECT balance, total_deposit, total_withdraw FROM accounts WHERE account_code = ?", ACCOUNT);
+        assertEquals(5_000L, ((Number) account.get("balance")).longValue());
+        assertEquals(10_000L, ((Number) account.get("total_deposit")).longValue());
+        assertEquals(5_000L, ((Number) account.get("total_withdraw")).longValue());
+        assertEquals(List.of(10_000L, 7_000L, 5_000L), jdbcTemplate.queryForList(
+                "SELECT balance FROM transactions WHERE account_code = ? ORDER BY created_at, balance DESC", Long.class, ACCOUNT));
+        assertEquals(500L, jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_code = ?", Long.class, OTHER_ACCOUNT));
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        // Then
+        assertThrows(BadRequestException.class, () -> transactionService.createTransactionBatch(List.of()));
+        assertThrows(BadRequestException.class, () -> transactionService.createTransactionBatch(
+                Collections.nCopies(5_001, request(ACCOUNT, TypeTransactionEnum.deposit, 1L))));
+    }
+
+    private static CreateTransactionRequestDTO request(String accountCode, TypeTransactionEnum type, Long amount) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(accountCode)
+                .type(type)
+                .amount(amount)
+                .note("Batch writer")
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.dto.response.TransactionResponseDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Submits concurrent requests to the group-commit queue so they share one micro-batch,
+ * one of them with an Idempotency-Key another instance already stored, which fails the
+ * whole batch transaction. Checks that only that caller fails and every other request is
+ * still written.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.transaction.group-commit.enabled=true",
+        "app.transaction.group-commit.batch-size=16",
+        "app.transaction.group-commit.max-wait-ms=500",
+        "app.transaction.group-commit.writers=1"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionGroupCommitServiceTest {
+
+    private static final String ACCOUNT = "TGC-000001";
+    private static final String EMAIL = "group-commit@example.com";
+    private static final String TAKEN_KEY = "group-commit-test-taken";
+    private static final int DEPOSITS = 6;
+
+    @Autowired private TransactionGroupCommitService transactionGroupCommitService;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Group Commit', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now())", ACCOUNT, ownerId);
+        // Key yang disimpan instance lain setelah instance ini memeriksanya
+        jdbcTemplate.update("INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, response_body, created_at, expires_at) " +
+                "VALUES (?, 'other', '{}', now(), now() + interval '1 day')", TAKEN_KEY);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ?", TAKEN_KEY);
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'TGC-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'TGC-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void failingRequestDoesNotFailTheRestOfItsBatch() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(DEPOSITS + 2);
+        List<Future<TransactionResponseDTO>> deposits = new ArrayList<>();
+        Future<TransactionResponseDTO> taken;
+        Future<TransactionResponseDTO> overdraw;
+
+        // When
+        try {
+            for (int i = 0; i < DEPOSITS; i++) {
+                deposits.add(executor.submit(() -> submit(start, request(TypeTransactionEnum.deposit, 1_000L), null)));
+            }
+            taken = executor.submit(() -> submit(start, request(TypeTransactionEnum.deposit, 5_000L), TAKEN_KEY));
+            overdraw = executor.submit(() -> submit(start, request(TypeTransactionEnum.withdraw, 1_000_000L), null));
+            start.countDown();
+
+            // Then
+            for (Future<TransactionResponseDTO> deposit : deposits) {
+                assertEquals(ACCOUNT, deposit.get(30, TimeUnit.SECONDS).getAccountCode());
+            }
+            assertInstanceOf(DataIntegrityViolationException.class, failure(taken));
+            assertInstanceOf(BadRequestException.class, failure(overdraw));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(DEPOSITS * 1_000L, jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_code = ?", Long.class, ACCOUNT));
+        assertEquals(DEPOSITS, jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE account_code = ?", Integer.class, ACCOUNT));
+        assertEquals("other", jdbcTemplate.queryForObject("SELECT request_fingerprint FROM idempotency_keys WHERE idempotency_key = ?",
+                String.class, TAKEN_KEY));
+        assertTrue(meterRegistry.get("savingapp.transaction.group_commit.batch_size").summary().max() > 1,
+                "requests should have been committed together");
+    }
+
+    private TransactionResponseDTO submit(CountDownLatch start, CreateTransactionRequestDTO request, String idempotencyKey) throws InterruptedException {
+        start.await();
+        return transactionGroupCommitService.submit(request, idempotencyKey);
+    }
+
+    private static Throwable failure(Future<TransactionResponseDTO> future) throws Exception {
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+        return ex.getCause();
+    }
+
+    private static CreateTransactionRequestDTO request(TypeTransactionEnum type, long amount) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(ACCOUNT)
+                .type(type)
+                .amount(amount)
+                .note("Group commit")
+                .build();
+    }
+}
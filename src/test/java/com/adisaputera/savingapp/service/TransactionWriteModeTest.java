@@ -0,0 +1,171 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransactionRequestDTO;
+import com.adisaputera.savingapp.exception.BadRequestException;
+import com.adisaputera.savingapp.exception.ResourceNotFoundException;
+import com.adisaputera.savingapp.model.TypeTransactionEnum;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same deposits and withdrawals through both write modes (atomic: one conditional
+ * UPDATE ... RETURNING; locked: SELECT ... FOR UPDATE behind the striped lock) and checks
+ * balances, totals, rejections and that concurrent withdrawals never overdraw.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionWriteModeTest {
+
+    private static final String ACCOUNT = "WMT-000001";
+    private static final String INACTIVE_ACCOUNT = "WMT-000002";
+    private static final String EMAIL = "write-mode@example.com";
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Write Mode', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, 0, now()), (?, ?, false, 0, 0, 0, now())", ACCOUNT, ownerId, INACTIVE_ACCOUNT, ownerId);
+    }
+
+    @AfterEach
+    void resetAccount() {
+        useWriteMode("atomic");
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'WMT-%'");
+        jdbcTemplate.update("UPDATE accounts SET balance = 0, total_deposit = 0, total_withdraw = 0 WHERE account_code LIKE 'WMT-%'");
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'WMT-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'WMT-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"atomic", "locked"})
+    void appliesDepositsAndWithdrawalsAndRejectsInvalidOnes(String writeMode) {
+        // Given
+        useWriteMode(writeMode);
+
+        // When
+        long deposited = transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.deposit, 10_000L), null).getData().getBalance();
+        long withdrawn = transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.withdraw, 4_000L), null).getData().getBalance();
+
+        // Then
+        assertEquals(10_000L, deposited);
+        assertEquals(6_000L, withdrawn);
+        BadRequestException insufficient = assertThrows(BadRequestException.class,
+                () -> transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.withdraw, 6_001L), null));
+        assertEquals("Withdrawal rejected: Insufficient balance. Current balance: 6000, Requested amount: 6001", insufficient.getMessage());
+        BadRequestException inactive = assertThrows(BadRequestException.class,
+                () -> transactionService.createTransaction(request(INACTIVE_ACCOUNT, TypeTransactionEnum.deposit, 1_000L), null));
+        assertEquals("Account " + INACTIVE_ACCOUNT + " is not active", inactive.getMessage());
+        assertThrows(ResourceNotFoundException.class,
+                () -> transactionService.createTransaction(request("WMT-999999", TypeTransactionEnum.deposit, 1_000L), null));
+        assertThrows(BadRequestException.class,
+                () -> transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.transfer_in, 1_000L), null));
+
+        Map<String, Object> account = jdbcTemplate.queryForMap(
+                "SELECT balance, total_deposit, total_withdraw FROM accounts WHERE account_code = ?", ACCOUNT);
+        assertEquals(6_000L, ((Number) account.get("balance")).longValue());
+        assertEquals(10_000L, ((Number) account.get("total_deposit")).longValue());
+        assertEquals(4_000L, ((Number) account.get("total_withdraw")).longValue());
+        assertEquals(List.of(6_000L, 10_000L), jdbcTemplate.queryForList(
+                "SELECT balance FROM transactions WHERE account_code LIKE 'WMT-%' ORDER BY balance", Long.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"atomic", "locked"})
+    void concurrentWithdrawalsNeverOverdraw(String writeMode) throws Exception {
+        // Given: saldo cukup untuk 10 dari 20 withdraw
+        useWriteMode(writeMode);
+        transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.deposit, 100L), null);
+        int callers = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        int succeeded = 0;
+        int rejected = 0;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return transactionService.createTransaction(request(ACCOUNT, TypeTransactionEnum.withdraw, 10L), null);
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(BadRequestException.class, ex.getCause());
+                    rejected++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(10, succeeded);
+        assertEquals(10, rejected);
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_code = ?", Long.class, ACCOUNT));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT min(balance) FROM transactions WHERE account_code = ? AND type = 'withdraw'", Long.class, ACCOUNT));
+        assertEquals(10, jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT balance) FROM transactions WHERE account_code = ? AND type = 'withdraw'", Integer.class, ACCOUNT));
+    }
+
+    private void useWriteMode(String writeMode) {
+        Object target = AopTestUtils.getUltimateTargetObject(transactionService);
+        ReflectionTestUtils.setField(target, "writeMode", writeMode);
+    }
+
+    private static CreateTransactionRequestDTO request(String accountCode, TypeTransactionEnum type, long amount) {
+        return CreateTransactionRequestDTO.builder()
+                .accountCode(accountCode)
+                .type(type)
+                .amount(amount)
+                .note("Write mode")
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.adisaputera.savingapp.service;
+
+import com.adisaputera.savingapp.dto.request.CreateTransferRequestDTO;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs opposite-direction transfers (A to B and B to A) concurrently through
+ * {@link TransactionService} with the in-JVM striped lock disabled, so only the ordered
+ * SELECT ... FOR UPDATE keeps the row locks from deadlocking. Every transfer must succeed
+ * and the total balance must be conserved.
+ *
+ * Runs against the same database as {@code RepositoryQueryPlanTest} (SAVINGAPP_PLAN_TESTS=true).
+ * Its fixture rows are inserted and removed by this test, nothing else is touched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${SAVINGAPP_PLAN_TESTS_URL:jdbc:postgresql://localhost:5432/savingapp_plan_test}",
+        "spring.jpa.show-sql=false",
+        "app.transaction.striped-lock-enabled=false"
+})
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_PLAN_TESTS", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransferDeadlockTest {
+
+    private static final String FIRST = "TRF-000001";
+    private static final String SECOND = "TRF-000002";
+    private static final String EMAIL = "transfer-deadlock@example.com";
+    private static final long INITIAL_BALANCE = 1_000_000L;
+    private static final int THREADS_PER_DIRECTION = 4;
+    private static final int TRANSFERS_PER_THREAD = 50;
+
+    @Autowired private TransactionService transactionService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void insertFixture() {
+        removeFixture();
+        UUID ownerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, full_name, email, password, role, created_at) VALUES (?, 'Transfer Deadlock', ?, 'x', 'nasabah', now())",
+                ownerId, EMAIL);
+        // SECOND dapat id lebih kecil, jadi urutan lock (id) berbeda dari urutan account code
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, ?, now())", SECOND, ownerId, INITIAL_BALANCE);
+        jdbcTemplate.update("INSERT INTO accounts (account_code, user_id, is_active, total_deposit, total_withdraw, balance, created_at) " +
+                "VALUES (?, ?, true, 0, 0, ?, now())", FIRST, ownerId, INITIAL_BALANCE);
+    }
+
+    @AfterAll
+    void removeFixture() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_code LIKE 'TRF-%'");
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_code LIKE 'TRF-%'");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    @Test
+    void oppositeTransfersDoNotDeadlockAndConserveBalance() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_DIRECTION * 2);
+        List<Future<Long>> workers = new ArrayList<>();
+
+        // When
+        try {
+            for (int t = 0; t < THREADS_PER_DIRECTION * 2; t++) {
+                boolean forward = t % 2 == 0;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    long moved = 0;
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        long amount = ThreadLocalRandom.current().nextLong(1, 1_000);
+                        transactionService.createTransferForAdmin(CreateTransferRequestDTO.builder()
+                                .fromAccountCode(forward ? FIRST : SECOND)
+                                .toAccountCode(forward ? SECOND : FIRST)
+                                .amount(amount)
+                                .build());
+                        moved += forward ? amount : -amount;
+                    }
+                    return moved;
+                }));
+            }
+            start.countDown();
+
+            // Then: deadlock di DB muncul sebagai exception di salah satu worker
+            long movedToSecond = 0;
+            for (Future<Long> worker : workers) {
+                movedToSecond += worker.get(60, TimeUnit.SECONDS);
+            }
+
+            assertEquals(INITIAL_BALANCE - movedToSecond, balance(FIRST));
+            assertEquals(INITIAL_BALANCE + movedToSecond, balance(SECOND));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int transfers = THREADS_PER_DIRECTION * 2 * TRANSFERS_PER_THREAD;
+        assertEquals(transfers * 2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM transactions WHERE account_code LIKE 'TRF-%'", Integer.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COALESCE(SUM(CASE type WHEN 'transfer_in' THEN amount ELSE -amount END), 0) " +
+                "FROM transactions WHERE account_code LIKE 'TRF-%'", Long.class));
+        assertEquals(INITIAL_BALANCE * 2, balance(FIRST) + balance(SECOND));
+    }
+
+    private long balance(String accountCode) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_code = ?", Long.class, accountCode);
+    }
+}
@@ -0,0 +1,69 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void removeTaggedEvictsOnlyEntriesWithThatTag() {
+        // Given
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 60_000);
+        cache.put("a", 1, List.of("user-1", "ACC-000001"));
+        cache.put("b", 2, List.of("user-1", "ACC-000002"));
+        cache.put("c", 3, List.of("user-2", "ACC-000003"));
+
+        // When
+        cache.removeTagged("ACC-000002");
+
+        // Then
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+
+        // When
+        cache.removeTagged("user-1");
+
+        // Then
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void replacedAndEvictedEntriesLeaveTheirTags() {
+        // Given: kapasitas 2, entry tertua tergusur
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, 60_000);
+        cache.put("a", 1, List.of("old"));
+        cache.put("a", 2, List.of("new"));
+        cache.put("b", 3, List.of("old"));
+        cache.put("c", 4, List.of("other"));
+
+        // When: "a" tergusur oleh "c", tag lamanya tidak boleh menghapus "a" yang baru
+        cache.put("a", 5, List.of("other"));
+        cache.removeTagged("new");
+        cache.removeTagged("old");
+
+        // Then
+        assertEquals(5, cache.get("a"));
+        assertEquals(4, cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void expiredEntriesAreNotReturned() throws InterruptedException {
+        // Given
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 1);
+        cache.put("a", 1, List.of("tag"));
+
+        // When
+        Thread.sleep(5);
+
+        // Then
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        cache.removeTagged("tag");
+    }
+}
@@ -0,0 +1,82 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Platform thread request handling with and without the DB bulkhead. Each simulated
+ * request holds a connection for a short query, then blocks without a connection (e.g.
+ * waiting on the group commit queue). Throughput and the most connections open at once
+ * are published as test report entries; the assertions only check the connection counts.
+ *
+ * Opt-in (SAVINGAPP_BENCHMARKS=true): wall-clock numbers depend on the machine.
+ */
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_BENCHMARKS", matches = "true")
+class BulkheadDataSourceBenchmarkTest {
+
+    private static final int PERMITS = 10;
+    private static final int PLATFORM_THREADS = 50;
+    private static final int REQUESTS = 2000;
+    private static final long QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long OTHER_BLOCKING_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void bulkheadBoundsOpenConnectionsBelowTheThreadCount(TestReporter reporter) throws Exception {
+        // Given
+        FakeDataSource unboundedTarget = new FakeDataSource();
+        FakeDataSource bulkheadTarget = new FakeDataSource();
+
+        // When
+        double unbounded = runRequests(unboundedTarget.proxy());
+        double bulkhead = runRequests(new BulkheadDataSource(bulkheadTarget.proxy(), PERMITS, 30_000));
+        reporter.publishEntry("platform", String.format("threads=%d %.0f req/s max-open=%d",
+                PLATFORM_THREADS, unbounded, unboundedTarget.maxOpen.get()));
+        reporter.publishEntry("platform+bulkhead", String.format("threads=%d permits=%d %.0f req/s max-open=%d",
+                PLATFORM_THREADS, PERMITS, bulkhead, bulkheadTarget.maxOpen.get()));
+
+        // Then: tanpa bulkhead jumlah koneksi hanya dibatasi jumlah thread
+        assertTrue(unboundedTarget.maxOpen.get() > PERMITS,
+                "without the bulkhead more connections should be open than permits, max-open=" + unboundedTarget.maxOpen.get());
+        assertTrue(bulkheadTarget.maxOpen.get() <= PERMITS);
+    }
+
+    // Request per detik dari REQUESTS request di pool PLATFORM_THREADS thread
+    private static double runRequests(DataSource dataSource) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(REQUESTS);
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.isValid(0);
+                        LockSupport.parkNanos(QUERY_NANOS);
+                    }
+                    LockSupport.parkNanos(OTHER_BLOCKING_NANOS);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            long elapsed = System.nanoTime() - start;
+            return REQUESTS / (elapsed / 1_000_000_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadDataSourceTest {
+
+    private static final int PERMITS = 10;
+
+    @Test
+    void neverHandsOutMoreConnectionsThanPermits() throws Exception {
+        // Given
+        FakeDataSource target = new FakeDataSource();
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target.proxy(), PERMITS, 5_000);
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = bulkhead.getConnection()) {
+                        connection.isValid(0);
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertTrue(target.maxOpen.get() <= PERMITS, "max open connections " + target.maxOpen.get());
+        assertEquals(PERMITS, bulkhead.availablePermits());
+        assertEquals(0, target.open.get());
+    }
+
+    @Test
+    void closingTwiceReleasesOnePermit() throws Exception {
+        // Given
+        BulkheadDataSource bulkhead = new BulkheadDataSource(new FakeDataSource().proxy(), 2, 100);
+
+        // When
+        Connection connection = bulkhead.getConnection();
+        connection.close();
+        connection.close();
+
+        // Then
+        assertEquals(2, bulkhead.availablePermits());
+    }
+}
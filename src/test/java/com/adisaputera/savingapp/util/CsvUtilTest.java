@@ -0,0 +1,21 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvUtilTest {
+
+    @Test
+    void leavesPlainValuesUnquoted() {
+        assertEquals("Gaji Bulanan", CsvUtil.escape("Gaji Bulanan"));
+        assertEquals("", CsvUtil.escape(null));
+    }
+
+    @Test
+    void quotesSeparatorsQuotesAndLineBreaks() {
+        assertEquals("\"Bayar listrik, air\"", CsvUtil.escape("Bayar listrik, air"));
+        assertEquals("\"Transfer \"\"arisan\"\"\"", CsvUtil.escape("Transfer \"arisan\""));
+        assertEquals("\"baris 1\nbaris 2\"", CsvUtil.escape("baris 1\nbaris 2"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.adisaputera.savingapp.util;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource stand-in that hands out no-op connections and counts how many are open.
+ */
+final class FakeDataSource {
+    final AtomicInteger open = new AtomicInteger();
+    final AtomicInteger maxOpen = new AtomicInteger();
+
+    DataSource proxy() {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class},
+            (proxy, method, args) -> {
+                if (!method.getName().equals("getConnection")) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                return connection();
+            });
+    }
+
+    private Connection connection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close")) {
+                    open.decrementAndGet();
+                }
+                return method.getReturnType() == boolean.class ? Boolean.TRUE : null;
+            });
+    }
+}
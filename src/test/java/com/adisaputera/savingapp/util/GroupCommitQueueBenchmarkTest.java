@@ -0,0 +1,96 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the synchronous write path (one commit per request, bounded by the 10
+ * connection pool) with group commit (one commit per micro-batch). Commit and per-row
+ * costs are simulated so the comparison does not need a database. Throughput is published
+ * as a test report entry; the assertions only check that requests were batched.
+ *
+ * Opt-in (SAVINGAPP_BENCHMARKS=true): wall-clock numbers depend on the machine.
+ */
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_BENCHMARKS", matches = "true")
+class GroupCommitQueueBenchmarkTest {
+
+    private static final int POOL_SIZE = 10;
+    private static final int CLIENTS = 64;
+    private static final long COMMIT_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long ROW_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final long RUN_MILLIS = 500;
+
+    @Test
+    void groupCommitSharesCommitsBetweenCallers(TestReporter reporter) throws Exception {
+        // Given
+        Semaphore pool = new Semaphore(POOL_SIZE);
+        AtomicLong commits = new AtomicLong();
+        Function<List<Long>, List<Long>> commit = items -> {
+            pool.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(COMMIT_NANOS + ROW_NANOS * items.size());
+                commits.incrementAndGet();
+                return items;
+            } finally {
+                pool.release();
+            }
+        };
+
+        // When
+        double sync = run(item -> commit.apply(List.of(item)).get(0));
+
+        LongAdder batches = new LongAdder();
+        LongAdder batchedItems = new LongAdder();
+        GroupCommitQueue<Long, Long> queue = new GroupCommitQueue<>("bench", 10_000, CLIENTS / 2, 5, 1_000, 2, commit,
+                size -> { batches.increment(); batchedItems.add(size); },
+                nanos -> { });
+        commits.set(0);
+        double grouped;
+        try {
+            grouped = run(item -> queue.submit(item).join());
+        } finally {
+            queue.shutdown();
+        }
+        double averageBatch = batchedItems.doubleValue() / Math.max(1, batches.sum());
+        reporter.publishEntry("throughput",
+                String.format("sync=%.0f ops/s group-commit=%.0f ops/s avg-batch=%.1f", sync, grouped, averageBatch));
+
+        // Then
+        assertTrue(averageBatch > 1, "concurrent requests should share a batch");
+        assertTrue(commits.get() < batchedItems.sum(), "group commit should need fewer commits than requests");
+    }
+
+    private double run(Function<Long, Long> write) throws InterruptedException {
+        AtomicLong ops = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            long id = c;
+            Thread client = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    assertEquals(id, write.apply(id));
+                    ops.incrementAndGet();
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        return ops.get() * 1000.0 / RUN_MILLIS;
+    }
+}
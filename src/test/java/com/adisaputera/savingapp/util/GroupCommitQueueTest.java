@@ -0,0 +1,120 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitQueueTest {
+
+    @Test
+    void everyCallerReceivesItsOwnResult() {
+        // Given
+        GroupCommitQueue<Long, Long> queue = new GroupCommitQueue<>("echo", 100, 8, 5, 1_000, 1,
+                items -> items.stream().map(item -> item * 2).toList(),
+                size -> { }, nanos -> { });
+
+        try {
+            // When
+            List<Long> results = new ArrayList<>();
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (long i = 0; i < 50; i++) {
+                futures.add(queue.submit(i));
+            }
+            futures.forEach(future -> results.add(future.join()));
+
+            // Then
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i * 2L, results.get(i));
+            }
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void itemsQueuedWhileWriterIsBusyShareOneBatch() throws Exception {
+        // Given
+        BlockingHandler handler = new BlockingHandler();
+        GroupCommitQueue<Long, Long> queue = new GroupCommitQueue<>("share", 100, 16, 50, 1_000, 1,
+                handler, size -> { }, nanos -> { });
+
+        try {
+            // When: writer tertahan di batch pertama selama sepuluh item lain masuk antrian
+            CompletableFuture<Long> first = queue.submit(0L);
+            assertTrue(handler.entered.await(5, TimeUnit.SECONDS));
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (long i = 1; i <= 10; i++) {
+                futures.add(queue.submit(i));
+            }
+            handler.release.countDown();
+
+            // Then
+            assertEquals(0L, first.get(5, TimeUnit.SECONDS));
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i + 1L, futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(List.of(1, 10), handler.batchSizes);
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void failingItemOnlyFailsItsOwnCaller() throws Exception {
+        // Given: handler menolak seluruh batch kalau ada item negatif
+        BlockingHandler handler = new BlockingHandler();
+        GroupCommitQueue<Long, Long> queue = new GroupCommitQueue<>("isolate", 100, 16, 50, 1_000, 1,
+                handler, size -> { }, nanos -> { });
+
+        try {
+            // When
+            CompletableFuture<Long> first = queue.submit(0L);
+            assertTrue(handler.entered.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Long> a = queue.submit(1L);
+            CompletableFuture<Long> invalid = queue.submit(-1L);
+            CompletableFuture<Long> b = queue.submit(2L);
+            handler.release.countDown();
+
+            // Then
+            assertEquals(0L, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1L, a.get(5, TimeUnit.SECONDS));
+            assertEquals(2L, b.get(5, TimeUnit.SECONDS));
+            CompletionException failure = assertThrows(CompletionException.class, invalid::join);
+            assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+            assertEquals(List.of(1, 3, 1, 1, 1), handler.batchSizes);
+        } finally {
+            queue.shutdown();
+        }
+    }
+
+    // Batch pertama ditahan sampai release, item negatif menggagalkan batch-nya
+    private static final class BlockingHandler implements Function<List<Long>, List<Long>> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<Long> apply(List<Long> items) {
+            batchSizes.add(items.size());
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (items.stream().anyMatch(item -> item < 0)) {
+                throw new IllegalArgumentException("negative item");
+            }
+            return items;
+        }
+    }
+}
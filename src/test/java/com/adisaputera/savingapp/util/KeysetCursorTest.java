@@ -0,0 +1,71 @@
+package com.adisaputera.savingapp.util;
+
+import com.adisaputera.savingapp.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsSortKeyIdAndDirection() {
+        // Given
+        LocalDateTime occurredAt = LocalDateTime.of(2025, 9, 1, 10, 15, 30, 123456000);
+        UUID id = UUID.randomUUID();
+
+        // When
+        String cursor = KeysetCursor.encode("transaction", true, occurredAt, id);
+        KeysetCursor decoded = KeysetCursor.decode("transaction", cursor);
+
+        // Then
+        assertTrue(decoded.isDescending());
+        assertEquals(occurredAt, decoded.getKeyAsDateTime());
+        assertEquals(id, decoded.getIdAsUuid());
+    }
+
+    @Test
+    void keepsSortKeysContainingSeparators() {
+        // Given
+        String fullName = "Adi\nSaputera";
+
+        // When
+        KeysetCursor decoded = KeysetCursor.decode("nasabah", KeysetCursor.encode("nasabah", false, fullName, 42L));
+
+        // Then
+        assertFalse(decoded.isDescending());
+        assertEquals(fullName, decoded.getKey());
+        assertEquals(42L, decoded.getIdAsLong());
+    }
+
+    @Test
+    void rejectsForeignOrBrokenCursors() {
+        String accountCursor = KeysetCursor.encode("account", false, LocalDateTime.now(), 1L);
+
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("transaction", accountCursor));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("account", "not a cursor!"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("account", accountCursor).getIdAsUuid());
+        assertThrows(BadRequestException.class, () -> KeysetCursor.resolveLimit(KeysetCursor.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void sliceTrimsExtraRowAndPointsAtLastReturnedRow() {
+        // Given
+        List<Integer> rows = List.of(1, 2, 3, 4);
+
+        // When
+        KeysetSlice<Integer> more = KeysetSlice.of(rows, 3, last -> "after-" + last);
+        KeysetSlice<Integer> last = KeysetSlice.of(rows, 4, row -> "after-" + row);
+
+        // Then
+        assertEquals(List.of(1, 2, 3), more.getContent());
+        assertEquals("after-3", more.getNextCursor());
+        assertTrue(more.hasNext());
+        assertEquals(4, last.getContent().size());
+        assertNull(last.getNextCursor());
+        assertFalse(last.hasNext());
+    }
+}
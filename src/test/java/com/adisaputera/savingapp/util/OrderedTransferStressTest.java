@@ -0,0 +1,86 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires opposing transfers between the same account pairs in parallel. Locks are taken
+ * in a fixed order, so the run must finish (no deadlock) and the total balance must be
+ * conserved.
+ */
+class OrderedTransferStressTest {
+
+    private static final int ACCOUNTS = 4;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 2_000;
+    private static final long INITIAL_BALANCE = 1_000_000L;
+
+    @Test
+    void opposingTransfersConserveTotalBalance() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // Given
+            StripedLock lock = new StripedLock(256);
+            long[] balances = new long[ACCOUNTS];
+            Arrays.fill(balances, INITIAL_BALANCE);
+            AtomicLong rejected = new AtomicLong();
+
+            // When
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int pair = (t / 2) % (ACCOUNTS / 2);
+                boolean reverse = t % 2 == 1;
+                int from = reverse ? pair * 2 + 1 : pair * 2;
+                int to = reverse ? pair * 2 : pair * 2 + 1;
+
+                Thread worker = new Thread(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        // sesekali transfer silang ke pasangan lain
+                        int target = random.nextInt(10) == 0 ? (to + 2) % ACCOUNTS : to;
+                        long amount = random.nextLong(1, 1_000);
+                        boolean moved = lock.withLocks(List.of(accountCode(from), accountCode(target)), () -> {
+                            if (balances[from] < amount) {
+                                return false;
+                            }
+                            long debit = balances[from] - amount;
+                            LockSupport.parkNanos(10_000);
+                            balances[from] = debit;
+                            balances[target] += amount;
+                            return true;
+                        });
+                        if (!moved) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            // Then
+            long total = 0;
+            for (long balance : balances) {
+                assertTrue(balance >= 0, "balance must never go negative");
+                total += balance;
+            }
+            assertEquals(INITIAL_BALANCE * ACCOUNTS, total);
+            System.out.printf("transfers=%d rejected=%d%n", THREADS * TRANSFERS_PER_THREAD, rejected.get());
+        });
+    }
+
+    private static String accountCode(int index) {
+        return String.format("ACC-%06d", index + 1);
+    }
+}
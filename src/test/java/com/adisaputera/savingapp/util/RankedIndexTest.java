@@ -0,0 +1,80 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedIndexTest {
+
+    @Test
+    void ranksByScoreDescendingThenKey() {
+        // Given
+        RankedIndex<String> index = new RankedIndex<>();
+        index.put("ACC-000003", 500);
+        index.put("ACC-000001", 900);
+        index.put("ACC-000002", 500);
+        index.put("ACC-000004", 100);
+
+        // When
+        index.add("ACC-000004", 850);
+        index.remove("ACC-000001");
+
+        // Then
+        assertEquals(List.of(
+                new RankedIndex.Entry<>("ACC-000004", 950L, 1),
+                new RankedIndex.Entry<>("ACC-000002", 500L, 2),
+                new RankedIndex.Entry<>("ACC-000003", 500L, 3)), index.top(10));
+        assertEquals(3, index.rank("ACC-000003"));
+        assertEquals(0, index.rank("ACC-000001"));
+        assertNull(index.score("ACC-000001"));
+    }
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        // Given: pembanding brute force, diurutkan ulang setiap dicek
+        RankedIndex<String> index = new RankedIndex<>();
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            // When
+            String key = "ACC-" + random.nextInt(2_000);
+            int operation = random.nextInt(10);
+            if (operation == 0) {
+                index.remove(key);
+                expected.remove(key);
+            } else if (operation < 4) {
+                long score = random.nextInt(1_000);
+                index.put(key, score);
+                expected.put(key, score);
+            } else {
+                long delta = random.nextInt(200) - 100;
+                index.add(key, delta);
+                expected.merge(key, delta, Long::sum);
+            }
+
+            // Then
+            if (step % 1_000 == 999) {
+                List<String> order = new ArrayList<>(expected.keySet());
+                order.sort(Comparator.comparing((String k) -> -expected.get(k)).thenComparing(k -> k));
+                assertEquals(order.size(), index.size());
+
+                List<RankedIndex.Entry<String>> top = index.top(50);
+                for (int i = 0; i < top.size(); i++) {
+                    assertEquals(order.get(i), top.get(i).key());
+                    assertEquals(i + 1, top.get(i).rank());
+                }
+                for (int i = 0; i < order.size(); i += 37) {
+                    assertEquals(i + 1, index.rank(order.get(i)), order.get(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention benchmark for the per-account write lock. Each write holds the stripe for a
+ * simulated DB round trip, so throughput is bounded by how many accounts can be written
+ * in parallel rather than by CPU. Throughput is published as a test report entry; the
+ * assertions only check how many writers were inside the lock at once.
+ *
+ * Opt-in (SAVINGAPP_BENCHMARKS=true): wall-clock numbers depend on the machine.
+ */
+@EnabledIfEnvironmentVariable(named = "SAVINGAPP_BENCHMARKS", matches = "true")
+class StripedLockBenchmarkTest {
+
+    private static final int STRIPES = 256;
+    private static final int ACCOUNTS = 1024;
+    private static final long WRITE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long RUN_MILLIS = 300;
+
+    @Test
+    void onlySpreadAccountsAreWrittenInParallel(TestReporter reporter) throws Exception {
+        // Given
+        int[] threadCounts = {1, 2, 4, 8};
+
+        // When
+        // pemanasan JIT, supaya run 1 thread pertama tidak terlihat lebih lambat
+        run(1, true);
+        run(1, false);
+        Run hot = null;
+        Run spread = null;
+        for (int threads : threadCounts) {
+            hot = run(threads, true);
+            spread = run(threads, false);
+            reporter.publishEntry("threads=" + threads,
+                    String.format("hot-account=%.0f ops/s spread=%.0f ops/s", hot.opsPerSecond(), spread.opsPerSecond()));
+        }
+
+        // Then
+        assertEquals(1, hot.maxInside(), "hot account must stay serialized");
+        assertTrue(spread.maxInside() > 1, "unrelated accounts must not wait on each other");
+    }
+
+    private record Run(double opsPerSecond, int maxInside) {
+    }
+
+    private Run run(int threads, boolean hotAccount) throws InterruptedException {
+        StripedLock lock = new StripedLock(STRIPES);
+        long[] balances = new long[ACCOUNTS];
+        AtomicLong ops = new AtomicLong();
+        // Jumlah writer di dalam lock pada saat yang sama
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int account = hotAccount ? 0 : random.nextInt(ACCOUNTS);
+                    lock.withLock(accountCode(account), () -> {
+                        maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        // read-modify-write yang akan kehilangan update tanpa lock
+                        long current = balances[account];
+                        LockSupport.parkNanos(WRITE_NANOS);
+                        balances[account] = current + 1;
+                        inside.decrementAndGet();
+                        return null;
+                    });
+                    ops.incrementAndGet();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long total = 0;
+        for (long balance : balances) {
+            total += balance;
+        }
+        assertEquals(ops.get(), total, "no lost updates");
+        return new Run(ops.get() * 1000.0 / RUN_MILLIS, maxInside.get());
+    }
+
+    private static String accountCode(int index) {
+        return String.format("ACC-%06d", index + 1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLockTest {
+
+    @Test
+    void sameKeyIsHeldByOneThreadAtATime() throws Exception {
+        // Given
+        StripedLock lock = new StripedLock(16);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        long[] balance = new long[1];
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When: read-modify-write yang akan kehilangan update tanpa lock
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        lock.withLock("ACC-000001", () -> {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            long current = balance[0];
+                            Thread.yield();
+                            balance[0] = current + 1;
+                            inside.decrementAndGet();
+                            return null;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(8_000, balance[0]);
+        assertEquals(1, maxInside.get());
+    }
+
+    @Test
+    void keysOnDifferentStripesDoNotWaitForEachOther() throws Exception {
+        // Given: dua key di stripe berbeda
+        StripedLock lock = new StripedLock(16);
+        String first = "ACC-000001";
+        String second = first;
+        for (int i = 2; lock.stripeOf(second) == lock.stripeOf(first); i++) {
+            second = String.format("ACC-%06d", i);
+        }
+        String other = second;
+        CountDownLatch firstHeld = new CountDownLatch(1);
+        CountDownLatch secondHeld = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When: masing-masing menunggu yang lain sambil memegang lock-nya sendiri
+        try {
+            Future<Boolean> a = executor.submit(() -> lock.withLock(first, () -> {
+                firstHeld.countDown();
+                return await(secondHeld);
+            }));
+            Future<Boolean> b = executor.submit(() -> lock.withLock(other, () -> {
+                secondHeld.countDown();
+                return await(firstHeld);
+            }));
+
+            // Then
+            assertTrue(a.get(10, TimeUnit.SECONDS));
+            assertTrue(b.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void overlappingKeySetsInOppositeOrderDoNotDeadlock() throws Exception {
+        // Given
+        StripedLock lock = new StripedLock(16);
+        List<String> forward = List.of("ACC-000001", "ACC-000002", "ACC-000003");
+        List<String> backward = List.of("ACC-000003", "ACC-000002", "ACC-000001");
+        long[] moved = new long[1];
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            Future<?> a = executor.submit(() -> repeatWithLocks(lock, forward, moved));
+            Future<?> b = executor.submit(() -> repeatWithLocks(lock, backward, moved));
+            a.get(30, TimeUnit.SECONDS);
+            b.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(20_000, moved[0]);
+    }
+
+    private static void repeatWithLocks(StripedLock lock, List<String> keys, long[] moved) {
+        for (int i = 0; i < 10_000; i++) {
+            lock.withLocks(keys, () -> moved[0]++);
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
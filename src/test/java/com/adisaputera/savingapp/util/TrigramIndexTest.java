@@ -0,0 +1,121 @@
+package com.adisaputera.savingapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    @Test
+    void ranksPrefixThenWordStartThenSubstring() {
+        // Given
+        TrigramIndex<Integer> index = new TrigramIndex<>();
+        index.put(1, "Budi Santoso");
+        index.put(2, "Santi Wijaya");
+        index.put(3, "Agus  Susanto");
+        index.put(4, "Hasanah");
+        index.put(5, "Sandra");
+
+        // When
+        index.put(5, "Rina Kusuma");
+        index.remove(4);
+
+        // Then
+        assertEquals(List.of(2, 1, 3), index.search("SANT", 0, 10));
+        assertEquals(List.of(1, 3), index.search(" santo ", 0, 10));
+        assertEquals(List.of(3), index.search("agus susanto", 0, 10));
+        assertEquals(List.of(2, 1), index.search("sa", 0, 10));
+        assertEquals(List.of(1), index.search("b", 0, 10));
+        assertEquals(List.of(), index.search("sandra", 0, 10));
+        assertEquals(List.of(), index.search("hasan", 0, 10));
+        assertEquals(List.of(1), index.search("sant", 1, 1));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void matchesAfterPunctuationInAccountCodes() {
+        // Given
+        TrigramIndex<Long> index = new TrigramIndex<>();
+        index.put(63L, "ACC-000063");
+        index.put(630L, "ACC-000630");
+
+        // Then
+        assertEquals(List.of(63L, 630L), index.search("063", 0, 10));
+        assertEquals(List.of(63L, 630L), index.search("0", 0, 10));
+        assertEquals(List.of(63L), index.search("acc-000063", 0, 10));
+        assertEquals(List.of(), index.search("6", 0, 10));
+    }
+
+    @Test
+    void matchesBruteForceUnderRandomUpdates() {
+        // Given: pembanding brute force atas map key -> teks, separuh key dimuat sekaligus
+        TrigramIndex<Integer> index = new TrigramIndex<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        String[] words = {"adi", "saputra", "budi", "santoso", "siti", "aminah", "dewi", "sari", "putri", "ayu"};
+        Map<Integer, String> initial = new HashMap<>();
+        for (int key = 0; key < 1_000; key++) {
+            initial.put(key, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+        }
+        index.putAll(initial);
+        expected.putAll(initial);
+
+        for (int step = 0; step < 20_000; step++) {
+            // When
+            int key = random.nextInt(2_000);
+            if (random.nextInt(4) == 0) {
+                index.remove(key);
+                expected.remove(key);
+            } else {
+                String text = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                index.put(key, text);
+                expected.put(key, text);
+            }
+
+            // Then
+            if (step % 1_000 == 999) {
+                assertEquals(expected.size(), index.size());
+                for (String query : List.of("sa", "s", "put", "tra", "adi sa", "i s", "ri", "xyz")) {
+                    List<Integer> order = bruteForce(expected, query);
+                    int limit = 25;
+                    assertEquals(order.subList(0, Math.min(limit, order.size())), index.search(query, 0, limit), query);
+                    int offset = Math.min(40, order.size());
+                    assertEquals(order.subList(offset, Math.min(offset + limit, order.size())), index.search(query, offset, limit), query);
+                }
+            }
+        }
+    }
+
+    private static List<Integer> bruteForce(Map<Integer, String> texts, String query) {
+        List<Integer> matches = new ArrayList<>();
+        Map<Integer, Integer> ranks = new HashMap<>();
+        for (Map.Entry<Integer, String> entry : texts.entrySet()) {
+            String text = entry.getValue().toLowerCase(Locale.ROOT);
+            int rank;
+            if (text.startsWith(query)) {
+                rank = 0;
+            } else if (text.contains(" " + query)) {
+                rank = 1;
+            } else if (query.length() >= 3 && text.contains(query)) {
+                rank = 2;
+            } else {
+                continue;
+            }
+            matches.add(entry.getKey());
+            ranks.put(entry.getKey(), rank);
+        }
+        matches.sort(Comparator.comparing((Integer k) -> ranks.get(k))
+                .thenComparing(k -> texts.get(k).length())
+                .thenComparing(texts::get)
+                .thenComparing(k -> k));
+        return matches;
+    }
+}